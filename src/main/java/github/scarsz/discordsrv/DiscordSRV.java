@@ -38,11 +38,12 @@ import github.scarsz.discordsrv.api.events.DiscordGuildMessagePostBroadcastEvent
 import github.scarsz.discordsrv.api.events.DiscordReadyEvent;
 import github.scarsz.discordsrv.api.events.GameChatMessagePostProcessEvent;
 import github.scarsz.discordsrv.api.events.GameChatMessagePreProcessEvent;
+import github.scarsz.discordsrv.api.pipeline.DiscordChatMessage;
+import github.scarsz.discordsrv.api.pipeline.GameChatMessage;
+import github.scarsz.discordsrv.api.pipeline.MessagePipeline;
 import github.scarsz.discordsrv.hooks.PluginHook;
-import github.scarsz.discordsrv.hooks.VaultHook;
 import github.scarsz.discordsrv.hooks.chat.ChatHook;
 import github.scarsz.discordsrv.hooks.vanish.VanishHook;
-import github.scarsz.discordsrv.hooks.world.MultiverseCoreHook;
 import github.scarsz.discordsrv.listeners.*;
 import github.scarsz.discordsrv.modules.alerts.AlertListener;
 import github.scarsz.discordsrv.modules.requirelink.RequireLinkModule;
@@ -53,6 +54,8 @@ import github.scarsz.discordsrv.objects.log4j.JdaFilter;
 import github.scarsz.discordsrv.objects.managers.AccountLinkManager;
 import github.scarsz.discordsrv.objects.managers.CommandManager;
 import github.scarsz.discordsrv.objects.managers.GroupSynchronizationManager;
+import github.scarsz.discordsrv.objects.managers.MemberRolesManager;
+import github.scarsz.discordsrv.objects.managers.PlayerChatContextManager;
 import github.scarsz.discordsrv.objects.managers.link.FileAccountLinkManager;
 import github.scarsz.discordsrv.objects.managers.link.JdbcAccountLinkManager;
 import github.scarsz.discordsrv.objects.metrics.BStats;
@@ -122,6 +125,7 @@ import java.lang.reflect.Method;
 import java.net.*;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.*;
@@ -155,6 +159,9 @@ public class DiscordSRV extends JavaPlugin {
     @Getter private AccountLinkManager accountLinkManager;
     @Getter private CommandManager commandManager = new CommandManager();
     @Getter private GroupSynchronizationManager groupSynchronizationManager = new GroupSynchronizationManager();
+    @Getter private final PlayerChatContextManager playerChatContextManager = new PlayerChatContextManager();
+    @Getter private final MemberRolesManager memberRolesManager = new MemberRolesManager();
+    @Getter private final PlayerNameIndex playerNameIndex = new PlayerNameIndex();
 
     // Threads
     @Getter private ChannelTopicUpdater channelTopicUpdater;
@@ -163,6 +170,14 @@ public class DiscordSRV extends JavaPlugin {
     @Getter private PresenceUpdater presenceUpdater;
     @Getter private ServerWatchdog serverWatchdog;
     @Getter private ScheduledExecutorService updateChecker = null;
+    @Getter private volatile OrderedTaskExecutor chatRelayExecutor = null;
+    @Getter private volatile OrderedTaskExecutor discordChatExecutor = null;
+    @Getter private final MessagePipeline<GameChatMessage> gameChatPipeline = new MessagePipeline<>("Minecraft -> Discord");
+    @Getter private final MessagePipeline<DiscordChatMessage> discordChatPipeline = new MessagePipeline<>("Discord -> Minecraft");
+    @Getter private final MessageCoalescer<TextChannel> chatMessageCoalescer = new MessageCoalescer<>("Chat Coalescer",
+            DiscordUtil::sendMessage, () -> configSnapshot().getChatCoalescingWindowMillis(), Message.MAX_CONTENT_LENGTH);
+    @Getter private final OutboundChannelScheduler outboundChannelScheduler = new OutboundChannelScheduler();
+    @Getter private final ExpiringMessageService expiringMessageService = new ExpiringMessageService();
 
     // Modules
     @Getter private AlertListener alertListener = null;
@@ -170,12 +185,19 @@ public class DiscordSRV extends JavaPlugin {
     @Getter private VoiceModule voiceModule;
 
     // Config
-    @Getter private final Map<String, String> channels = new LinkedHashMap<>(); // <in-game channel name, discord channel>
+    private final TrackedMap<String, String> channels = new TrackedMap<>(); // <in-game channel name, discord channel>
+    private final Supplier<ChannelIndex> channelIndex = channels.derive(ChannelIndex::new);
+    @Getter private volatile CannedResponseMatcher cannedResponseMatcher = CannedResponseMatcher.EMPTY;
     @Getter private final Map<String, String> colors = new HashMap<>();
-    @Getter private final Map<Pattern, String> consoleRegexes = new HashMap<>();
-    @Getter private final Map<Pattern, String> gameRegexes = new HashMap<>();
-    @Getter private final Map<Pattern, String> discordRegexes = new HashMap<>();
+    private final TrackedMap<Pattern, String> consoleRegexes = new TrackedMap<>();
+    private final TrackedMap<Pattern, String> gameRegexes = new TrackedMap<>();
+    private final TrackedMap<Pattern, String> discordRegexes = new TrackedMap<>();
+    private final Supplier<RegexFilterChain> consoleFilters = consoleRegexes.derive(RegexFilterChain::new);
+    private final Supplier<RegexFilterChain> gameFilters = gameRegexes.derive(RegexFilterChain::new);
+    private final Supplier<RegexFilterChain> discordFilters = discordRegexes.derive(RegexFilterChain::new);
     private final DynamicConfig config;
+    private volatile ConfigSnapshot configSnapshot;
+    private final Map<String, ParsedMessageFormat> messageFormats = new ConcurrentHashMap<>();
 
     // Console
     @Getter private final Deque<ConsoleMessage> consoleMessageQueue = new LinkedList<>();
@@ -208,35 +230,133 @@ public class DiscordSRV extends JavaPlugin {
     public static DynamicConfig config() {
         return getPlugin().config;
     }
+    /**
+     * @return the typed snapshot of hot path configuration options, replaced as a whole when the config is reloaded
+     */
+    public static ConfigSnapshot configSnapshot() {
+        return getPlugin().configSnapshot;
+    }
+    /**
+     * Load the configuration files again and replace everything that's derived from them,
+     * every change to the configuration files has to go through here
+     */
     public void reloadConfig() {
         try {
             config().loadAll();
         } catch (IOException | ParseException e) {
             throw new RuntimeException("Failed to load config", e);
         }
+        configSnapshot = new ConfigSnapshot(config);
+        clearMessageFormatCache();
+        // the pipeline stage conditions are checked against the config snapshot
+        reloadChatPipelines();
     }
     public void reloadChannels() {
-        synchronized (channels) {
-            channels.clear();
-            config().dget("Channels").children().forEach(dynamic ->
-                    this.channels.put(dynamic.key().convert().intoString(), dynamic.convert().intoString()));
-        }
+        Map<String, String> channels = new LinkedHashMap<>();
+        config().dget("Channels").children().forEach(dynamic ->
+                channels.put(dynamic.key().convert().intoString(), dynamic.convert().intoString()));
+        this.channels.replaceContents(channels);
     }
-    public void reloadRegexes() {
-        synchronized (consoleRegexes) {
-            consoleRegexes.clear();
-            loadRegexesFromConfig(config().dget("DiscordConsoleChannelFilters"), consoleRegexes);
+    /**
+     * <p>Changes to the returned map take effect on the next channel lookup.</p>
+     * @return the configured in-game channel names and the IDs of the Discord text channels they're linked to
+     */
+    public Map<String, String> getChannels() {
+        return channels;
+    }
+    public void reloadCannedResponses() {
+        Map<String, String> responses = new LinkedHashMap<>();
+        config().dget("DiscordCannedResponses").children()
+                .forEach(dynamic -> {
+                    String trigger = dynamic.key().convert().intoString();
+                    if (StringUtils.isEmpty(trigger)) {
+                        DiscordSRV.debug("Skipping canned response with empty trigger");
+                        return;
+                    }
+                    responses.put(trigger, dynamic.convert().intoString());
+                });
+        cannedResponseMatcher = new CannedResponseMatcher(responses);
+    }
+    public void reloadChatRelay() {
+        int threads = Math.max(1, config().getIntElse("DiscordChatChannelRelayThreads", 2));
+        int queueSize = Math.max(1, config().getIntElse("DiscordChatChannelRelayQueueSize", 512));
+        String policyName = config().getStringElse("DiscordChatChannelRelayOverflowPolicy", "DROP_OLDEST");
+        OrderedTaskExecutor.OverflowPolicy policy;
+        try {
+            policy = OrderedTaskExecutor.OverflowPolicy.valueOf(policyName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            DiscordSRV.error("Unknown overflow policy \"" + policyName + "\" defined in DiscordChatChannelRelayOverflowPolicy, using DROP_OLDEST");
+            policy = OrderedTaskExecutor.OverflowPolicy.DROP_OLDEST;
         }
-        synchronized (gameRegexes) {
-            gameRegexes.clear();
-            loadRegexesFromConfig(config().dget("DiscordChatChannelGameFilters"), gameRegexes);
+
+        OrderedTaskExecutor previous = chatRelayExecutor;
+        if (previous == null || previous.getThreads() != threads || previous.getCapacity() != queueSize || previous.getOverflowPolicy() != policy) {
+            chatRelayExecutor = new OrderedTaskExecutor("Chat Relay", threads, queueSize, policy);
+            // messages already waiting are still relayed by the previous executor
+            if (previous != null) previous.shutdown();
         }
-        synchronized (discordRegexes) {
-            discordRegexes.clear();
-            loadRegexesFromConfig(config().dget("DiscordChatChannelDiscordFilters"), discordRegexes);
+
+        int inboundThreads = Math.max(1, config().getIntElse("DiscordChatChannelInboundThreads", 2));
+        int inboundQueueSize = Math.max(1, config().getIntElse("DiscordChatChannelInboundQueueSize", 256));
+        OrderedTaskExecutor previousInbound = discordChatExecutor;
+        if (previousInbound == null || previousInbound.getThreads() != inboundThreads || previousInbound.getCapacity() != inboundQueueSize || previousInbound.getOverflowPolicy() != policy) {
+            discordChatExecutor = new OrderedTaskExecutor("Discord Chat", inboundThreads, inboundQueueSize, policy);
+            if (previousInbound != null) previousInbound.shutdown();
         }
     }
-    private void loadRegexesFromConfig(final Dynamic dynamic, final Map<Pattern, String> map) {
+    /**
+     * Rebuild the chat pipelines, leaving out the stages of features that are turned off
+     */
+    public void reloadChatPipelines() {
+        gameChatPipeline.rebuild();
+        discordChatPipeline.rebuild();
+    }
+    public void reloadRegexes() {
+        consoleRegexes.replaceContents(loadRegexesFromConfig(config().dget("DiscordConsoleChannelFilters")));
+        gameRegexes.replaceContents(loadRegexesFromConfig(config().dget("DiscordChatChannelGameFilters")));
+        discordRegexes.replaceContents(loadRegexesFromConfig(config().dget("DiscordChatChannelDiscordFilters")));
+    }
+    /**
+     * <p>Changes to the returned map take effect the next time the filters are applied.</p>
+     * @return the console filter patterns and their replacements
+     */
+    public Map<Pattern, String> getConsoleRegexes() {
+        return consoleRegexes;
+    }
+    /**
+     * <p>Changes to the returned map take effect the next time the filters are applied.</p>
+     * @return the game chat filter patterns and their replacements
+     */
+    public Map<Pattern, String> getGameRegexes() {
+        return gameRegexes;
+    }
+    /**
+     * <p>Changes to the returned map take effect the next time the filters are applied.</p>
+     * @return the Discord chat filter patterns and their replacements
+     */
+    public Map<Pattern, String> getDiscordRegexes() {
+        return discordRegexes;
+    }
+    /**
+     * @return the console filters, rebuilt from {@link #getConsoleRegexes()} if it was modified since the last call
+     */
+    public RegexFilterChain getConsoleFilters() {
+        return consoleFilters.get();
+    }
+    /**
+     * @return the game chat filters, rebuilt from {@link #getGameRegexes()} if it was modified since the last call
+     */
+    public RegexFilterChain getGameFilters() {
+        return gameFilters.get();
+    }
+    /**
+     * @return the Discord chat filters, rebuilt from {@link #getDiscordRegexes()} if it was modified since the last call
+     */
+    public RegexFilterChain getDiscordFilters() {
+        return discordFilters.get();
+    }
+    private Map<Pattern, String> loadRegexesFromConfig(final Dynamic dynamic) {
+        Map<Pattern, String> map = new LinkedHashMap<>();
         dynamic.children().forEach(d -> {
             String key = d.key().convert().intoString();
             if (StringUtils.isEmpty(key)) return;
@@ -247,13 +367,14 @@ public class DiscordSRV extends JavaPlugin {
                 error("Invalid regex pattern: " + key + " (" + e.getDescription() + ")");
             }
         });
+        return map;
     }
     public String getMainChatChannel() {
-        return channels.size() != 0 ? channels.keySet().iterator().next() : null;
+        return channelIndex.get().getMainChannelName();
     }
     public TextChannel getMainTextChannel() {
-        if (channels.isEmpty() || jda == null) return null;
-        String firstChannel = channels.values().iterator().next();
+        if (jda == null) return null;
+        String firstChannel = channelIndex.get().getMainTextChannelId();
         if (StringUtils.isBlank(firstChannel)) return null;
         return DiscordUtil.getTextChannelById(firstChannel);
     }
@@ -277,21 +398,13 @@ public class DiscordSRV extends JavaPlugin {
                 : null;
     }
     public TextChannel getDestinationTextChannelForGameChannelName(String gameChannelName) {
-        Map.Entry<String, String> entry = channels.entrySet().stream().filter(e -> e.getKey().equals(gameChannelName)).findFirst().orElse(null);
-        if (entry != null) return jda.getTextChannelById(entry.getValue()); // found case-sensitive channel
-
-        // no case-sensitive channel found, try case in-sensitive
-        entry = channels.entrySet().stream().filter(e -> e.getKey().equalsIgnoreCase(gameChannelName)).findFirst().orElse(null);
-        if (entry != null) return jda.getTextChannelById(entry.getValue()); // found case-insensitive channel
-
-        return null; // no channel found, case-insensitive or not
+        // case-sensitive match first, case-insensitive second
+        String textChannelId = channelIndex.get().getTextChannelId(gameChannelName);
+        return textChannelId != null ? jda.getTextChannelById(textChannelId) : null;
     }
     public String getDestinationGameChannelNameForTextChannel(TextChannel source) {
         if (source == null) return null;
-        return channels.entrySet().stream()
-                .filter(entry -> source.getId().equals(entry.getValue()))
-                .map(Map.Entry::getKey)
-                .findFirst().orElse(null);
+        return channelIndex.get().getGameChannelName(source.getId());
     }
     public File getLogFile() {
         String fileName = config().getString("DiscordConsoleChannelUsageLog");
@@ -334,9 +447,10 @@ public class DiscordSRV extends JavaPlugin {
     }
     public static void debug(String message) {
         // return if plugin is not in debug mode
-        if (DiscordSRV.config().getInt("DebugLevel") == 0) return;
+        int debugLevel = configSnapshot().getDebugLevel();
+        if (debugLevel == 0) return;
 
-        getPlugin().getLogger().info("[DEBUG] " + message + (DiscordSRV.config().getInt("DebugLevel") >= 2 ? "\n" + DebugUtil.getStackTrace() : ""));
+        getPlugin().getLogger().info("[DEBUG] " + message + (debugLevel >= 2 ? "\n" + DebugUtil.getStackTrace() : ""));
     }
     public static void debug(Throwable throwable) {
         logThrowable(throwable, DiscordSRV::debug);
@@ -395,6 +509,7 @@ public class DiscordSRV extends JavaPlugin {
                     )
                     .findFirst().ifPresent(config::setLanguage);
         }
+        configSnapshot = new ConfigSnapshot(config);
 
         // Make discordsrv.sync.x & discordsrv.sync.deny.x permissions denied by default
         try {
@@ -853,6 +968,9 @@ public class DiscordSRV extends JavaPlugin {
         final ThreadFactory rateLimitThreadFactory = new ThreadFactoryBuilder().setNameFormat("DiscordSRV - JDA Rate Limit").build();
         final ScheduledExecutorService rateLimitThreadPool = new ScheduledThreadPoolExecutor(5, rateLimitThreadFactory);
 
+        // build the Minecraft -> Discord chat pipeline, the Discord -> Minecraft one is built by DiscordChatListener
+        registerGameChatStages();
+
         // log in to discord
         if (config.getBooleanElse("EnablePresenceInformation", false)) {
             DiscordSRV.api.requireIntent(GatewayIntent.GUILD_PRESENCES);
@@ -880,6 +998,8 @@ public class DiscordSRV extends JavaPlugin {
                     .addEventListeners(new DiscordConsoleListener())
                     .addEventListeners(new DiscordAccountLinkListener())
                     .addEventListeners(new DiscordDisconnectListener())
+                    .addEventListeners(new DiscordMentionIndexListener())
+                    .addEventListeners(memberRolesManager)
                     .addEventListeners(groupSynchronizationManager)
                     .setContextEnabled(false)
                     .build();
@@ -965,7 +1085,10 @@ public class DiscordSRV extends JavaPlugin {
         }
 
         reloadChannels();
+        reloadCannedResponses();
         reloadRegexes();
+        reloadChatRelay();
+        reloadChatPipelines();
 
         // warn if the console channel is connected to a chat channel
         if (getMainTextChannel() != null && getConsoleChannel() != null && getMainTextChannel().getId().equals(getConsoleChannel().getId())) DiscordSRV.warning(LangUtil.InternalMessage.CONSOLE_CHANNEL_ASSIGNED_TO_LINKED_CHANNEL);
@@ -1015,6 +1138,9 @@ public class DiscordSRV extends JavaPlugin {
             accountLinkManager = new FileAccountLinkManager();
         }
         Bukkit.getPluginManager().registerEvents(accountLinkManager, this);
+        Bukkit.getPluginManager().registerEvents(playerChatContextManager, this);
+        Bukkit.getPluginManager().registerEvents(playerNameIndex, this);
+        Bukkit.getScheduler().runTaskTimerAsynchronously(this, playerNameIndex::refresh, 0, PlayerNameIndex.REFRESH_INTERVAL_TICKS);
 
         // register events
         new PlayerBanListener();
@@ -1134,7 +1260,7 @@ public class DiscordSRV extends JavaPlugin {
         // enable metrics
         if (!config().getBooleanElse("MetricsDisabled", false)) {
             BStats bStats = new BStats(this);
-            bStats.addCustomChart(new BStats.SimplePie("linked_channels", () -> String.valueOf(channels.size())));
+            bStats.addCustomChart(new BStats.SimplePie("linked_channels", () -> String.valueOf(channelIndex.get().size())));
             bStats.addCustomChart(new BStats.AdvancedPie("hooked_plugins", () -> new HashMap<String, Integer>(){{
                 if (pluginHooks.size() == 0) {
                     put("none", 1);
@@ -1252,6 +1378,21 @@ public class DiscordSRV extends JavaPlugin {
                 // we're no longer ready
                 isReady = false;
 
+                // relay chat messages that are still waiting, then send the ones waiting to be coalesced
+                if (chatRelayExecutor != null) {
+                    try {
+                        if (!chatRelayExecutor.shutdown(5, TimeUnit.SECONDS)) warning("Not all chat messages were relayed to Discord before shutting down");
+                    } catch (InterruptedException ignored) {}
+                }
+                if (discordChatExecutor != null) {
+                    try {
+                        if (!discordChatExecutor.shutdown(5, TimeUnit.SECONDS)) warning("Not all Discord messages were processed before shutting down");
+                    } catch (InterruptedException ignored) {}
+                }
+                chatMessageCoalescer.shutdown();
+                outboundChannelScheduler.shutdown();
+                expiringMessageService.shutdown();
+
                 // unregister event listeners because of garbage reloading plugins
                 HandlerList.unregisterAll(this);
 
@@ -1450,143 +1591,189 @@ public class DiscordSRV extends JavaPlugin {
             return;
         }
 
-        // return if player doesn't have permission
-        if (!GamePermissionUtil.hasPermission(player, "discordsrv.chat")) {
-            debug("User " + player.getName() + " sent a message but it was not delivered to Discord due to lack of permission");
-            return;
-        }
+        gameChatPipeline.process(new GameChatMessage(player, message, channel, cancelled, configSnapshot()));
+    }
 
-        // return if mcMMO is enabled and message is from party or admin chat
-        if (PluginUtil.pluginHookIsEnabled("mcMMO", false)) {
-            if (player.hasMetadata("mcMMO: Player Data")) {
-                boolean usingAdminChat = com.gmail.nossr50.api.ChatAPI.isUsingAdminChat(player);
-                boolean usingPartyChat = com.gmail.nossr50.api.ChatAPI.isUsingPartyChat(player);
-                if (usingAdminChat || usingPartyChat) {
-                    debug("Not processing message because message was from " + (usingAdminChat ? "admin" : "party") + " chat");
-                    return;
-                }
+    private void registerGameChatStages() {
+        gameChatPipeline.addStage("permission", chat -> {
+            // return if player doesn't have permission
+            if (GamePermissionUtil.hasPermission(chat.getPlayer(), "discordsrv.chat")) return true;
+            debug("User " + chat.getPlayer().getName() + " sent a message but it was not delivered to Discord due to lack of permission");
+            return false;
+        });
+        gameChatPipeline.addStage("mcmmo", chat -> {
+            // return if message is from party or admin chat
+            Player player = chat.getPlayer();
+            if (!player.hasMetadata("mcMMO: Player Data")) return true;
+            boolean usingAdminChat = com.gmail.nossr50.api.ChatAPI.isUsingAdminChat(player);
+            boolean usingPartyChat = com.gmail.nossr50.api.ChatAPI.isUsingPartyChat(player);
+            if (!usingAdminChat && !usingPartyChat) return true;
+            debug("Not processing message because message was from " + (usingAdminChat ? "admin" : "party") + " chat");
+            return false;
+        }, () -> PluginUtil.pluginHookIsEnabled("mcMMO", false));
+        gameChatPipeline.addStage("cancelled", chat -> {
+            // return if event canceled
+            if (!chat.isCancelled()) return true;
+            debug("User " + chat.getPlayer().getName() + " sent a message but it was not delivered to Discord because the chat event was canceled");
+            return false;
+        }, () -> configSnapshot().isRespectChatPlugins());
+        gameChatPipeline.addStage("enabled", chat -> {
+            // return if should not send in-game chat
+            debug("User " + chat.getPlayer().getName() + " sent a message but it was not delivered to Discord because DiscordChatChannelMinecraftToDiscord is false");
+            return false;
+        }, () -> !configSnapshot().isMinecraftToDiscord());
+        gameChatPipeline.addStage("prefix", chat -> {
+            // return if doesn't match prefix filter
+            String prefix = chat.getConfig().getPrefixRequiredToProcessMessage();
+            if (DiscordUtil.strip(chat.getMessage()).startsWith(prefix)) return true;
+            debug("User " + chat.getPlayer().getName() + " sent a message but it was not delivered to Discord because the message didn't start with \"" + prefix + "\" (DiscordChatChannelPrefixRequiredToProcessMessage): \"" + chat.getMessage() + "\"");
+            return false;
+        }, () -> StringUtils.isNotEmpty(configSnapshot().getPrefixRequiredToProcessMessage()));
+        gameChatPipeline.addStage("pre-process-event", chat -> {
+            if (!api.hasSubscribers(GameChatMessagePreProcessEvent.class)) return true;
+            GameChatMessagePreProcessEvent preEvent = api.callEvent(new GameChatMessagePreProcessEvent(chat.getChannel(), chat.getMessage(), chat.getPlayer()));
+            if (preEvent.isCancelled()) {
+                DiscordSRV.debug("GameChatMessagePreProcessEvent was cancelled, message send aborted");
+                return false;
             }
-        }
-
-        // return if event canceled
-        if (config().getBoolean("RespectChatPlugins") && cancelled) {
-            debug("User " + player.getName() + " sent a message but it was not delivered to Discord because the chat event was canceled");
-            return;
-        }
-
-        // return if should not send in-game chat
-        if (!config().getBoolean("DiscordChatChannelMinecraftToDiscord")) {
-            debug("User " + player.getName() + " sent a message but it was not delivered to Discord because DiscordChatChannelMinecraftToDiscord is false");
-            return;
-        }
-
-        // return if doesn't match prefix filter
-        String prefix = config().getString("DiscordChatChannelPrefixRequiredToProcessMessage");
-        if (!DiscordUtil.strip(message).startsWith(prefix)) {
-            debug("User " + player.getName() + " sent a message but it was not delivered to Discord because the message didn't start with \"" + prefix + "\" (DiscordChatChannelPrefixRequiredToProcessMessage): \"" + message + "\"");
-            return;
-        }
+            chat.setChannel(preEvent.getChannel()); // update channel from event in case any listeners modified it
+            chat.setMessage(preEvent.getMessage()); // update message from event in case any listeners modified it
+            return true;
+        });
+        gameChatPipeline.addStage("format", this::formatGameChatMessage);
+        // always included, the filters can be changed through getGameRegexes() without rebuilding the pipeline
+        gameChatPipeline.addStage("filter", chat -> {
+            RegexFilterChain filters = getGameFilters();
+            if (filters.isEmpty()) return true;
+            chat.setDiscordMessage(filters.apply(chat.getDiscordMessage(), filter ->
+                    DiscordSRV.debug("Not processing Minecraft message because it was cleared by a filter: " + filter.getPattern().pattern())));
+            return chat.getDiscordMessage() != null;
+        });
+        gameChatPipeline.addStage("strip", chat -> {
+            chat.setDiscordMessage(DiscordUtil.strip(chat.getDiscordMessage()));
+            return true;
+        }, () -> !configSnapshot().isReserializerToDiscord());
+        gameChatPipeline.addStage("mentions", chat -> {
+            if (chat.getConfig().isTranslateMentions()) {
+                chat.setDiscordMessage(DiscordUtil.convertMentionsFromNames(chat.getDiscordMessage(), getMainGuild()));
+            } else {
+                chat.setDiscordMessage(chat.getDiscordMessage().replace("@", "@\u200B")); // zero-width space
+                chat.setMessage(chat.getMessage().replace("@", "@\u200B")); // zero-width space
+            }
+            return true;
+        });
+        gameChatPipeline.addStage("post-process-event", chat -> {
+            if (!api.hasSubscribers(GameChatMessagePostProcessEvent.class)) return true;
+            GameChatMessagePostProcessEvent postEvent = api.callEvent(new GameChatMessagePostProcessEvent(chat.getChannel(), chat.getDiscordMessage(), chat.getPlayer(), false));
+            if (postEvent.isCancelled()) {
+                DiscordSRV.debug("GameChatMessagePostProcessEvent was cancelled, message send aborted");
+                return false;
+            }
+            chat.setChannel(postEvent.getChannel()); // update channel from event in case any listeners modified it
+            chat.setDiscordMessage(postEvent.getProcessedMessage()); // update message from event in case any listeners modified it
+            return true;
+        });
+        gameChatPipeline.addStage("send", this::sendGameChatMessage);
+    }
 
-        GameChatMessagePreProcessEvent preEvent = api.callEvent(new GameChatMessagePreProcessEvent(channel, message, player));
-        if (preEvent.isCancelled()) {
-            DiscordSRV.debug("GameChatMessagePreProcessEvent was cancelled, message send aborted");
-            return;
-        }
-        channel = preEvent.getChannel(); // update channel from event in case any listeners modified it
-        message = preEvent.getMessage(); // update message from event in case any listeners modified it
+    private boolean formatGameChatMessage(GameChatMessage chat) {
+        ConfigSnapshot config = chat.getConfig();
+        Player player = chat.getPlayer();
 
-        String userPrimaryGroup = VaultHook.getPrimaryGroup(player);
+        PlayerChatContext context = playerChatContextManager.get(player);
+        chat.setContext(context);
+        String userPrimaryGroup = context.getPrimaryGroup();
         boolean hasGoodGroup = StringUtils.isNotBlank(userPrimaryGroup);
 
         // capitalize the first letter of the user's primary group to look neater
         if (hasGoodGroup) userPrimaryGroup = userPrimaryGroup.substring(0, 1).toUpperCase() + userPrimaryGroup.substring(1);
 
-        boolean reserializer = DiscordSRV.config().getBoolean("Experiment_MCDiscordReserializer_ToDiscord");
+        boolean reserializer = config.isReserializerToDiscord();
 
-        String username = DiscordUtil.strip(player.getName());
-        if (!reserializer) username = DiscordUtil.escapeMarkdown(username);
+        String username = reserializer ? DiscordUtil.strip(player.getName()) : DiscordUtil.stripAndEscapeMarkdown(player.getName());
 
-        String discordMessage = (hasGoodGroup
+        // %displayname%, %displaynamenoescapes% and %message% are left for after PlaceholderAPI
+        final String finalChannel = chat.getChannel();
+        final String finalUsername = username;
+        final String finalPrimaryGroup = userPrimaryGroup;
+        String discordMessage = MessageTemplate.compile(hasGoodGroup
                 ? LangUtil.Message.CHAT_TO_DISCORD.toString()
-                : LangUtil.Message.CHAT_TO_DISCORD_NO_PRIMARY_GROUP.toString())
-                .replaceAll("%time%|%date%", TimeUtil.timeStamp())
-                .replace("%channelname%", channel != null ? channel.substring(0, 1).toUpperCase() + channel.substring(1) : "")
-                .replace("%primarygroup%", userPrimaryGroup)
-                .replace("%username%", username)
-                .replace("%usernamenoescapes%", DiscordUtil.strip(player.getName()))
-                .replace("%world%", player.getWorld().getName())
-                .replace("%worldalias%", DiscordUtil.strip(MultiverseCoreHook.getWorldAlias(player.getWorld().getName())));
+                : LangUtil.Message.CHAT_TO_DISCORD_NO_PRIMARY_GROUP.toString()
+        ).render(placeholder -> {
+            switch (placeholder) {
+                case "time": case "date": return TimeUtil.timeStamp();
+                case "channelname": return finalChannel != null ? finalChannel.substring(0, 1).toUpperCase() + finalChannel.substring(1) : "";
+                case "primarygroup": return finalPrimaryGroup;
+                case "username": return finalUsername;
+                case "usernamenoescapes": return DiscordUtil.strip(player.getName());
+                case "world": return context.getWorldName();
+                case "worldalias": return context.getWorldAlias();
+                default: return null;
+            }
+        });
         discordMessage = PlaceholderUtil.replacePlaceholdersToDiscord(discordMessage, player);
 
-        String displayName = DiscordUtil.strip(player.getDisplayName());
+        String message = chat.getMessage();
+        String displayName = context.getDisplayName();
         if (reserializer) {
             message = DiscordSerializer.INSTANCE.serialize(LegacyComponentSerializer.INSTANCE.deserialize(message));
+            chat.setMessage(message);
         } else {
             displayName = DiscordUtil.escapeMarkdown(displayName);
         }
 
-        discordMessage = discordMessage
-                .replace("%displayname%", displayName)
-                .replace("%displaynamenoescapes%", DiscordUtil.strip(player.getDisplayName()))
-                .replace("%message%", message);
-
-        for (Map.Entry<Pattern, String> entry : getGameRegexes().entrySet()) {
-            discordMessage = entry.getKey().matcher(discordMessage).replaceAll(entry.getValue());
-            if (StringUtils.isBlank(discordMessage)) {
-                DiscordSRV.debug("Not processing Minecraft message because it was cleared by a filter: " + entry.getKey().pattern());
-                return;
+        final String finalDisplayName = displayName;
+        final String finalMessage = message;
+        chat.setDiscordMessage(MessageTemplate.expand(discordMessage, placeholder -> {
+            switch (placeholder) {
+                case "displayname": return finalDisplayName;
+                case "displaynamenoescapes": return context.getDisplayName();
+                case "message": return finalMessage;
+                default: return null;
             }
-        }
-
-        if (!reserializer) discordMessage = DiscordUtil.strip(discordMessage);
-
-        if (config().getBoolean("DiscordChatChannelTranslateMentions")) {
-            discordMessage = DiscordUtil.convertMentionsFromNames(discordMessage, getMainGuild());
-        } else {
-            discordMessage = discordMessage.replace("@", "@\u200B"); // zero-width space
-            message = message.replace("@", "@\u200B"); // zero-width space
-        }
+        }));
+        return true;
+    }
 
-        GameChatMessagePostProcessEvent postEvent = api.callEvent(new GameChatMessagePostProcessEvent(channel, discordMessage, player, preEvent.isCancelled()));
-        if (postEvent.isCancelled()) {
-            DiscordSRV.debug("GameChatMessagePostProcessEvent was cancelled, message send aborted");
-            return;
-        }
-        channel = postEvent.getChannel(); // update channel from event in case any listeners modified it
-        discordMessage = postEvent.getProcessedMessage(); // update message from event in case any listeners modified it
+    private boolean sendGameChatMessage(GameChatMessage chat) {
+        ConfigSnapshot config = chat.getConfig();
+        String channel = chat.getChannel();
 
-        if (!config().getBoolean("Experiment_WebhookChatMessageDelivery")) {
+        if (!config.isWebhookChatMessageDelivery()) {
             if (channel == null) {
-                DiscordUtil.sendMessage(getOptionalTextChannel("global"), discordMessage);
+                chatMessageCoalescer.submit(getOptionalTextChannel("global"), chat.getDiscordMessage());
             } else {
-                DiscordUtil.sendMessage(getDestinationTextChannelForGameChannelName(channel), discordMessage);
+                chatMessageCoalescer.submit(getDestinationTextChannelForGameChannelName(channel), chat.getDiscordMessage());
             }
-        } else {
-            if (channel == null) channel = getOptionalChannel("global");
+            return true;
+        }
 
-            TextChannel destinationChannel = getDestinationTextChannelForGameChannelName(channel);
+        if (channel == null) channel = getOptionalChannel("global");
 
-            if (destinationChannel == null) {
-                DiscordSRV.debug("Failed to find Discord channel to forward message from game channel " + channel);
-                return;
-            }
+        TextChannel destinationChannel = getDestinationTextChannelForGameChannelName(channel);
 
-            if (!DiscordUtil.checkPermission(destinationChannel.getGuild(), Permission.MANAGE_WEBHOOKS)) {
-                DiscordSRV.error("Couldn't deliver chat message as webhook because the bot lacks the \"Manage Webhooks\" permission.");
-                return;
-            }
-
-            message = PlaceholderUtil.replacePlaceholdersToDiscord(message, player);
-            if (!reserializer) {
-                message = DiscordUtil.strip(message);
-            } else {
-                message = DiscordSerializer.INSTANCE.serialize(LegacyComponentSerializer.INSTANCE.deserialize(message));
-            }
+        if (destinationChannel == null) {
+            DiscordSRV.debug("Failed to find Discord channel to forward message from game channel " + channel);
+            return false;
+        }
 
-            if (config().getBoolean("DiscordChatChannelTranslateMentions")) message = DiscordUtil.convertMentionsFromNames(message, getMainGuild());
+        if (!DiscordUtil.checkPermission(destinationChannel.getGuild(), Permission.MANAGE_WEBHOOKS)) {
+            DiscordSRV.error("Couldn't deliver chat message as webhook because the bot lacks the \"Manage Webhooks\" permission.");
+            return false;
+        }
 
-            WebhookUtil.deliverMessage(destinationChannel, player, message);
+        String message = PlaceholderUtil.replacePlaceholdersToDiscord(chat.getMessage(), chat.getPlayer());
+        if (!config.isReserializerToDiscord()) {
+            message = DiscordUtil.strip(message);
+        } else {
+            // the message was already rendered to markdown while formatting, only drop color codes placeholders might have added
+            message = DiscordUtil.stripSectionOnly(message);
         }
+
+        if (config.isTranslateMentions()) message = DiscordUtil.convertMentionsFromNames(message, getMainGuild());
+
+        WebhookUtil.deliverMessage(destinationChannel, chat.getPlayer(), message);
+        return true;
     }
 
     public void broadcastMessageToMinecraftServer(String channel, String message, User author) {
@@ -1598,7 +1785,7 @@ public class DiscordSRV extends JavaPlugin {
         message = PlaceholderUtil.replacePlaceholders(message, authorPlayer);
 
         if (pluginHooks.size() == 0 || channel == null) {
-            for (Player player : PlayerUtil.getOnlinePlayers()) player.sendMessage(message);
+            PlayerUtil.sendMessage(PlayerUtil.getOnlinePlayersSnapshot(false), message);
             PlayerUtil.notifyPlayersOfMentions(null, message);
         } else {
             for (PluginHook pluginHook : pluginHooks) {
@@ -1611,7 +1798,7 @@ public class DiscordSRV extends JavaPlugin {
             broadcastMessageToMinecraftServer(null, message, author);
             return;
         }
-        api.callEvent(new DiscordGuildMessagePostBroadcastEvent(channel, message));
+        if (api.hasSubscribers(DiscordGuildMessagePostBroadcastEvent.class)) api.callEvent(new DiscordGuildMessagePostBroadcastEvent(channel, message));
     }
 
     /**
@@ -1643,16 +1830,20 @@ public class DiscordSRV extends JavaPlugin {
 
         BiFunction<String, Boolean, String> translator = (content, needsEscape) -> {
             if (content == null) return null;
-            content = content
-                    .replaceAll("%time%|%date%", TimeUtil.timeStamp())
-                    .replace("%message%", DiscordUtil.strip(needsEscape ? DiscordUtil.escapeMarkdown(message) : message))
-                    .replace("%username%", needsEscape ? DiscordUtil.escapeMarkdown(name) : name)
-                    .replace("%displayname%", needsEscape ? DiscordUtil.escapeMarkdown(displayName) : displayName)
-                    .replace("%usernamenoescapes%", name)
-                    .replace("%displaynamenoescapes%", displayName)
-                    .replace("%embedavatarurl%", avatarUrl)
-                    .replace("%botavatarurl%", botAvatarUrl)
-                    .replace("%botname%", botName);
+            content = MessageTemplate.compile(content).render(placeholder -> {
+                switch (placeholder) {
+                    case "time": case "date": return TimeUtil.timeStamp();
+                    case "message": return needsEscape ? DiscordUtil.stripAndEscapeMarkdown(message) : DiscordUtil.strip(message);
+                    case "username": return needsEscape ? DiscordUtil.escapeMarkdown(name) : name;
+                    case "displayname": return needsEscape ? DiscordUtil.escapeMarkdown(displayName) : displayName;
+                    case "usernamenoescapes": return name;
+                    case "displaynamenoescapes": return displayName;
+                    case "embedavatarurl": return avatarUrl;
+                    case "botavatarurl": return botAvatarUrl;
+                    case "botname": return botName;
+                    default: return null;
+                }
+            });
             content = DiscordUtil.translateEmotes(content, textChannel.getGuild());
             content = PlaceholderUtil.replacePlaceholdersToDiscord(content, player);
             return content;
@@ -1668,7 +1859,7 @@ public class DiscordSRV extends JavaPlugin {
             WebhookUtil.deliverMessage(textChannel, webhookName, webhookAvatarUrl,
                     discordMessage.getContentRaw(), discordMessage.getEmbeds().stream().findFirst().orElse(null));
         } else {
-            DiscordUtil.queueMessage(textChannel, discordMessage, true);
+            DiscordUtil.queueMessage(textChannel, discordMessage, true, OutboundChannelScheduler.Priority.LIFECYCLE);
         }
     }
 
@@ -1700,16 +1891,20 @@ public class DiscordSRV extends JavaPlugin {
 
         BiFunction<String, Boolean, String> translator = (content, needsEscape) -> {
             if (content == null) return null;
-            content = content
-                    .replaceAll("%time%|%date%", TimeUtil.timeStamp())
-                    .replace("%message%", DiscordUtil.strip(needsEscape ? DiscordUtil.escapeMarkdown(message) : message))
-                    .replace("%username%", DiscordUtil.strip(needsEscape ? DiscordUtil.escapeMarkdown(name) : name))
-                    .replace("%displayname%", needsEscape ? DiscordUtil.escapeMarkdown(displayName) : displayName)
-                    .replace("%usernamenoescapes%", name)
-                    .replace("%displaynamenoescapes%", displayName)
-                    .replace("%embedavatarurl%", avatarUrl)
-                    .replace("%botavatarurl%", botAvatarUrl)
-                    .replace("%botname%", botName);
+            content = MessageTemplate.compile(content).render(placeholder -> {
+                switch (placeholder) {
+                    case "time": case "date": return TimeUtil.timeStamp();
+                    case "message": return needsEscape ? DiscordUtil.stripAndEscapeMarkdown(message) : DiscordUtil.strip(message);
+                    case "username": return needsEscape ? DiscordUtil.stripAndEscapeMarkdown(name) : DiscordUtil.strip(name);
+                    case "displayname": return needsEscape ? DiscordUtil.escapeMarkdown(displayName) : displayName;
+                    case "usernamenoescapes": return name;
+                    case "displaynamenoescapes": return displayName;
+                    case "embedavatarurl": return avatarUrl;
+                    case "botavatarurl": return botAvatarUrl;
+                    case "botname": return botName;
+                    default: return null;
+                }
+            });
             content = DiscordUtil.translateEmotes(content, textChannel.getGuild());
             content = PlaceholderUtil.replacePlaceholdersToDiscord(content, player);
             return content;
@@ -1725,11 +1920,31 @@ public class DiscordSRV extends JavaPlugin {
             WebhookUtil.deliverMessage(textChannel, webhookName, webhookAvatarUrl,
                     discordMessage.getContentRaw(), discordMessage.getEmbeds().stream().findFirst().orElse(null));
         } else {
-            DiscordUtil.queueMessage(textChannel, discordMessage, true);
+            DiscordUtil.queueMessage(textChannel, discordMessage, true, OutboundChannelScheduler.Priority.LIFECYCLE);
         }
     }
 
+    /**
+     * Get the message format defined at the given configuration key, parsed once per config (re)load
+     * @param key the configuration key of the message
+     * @return a copy of the parsed message format that may be freely modified, null if the message is disabled or has no content
+     */
     public MessageFormat getMessageFromConfiguration(String key) {
+        return messageFormats.computeIfAbsent(key, k -> {
+            Optional<Boolean> timestamp = config.getOptionalBoolean(k + ".Embed.Timestamp");
+            return new ParsedMessageFormat(parseMessageFromConfiguration(k), timestamp.isPresent() && timestamp.get());
+        }).get();
+    }
+
+    /**
+     * Clear the cached message formats and compiled message templates so they are parsed from the configuration again when next used
+     */
+    public void clearMessageFormatCache() {
+        messageFormats.clear();
+        MessageTemplate.clearCache();
+    }
+
+    private MessageFormat parseMessageFromConfiguration(String key) {
         if (!config.getOptional(key).isPresent()) {
             return null;
         }
@@ -1812,12 +2027,8 @@ public class DiscordSRV extends JavaPlugin {
                         .filter(StringUtils::isNotBlank).ifPresent(messageFormat::setFooterIconUrl);
             }
 
-            Optional<Boolean> timestampOptional = config().getOptionalBoolean(key + ".Embed.Timestamp");
-            if (timestampOptional.isPresent()) {
-                if (timestampOptional.get()) {
-                    messageFormat.setTimestamp(new Date().toInstant());
-                }
-            } else {
+            // "Timestamp: true" is resolved to the current time each time the message is used, see ParsedMessageFormat
+            if (!config().getOptionalBoolean(key + ".Embed.Timestamp").isPresent()) {
                 Optional<Long> epochOptional = config().getOptionalLong(key + ".Embed.Timestamp");
                 epochOptional.ifPresent(timestamp -> messageFormat.setTimestamp(new Date(timestamp).toInstant()));
             }
@@ -1839,6 +2050,28 @@ public class DiscordSRV extends JavaPlugin {
         return messageFormat.isAnyContent() ? messageFormat : null;
     }
 
+    /**
+     * A message format parsed from the configuration, along with whether it's timestamp should be the time it's used at
+     */
+    private static class ParsedMessageFormat {
+
+        private final MessageFormat messageFormat;
+        private final boolean currentTimestamp;
+
+        private ParsedMessageFormat(MessageFormat messageFormat, boolean currentTimestamp) {
+            this.messageFormat = messageFormat;
+            this.currentTimestamp = currentTimestamp;
+        }
+
+        private MessageFormat get() {
+            if (messageFormat == null) return null;
+            MessageFormat copy = messageFormat.copy();
+            if (currentTimestamp) copy.setTimestamp(Instant.now());
+            return copy;
+        }
+
+    }
+
     @CheckReturnValue
     public static Message translateMessage(MessageFormat messageFormat, BiFunction<String, Boolean, String> translator) {
         MessageBuilder messageBuilder = new MessageBuilder();
@@ -1970,41 +2203,15 @@ public class DiscordSRV extends JavaPlugin {
     }
 
     public List<Role> getSelectedRoles(Member member) {
-        List<Role> selectedRoles;
-        List<String> discordRolesSelection = DiscordSRV.config().getStringList("DiscordChatChannelRolesSelection");
-        // if we have a whitelist in the config
-        if (DiscordSRV.config().getBoolean("DiscordChatChannelRolesSelectionAsWhitelist")) {
-            selectedRoles = member.getRoles().stream()
-                    .filter(role -> discordRolesSelection.contains(DiscordUtil.getRoleName(role)))
-                    .collect(Collectors.toList());
-        } else { // if we have a blacklist in the settings
-            selectedRoles = member.getRoles().stream()
-                    .filter(role -> !discordRolesSelection.contains(DiscordUtil.getRoleName(role)))
-                    .collect(Collectors.toList());
-        }
-        selectedRoles.removeIf(role -> StringUtils.isBlank(role.getName()));
-        return selectedRoles;
+        return new ArrayList<>(memberRolesManager.get(member).getSelectedRoles());
     }
 
     public Map<String, String> getGroupSynchronizables() {
-        HashMap<String, String> map = new HashMap<>();
-        config.dget("GroupRoleSynchronizationGroupsAndRolesToSync").children().forEach(dynamic ->
-                map.put(dynamic.key().convert().intoString(), dynamic.convert().intoString()));
-        return map;
+        return new HashMap<>(configSnapshot().getGroupsAndRolesToSync());
     }
 
     public Map<String, String> getCannedResponses() {
-        Map<String, String> responses = new HashMap<>();
-        config.dget("DiscordCannedResponses").children()
-                .forEach(dynamic -> {
-                    String trigger = dynamic.key().convert().intoString();
-                    if (StringUtils.isEmpty(trigger)) {
-                        DiscordSRV.debug("Skipping canned response with empty trigger");
-                        return;
-                    }
-                    responses.put(trigger, dynamic.convert().intoString());
-                });
-        return responses;
+        return new HashMap<>(cannedResponseMatcher.getResponses());
     }
 
     private static File playerDataFolder = null;
@@ -2039,16 +2246,7 @@ public class DiscordSRV extends JavaPlugin {
      * @return Whether or not DiscordSRV group role synchronization has been enabled in the configuration.
      */
     public boolean isGroupRoleSynchronizationEnabled() {
-        final Map<String, String> groupsAndRolesToSync = config.getMap("GroupRoleSynchronizationGroupsAndRolesToSync");
-        if (groupsAndRolesToSync.isEmpty()) return false;
-        for (Map.Entry<String, String> entry : groupsAndRolesToSync.entrySet()) {
-            final String group = entry.getKey();
-            if (!group.isEmpty()) {
-                final String roleId = entry.getValue();
-                if (!(roleId.isEmpty() || roleId.equals("000000000000000000"))) return true;
-            }
-        }
-        return false;
+        return configSnapshot().isGroupRoleSynchronizationEnabled();
     }
 
     public String getOptionalChannel(String name) {
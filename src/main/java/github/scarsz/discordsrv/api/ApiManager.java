@@ -29,13 +29,10 @@ import github.scarsz.discordsrv.util.LangUtil;
 import net.dv8tion.jda.api.requests.GatewayIntent;
 import net.dv8tion.jda.api.utils.cache.CacheFlag;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.EnumSet;
-import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>The manager of all of DiscordSRV's API related functionality.</p>
@@ -51,13 +48,14 @@ import java.util.Set;
  * @see #subscribe(Object) subscribe listener
  * @see #unsubscribe(Object) unsubscribe listener
  * @see #callEvent(Event) call an event
+ * @see #hasSubscribers(Class) check for listeners of an event
  * @see #requireIntent(GatewayIntent)
  * @see #requireCacheFlag(CacheFlag)
  */
 @SuppressWarnings("unused")
 public class ApiManager {
 
-    private List<Object> apiListeners = new ArrayList<>();
+    private final EventDispatcher dispatcher = new EventDispatcher();
     private boolean anyHooked = false;
 
     private final EnumSet<GatewayIntent> intents = EnumSet.of(
@@ -92,7 +90,7 @@ public class ApiManager {
                 .replace("{listenername}", listener.getClass().getName())
                 .replace("{methodcount}", String.valueOf(methodsAnnotatedSubscribe))
         );
-        if (!apiListeners.contains(listener)) apiListeners.add(listener);
+        dispatcher.register(listener);
         anyHooked = true;
     }
 
@@ -105,7 +103,7 @@ public class ApiManager {
         DiscordSRV.info(LangUtil.InternalMessage.API_LISTENER_UNSUBSCRIBED.toString()
                 .replace("{listenername}", listener.getClass().getName())
         );
-        return apiListeners.remove(listener);
+        return dispatcher.unregister(listener);
     }
 
     /**
@@ -114,44 +112,62 @@ public class ApiManager {
      * @return the event that was called
      */
     public <E extends Event> E callEvent(E event) {
-        for (ListenerPriority listenerPriority : ListenerPriority.values()) {
-            for (Object apiListener : apiListeners) {
-                for (Method method : apiListener.getClass().getMethods()) {
-                    if (method.getParameters().length != 1) continue; // api listener methods always take one parameter
-                    if (!method.getParameters()[0].getType().isAssignableFrom(event.getClass())) continue; // make sure the event wants this event
-                    if (!method.isAnnotationPresent(Subscribe.class)) continue; // make sure method has a subscribe annotation somewhere
-
-                    for (Annotation annotation : method.getAnnotations()) {
-                        if (!(annotation instanceof Subscribe)) continue; // go through all the annotations until we get one of ours
-
-                        Subscribe subscribeAnnotation = (Subscribe) annotation;
-                        if (subscribeAnnotation.priority() != listenerPriority) continue; // this priority isn't being called right now
-
-                        // make sure method is accessible
-                        if (!method.isAccessible()) method.setAccessible(true);
-
-                        try {
-                            method.invoke(apiListener, event);
-                        } catch (InvocationTargetException e) {
-                            DiscordSRV.error(
-                                    LangUtil.InternalMessage.API_LISTENER_THREW_ERROR.toString()
-                                            .replace("{listenername}", apiListener.getClass().getName()),
-                                    e.getCause());
-                        } catch (IllegalAccessException e) {
-                            // this should never happen
-                            DiscordSRV.error(
-                                    LangUtil.InternalMessage.API_LISTENER_METHOD_NOT_ACCESSIBLE.toString()
-                                            .replace("{listenername}", apiListener.getClass().getName())
-                                            .replace("{methodname}", method.toString()),
-                                    e
-                            );
-                        }
-                    }
-                }
-            }
-        }
-
-        return event;
+        return dispatcher.dispatch(event);
+    }
+
+    /**
+     * Check whether any subscribed API listener would receive an event of the given class,
+     * including listeners subscribed to any of it's supertypes.
+     * Used internally to skip building events that nobody is listening for.
+     * @param eventClass the class of the event that would be called
+     * @return whether or not calling an event of the given class would reach at least one listener
+     */
+    public boolean hasSubscribers(Class<? extends Event> eventClass) {
+        return dispatcher.hasHandlers(eventClass);
+    }
+
+    /**
+     * @return a human readable report of how many times and how long every subscribed listener method
+     * and every called event type took, sorted by the total time spent in them
+     */
+    public String getListenerStatistics() {
+        return dispatcher.report();
+    }
+
+    /**
+     * Reset the call counts and timings of all listener methods and event types
+     */
+    public void resetListenerStatistics() {
+        dispatcher.resetStatistics();
+    }
+
+    /**
+     * @return how long a single listener method invocation may take before it is logged as slow, in milliseconds
+     */
+    public long getSlowListenerThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(dispatcher.getSlowHandlerThresholdNanos());
+    }
+
+    /**
+     * Set how long a single listener method invocation may take before it is logged as slow
+     * @param milliseconds the threshold in milliseconds
+     */
+    public void setSlowListenerThreshold(long milliseconds) {
+        dispatcher.setSlowHandlerThresholdNanos(TimeUnit.MILLISECONDS.toNanos(milliseconds));
+    }
+
+    /**
+     * @return the amount of observation-only events waiting to be delivered to {@link Subscribe#async()} listeners
+     */
+    public int getAsyncQueueDepth() {
+        return dispatcher.getAsyncExecutor().getQueueDepth();
+    }
+
+    /**
+     * @return the amount of observation-only events that were dropped because an {@link Subscribe#async()} listener fell too far behind
+     */
+    public long getAsyncDroppedCount() {
+        return dispatcher.getAsyncExecutor().getDroppedCount();
     }
 
     /**
@@ -0,0 +1,344 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.api;
+
+import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.api.events.Event;
+import github.scarsz.discordsrv.objects.LatencyHistogram;
+import github.scarsz.discordsrv.objects.threads.OrderedTaskExecutor;
+import github.scarsz.discordsrv.util.LangUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Dispatches events to the {@link Subscribe} methods of registered API listeners.</p>
+ * <p>Listener methods are resolved once when a listener is registered and invoked through {@link MethodHandle}s.
+ * The handlers for a given event class (including handlers for any of its supertypes) are sorted by
+ * {@link ListenerPriority} into an immutable table the first time that event class is called, so calling an
+ * event is a single map lookup followed by a loop over the table.</p>
+ * <p>Registering or unregistering a listener publishes a whole new set of tables, events being called
+ * concurrently keep using the tables they started with.</p>
+ * <p>Events marked {@link ObservationOnly} that can't be cancelled are handed to {@link Subscribe#async()} handlers
+ * through an {@link OrderedTaskExecutor} keyed by listener, so each listener still sees them in call order.</p>
+ * <p>Every handler keeps a {@link LatencyHistogram} of it's invocations and every event class one of it's
+ * synchronous dispatches, handlers slower than the slow handler threshold are logged.</p>
+ */
+class EventDispatcher {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final int ASYNC_THREADS = 2;
+    private static final int ASYNC_CAPACITY_PER_LISTENER = 1024;
+    private static final long SLOW_HANDLER_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final OrderedTaskExecutor asyncExecutor = new OrderedTaskExecutor("API Event Dispatch",
+            ASYNC_THREADS, ASYNC_CAPACITY_PER_LISTENER, OrderedTaskExecutor.OverflowPolicy.DROP_OLDEST);
+
+    private final ConcurrentMap<Class<?>, LatencyHistogram> eventStatistics = new ConcurrentHashMap<>();
+    private volatile long slowHandlerThresholdNanos = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Object lock = new Object();
+    private volatile Registry registry = new Registry(Collections.emptyList(), Collections.emptyList(), eventStatistics);
+
+    /**
+     * Register the given listener's {@link Subscribe} methods
+     * @param listener the listener to register
+     * @return whether or not the listener was registered, false if it already was
+     */
+    boolean register(Object listener) {
+        synchronized (lock) {
+            Registry current = registry;
+            if (current.listeners.contains(listener)) return false;
+
+            List<Object> listeners = new ArrayList<>(current.listeners);
+            listeners.add(listener);
+            List<Handler> handlers = new ArrayList<>(current.handlers);
+            handlers.addAll(compile(listener));
+            registry = new Registry(listeners, handlers, eventStatistics);
+            return true;
+        }
+    }
+
+    /**
+     * Unregister the given listener
+     * @param listener the listener to unregister
+     * @return whether or not the listener was registered
+     */
+    boolean unregister(Object listener) {
+        synchronized (lock) {
+            Registry current = registry;
+            if (!current.listeners.contains(listener)) return false;
+
+            List<Object> listeners = new ArrayList<>(current.listeners);
+            listeners.remove(listener);
+            List<Handler> handlers = new ArrayList<>(current.handlers);
+            handlers.removeIf(handler -> handler.listener.equals(listener));
+            registry = new Registry(listeners, handlers, eventStatistics);
+            return true;
+        }
+    }
+
+    /**
+     * Call the given event to all handlers subscribed to it's class or any of it's supertypes
+     * @param event the event to call
+     * @return the event that was called
+     */
+    <E extends Event> E dispatch(E event) {
+        Table table = registry.tableFor(event.getClass());
+        if (table.handlers.length == 0) return event;
+
+        long start = System.nanoTime();
+        for (Handler handler : table.handlers) {
+            if (table.observationOnly && handler.async) {
+                asyncExecutor.submit(handler.listener, () -> handler.invoke(event, slowHandlerThresholdNanos));
+            } else {
+                handler.invoke(event, slowHandlerThresholdNanos);
+            }
+        }
+        table.statistics.record(System.nanoTime() - start);
+        return event;
+    }
+
+    /**
+     * Check whether dispatching an event of the given class would reach any handlers
+     * @param eventClass the class of the event
+     * @return whether or not there is at least one handler for the event class
+     */
+    boolean hasHandlers(Class<? extends Event> eventClass) {
+        return registry.tableFor(eventClass).handlers.length > 0;
+    }
+
+    long getSlowHandlerThresholdNanos() {
+        return slowHandlerThresholdNanos;
+    }
+
+    /**
+     * Set how long a single handler invocation may take before it is logged as slow
+     */
+    void setSlowHandlerThresholdNanos(long slowHandlerThresholdNanos) {
+        this.slowHandlerThresholdNanos = slowHandlerThresholdNanos;
+    }
+
+    /**
+     * Reset the statistics of all handlers and event classes
+     */
+    void resetStatistics() {
+        eventStatistics.values().forEach(LatencyHistogram::reset);
+        for (Handler handler : registry.handlers) {
+            handler.statistics.reset();
+            handler.slowInvocations.set(0);
+        }
+    }
+
+    /**
+     * Build a human readable report of the statistics of all event classes and currently registered handlers,
+     * both sorted by the total time spent in them
+     */
+    String report() {
+        List<String> lines = new ArrayList<>();
+        lines.add("slow handler threshold: " + LatencyHistogram.format(slowHandlerThresholdNanos));
+        lines.add("async dispatch: " + asyncExecutor);
+
+        lines.add("events:");
+        eventStatistics.entrySet().stream()
+                .filter(entry -> entry.getValue().getCount() > 0)
+                .sorted(Comparator.comparingLong((Map.Entry<Class<?>, LatencyHistogram> entry) -> entry.getValue().getTotalNanos()).reversed())
+                .map(entry -> "    " + entry.getKey().getSimpleName() + " -> " + entry.getValue())
+                .forEach(lines::add);
+
+        lines.add("handlers:");
+        registry.handlers.stream()
+                .sorted(Comparator.comparingLong((Handler handler) -> handler.statistics.getTotalNanos()).reversed())
+                .map(handler -> "    " + handler + " -> " + handler.statistics + ", slow: " + handler.slowInvocations.get())
+                .forEach(lines::add);
+
+        return String.join("\n", lines);
+    }
+
+    /**
+     * @return the executor asynchronous handlers of observation-only events are invoked on
+     */
+    OrderedTaskExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    private static List<Handler> compile(Object listener) {
+        List<Handler> handlers = new ArrayList<>();
+        for (Method method : listener.getClass().getMethods()) {
+            if (method.getParameterCount() != 1) continue; // api listener methods always take one parameter
+            Subscribe subscribe = method.getAnnotation(Subscribe.class);
+            if (subscribe == null) continue;
+
+            // make sure method is accessible
+            if (!method.isAccessible()) method.setAccessible(true);
+
+            MethodHandle invoker;
+            try {
+                invoker = MethodHandles.lookup().unreflect(method);
+                if (Modifier.isStatic(method.getModifiers())) invoker = MethodHandles.dropArguments(invoker, 0, Object.class);
+                invoker = invoker.asType(INVOKER_TYPE);
+            } catch (IllegalAccessException e) {
+                // this should never happen
+                DiscordSRV.error(
+                        LangUtil.InternalMessage.API_LISTENER_METHOD_NOT_ACCESSIBLE.toString()
+                                .replace("{listenername}", listener.getClass().getName())
+                                .replace("{methodname}", method.toString()),
+                        e
+                );
+                continue;
+            }
+
+            handlers.add(new Handler(listener, method, method.getParameterTypes()[0], subscribe.priority(), subscribe.async(), invoker));
+        }
+        return handlers;
+    }
+
+    /**
+     * An immutable set of registered listeners along with the dispatch tables built from them
+     */
+    private static final class Registry {
+
+        private final List<Object> listeners;
+        private final List<Handler> handlers;
+        private final ConcurrentMap<Class<?>, Table> tables = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, LatencyHistogram> eventStatistics;
+
+        private Registry(List<Object> listeners, List<Handler> handlers, ConcurrentMap<Class<?>, LatencyHistogram> eventStatistics) {
+            this.listeners = listeners;
+            this.handlers = handlers;
+            this.eventStatistics = eventStatistics;
+        }
+
+        private Table tableFor(Class<?> eventClass) {
+            Table table = tables.get(eventClass);
+            if (table == null) {
+                table = build(eventClass);
+                Table existing = tables.putIfAbsent(eventClass, table);
+                if (existing != null) table = existing;
+            }
+            return table;
+        }
+
+        private Table build(Class<?> eventClass) {
+            List<Handler> matching = new ArrayList<>();
+            for (Handler handler : handlers) {
+                if (handler.eventType.isAssignableFrom(eventClass)) matching.add(handler);
+            }
+            // stable sort, handlers of the same priority stay in subscription order
+            matching.sort(Comparator.comparingInt(handler -> handler.priority.getSlot()));
+            // @ObservationOnly is inherited, so a cancellable subclass of a marked event has to stay synchronous,
+            // API events are cancellable through either the DiscordSRV or the Bukkit interface
+            boolean observationOnly = eventClass.isAnnotationPresent(ObservationOnly.class)
+                    && !Cancellable.class.isAssignableFrom(eventClass)
+                    && !org.bukkit.event.Cancellable.class.isAssignableFrom(eventClass);
+            LatencyHistogram statistics = eventStatistics.computeIfAbsent(eventClass, c -> new LatencyHistogram());
+            return new Table(matching.toArray(new Handler[0]), observationOnly, statistics);
+        }
+
+    }
+
+    /**
+     * The handlers of a single event class, sorted by priority
+     */
+    private static final class Table {
+
+        private final Handler[] handlers;
+        private final boolean observationOnly;
+        private final LatencyHistogram statistics;
+
+        private Table(Handler[] handlers, boolean observationOnly, LatencyHistogram statistics) {
+            this.handlers = handlers;
+            this.observationOnly = observationOnly;
+            this.statistics = statistics;
+        }
+
+    }
+
+    /**
+     * A single {@link Subscribe} method of a registered listener
+     */
+    static final class Handler {
+
+        final Object listener;
+        final Method method;
+        final Class<?> eventType;
+        final ListenerPriority priority;
+        final boolean async;
+        final LatencyHistogram statistics = new LatencyHistogram();
+        final AtomicLong slowInvocations = new AtomicLong();
+        private final MethodHandle invoker;
+        private volatile long lastSlowWarning;
+
+        private Handler(Object listener, Method method, Class<?> eventType, ListenerPriority priority, boolean async, MethodHandle invoker) {
+            this.listener = listener;
+            this.method = method;
+            this.eventType = eventType;
+            this.priority = priority;
+            this.async = async;
+            this.invoker = invoker;
+        }
+
+        void invoke(Event event, long slowThresholdNanos) {
+            long start = System.nanoTime();
+            try {
+                invoker.invokeExact(listener, (Object) event);
+            } catch (Throwable t) {
+                DiscordSRV.error(
+                        LangUtil.InternalMessage.API_LISTENER_THREW_ERROR.toString()
+                                .replace("{listenername}", listener.getClass().getName()),
+                        t);
+            }
+
+            long took = System.nanoTime() - start;
+            statistics.record(took);
+            if (took >= slowThresholdNanos) {
+                slowInvocations.incrementAndGet();
+                long now = System.nanoTime();
+                if (lastSlowWarning == 0 || now - lastSlowWarning >= SLOW_HANDLER_WARNING_INTERVAL_NANOS) {
+                    lastSlowWarning = now;
+                    DiscordSRV.warning(LangUtil.InternalMessage.API_LISTENER_SLOW.toString()
+                            .replace("{listenername}", toString())
+                            .replace("{time}", LatencyHistogram.format(took))
+                            .replace("{eventname}", event.getClass().getSimpleName())
+                            .replace("{slowcount}", String.valueOf(slowInvocations.get()))
+                    );
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return listener.getClass().getName() + "#" + method.getName() + "(" + eventType.getSimpleName() + ") [" + priority + (async ? ", async" : "") + "]";
+        }
+
+    }
+
+}
@@ -42,4 +42,12 @@ public @interface Subscribe {
      */
     ListenerPriority priority() default ListenerPriority.NORMAL;
 
+    /**
+     * <p>Whether or not events marked {@link ObservationOnly} should be delivered to this method asynchronously.</p>
+     * <p>Asynchronous deliveries to the same listener happen one at a time in the order the events were called,
+     * but may be dropped if the listener falls too far behind. All other events are always delivered synchronously.</p>
+     * @return whether or not observation-only events should be delivered asynchronously
+     */
+    boolean async() default false;
+
 }
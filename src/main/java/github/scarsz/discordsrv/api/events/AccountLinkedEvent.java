@@ -22,6 +22,7 @@
 
 package github.scarsz.discordsrv.api.events;
 
+import github.scarsz.discordsrv.api.ObservationOnly;
 import github.scarsz.discordsrv.objects.managers.AccountLinkManager;
 import lombok.Getter;
 import net.dv8tion.jda.api.entities.User;
@@ -33,6 +34,7 @@ import java.util.UUID;
 /**
  * <p>Called directly after an account pair is linked via DiscordSRV's {@link AccountLinkManager}</p>
  */
+@ObservationOnly
 public class AccountLinkedEvent extends Event {
 
     @Getter private final OfflinePlayer player;
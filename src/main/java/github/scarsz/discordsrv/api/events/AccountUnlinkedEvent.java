@@ -22,6 +22,7 @@
 
 package github.scarsz.discordsrv.api.events;
 
+import github.scarsz.discordsrv.api.ObservationOnly;
 import github.scarsz.discordsrv.objects.managers.AccountLinkManager;
 import github.scarsz.discordsrv.util.DiscordUtil;
 import lombok.Getter;
@@ -34,6 +35,7 @@ import java.util.UUID;
 /**
  * <p>Called directly after an account pair is unlinked via DiscordSRV's {@link AccountLinkManager}</p>
  */
+@ObservationOnly
 public class AccountUnlinkedEvent extends Event {
 
     @Getter private final OfflinePlayer player;
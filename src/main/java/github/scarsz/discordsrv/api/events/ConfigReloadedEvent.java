@@ -22,12 +22,14 @@
 
 package github.scarsz.discordsrv.api.events;
 
+import github.scarsz.discordsrv.api.ObservationOnly;
 import lombok.Getter;
 import org.bukkit.command.CommandSender;
 
 /**
  * <p>Called directly after the configuration was reloaded and the requester was informed.</p>
  */
+@ObservationOnly
 public class ConfigReloadedEvent extends Event {
 
     @Getter private final CommandSender requester;
@@ -22,11 +22,13 @@
 
 package github.scarsz.discordsrv.api.events;
 
+import github.scarsz.discordsrv.api.ObservationOnly;
 import lombok.Getter;
 
 /**
  * <p>Called directly after a debug report was submitted to GitHub Gists and the requester was informed.</p>
  */
+@ObservationOnly
 public class DebugReportedEvent extends Event {
 
     @Getter private final String requester;
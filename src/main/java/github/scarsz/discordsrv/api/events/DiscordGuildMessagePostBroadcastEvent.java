@@ -22,6 +22,7 @@
 
 package github.scarsz.discordsrv.api.events;
 
+import github.scarsz.discordsrv.api.ObservationOnly;
 import lombok.Getter;
 
 /**
@@ -30,6 +31,7 @@ import lombok.Getter;
  * <p>At the time this event is called, {@link #getProcessedMessage()} would return what the final message
  * would look like in-game, including text like the author before the actual message</p>
  */
+@ObservationOnly
 public class DiscordGuildMessagePostBroadcastEvent extends Event {
 
     @Getter private final String channel;
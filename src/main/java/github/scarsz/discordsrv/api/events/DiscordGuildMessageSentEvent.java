@@ -22,6 +22,7 @@
 
 package github.scarsz.discordsrv.api.events;
 
+import github.scarsz.discordsrv.api.ObservationOnly;
 import lombok.Getter;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
@@ -32,6 +33,7 @@ import net.dv8tion.jda.api.entities.TextChannel;
  * <p>Called directly after a message is sent to a {@link TextChannel} by the bot</p>
  * <b>Please not that this only includes message sent from {@link github.scarsz.discordsrv.util.DiscordUtil}, messages from API hooks may not trigger this</b>
  */
+@ObservationOnly
 public class DiscordGuildMessageSentEvent extends DiscordEvent {
 
     @Getter private final TextChannel channel;
@@ -22,6 +22,7 @@
 
 package github.scarsz.discordsrv.api.events;
 
+import github.scarsz.discordsrv.api.ObservationOnly;
 import lombok.Getter;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.PrivateChannel;
@@ -31,6 +32,7 @@ import net.dv8tion.jda.api.events.message.priv.PrivateMessageReceivedEvent;
 /**
  * <p>Called directly after receiving a message through Discord from a {@link PrivateChannel}</p>
  */
+@ObservationOnly
 public class DiscordPrivateMessageReceivedEvent extends DiscordEvent<PrivateMessageReceivedEvent> {
 
     @Getter private final User author;
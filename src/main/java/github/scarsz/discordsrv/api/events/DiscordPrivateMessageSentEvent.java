@@ -22,6 +22,7 @@
 
 package github.scarsz.discordsrv.api.events;
 
+import github.scarsz.discordsrv.api.ObservationOnly;
 import lombok.Getter;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Message;
@@ -31,6 +32,7 @@ import net.dv8tion.jda.api.entities.User;
 /**
  * <p>Called directly after a message is sent to a {@link PrivateChannel} by the bot</p>
  */
+@ObservationOnly
 public class DiscordPrivateMessageSentEvent extends DiscordEvent {
 
     @Getter private final PrivateChannel channel;
@@ -0,0 +1,56 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.api.pipeline;
+
+import github.scarsz.discordsrv.objects.ConfigSnapshot;
+import lombok.Getter;
+import lombok.Setter;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+
+import java.util.List;
+
+/**
+ * <p>A Discord chat message on it's way to Minecraft, passed through the stages of
+ * {@link github.scarsz.discordsrv.DiscordSRV#getDiscordChatPipeline()}.</p>
+ * <p>{@link #getMessage()} is what the member said, {@link #getFormattedMessage()} is the formatted message
+ * that will be broadcast once the "format" stage has run.</p>
+ */
+public class DiscordChatMessage {
+
+    @Getter private final GuildMessageReceivedEvent event;
+    @Getter private final ConfigSnapshot config;
+
+    @Getter @Setter private String gameChannel;
+    @Getter @Setter private String message;
+    @Getter @Setter private String formattedMessage;
+    @Getter @Setter private List<Role> selectedRoles; // unmodifiable, set a new list to change it
+
+    public DiscordChatMessage(GuildMessageReceivedEvent event, String gameChannel, String message, ConfigSnapshot config) {
+        this.event = event;
+        this.gameChannel = gameChannel;
+        this.message = message;
+        this.config = config;
+    }
+
+}
@@ -0,0 +1,56 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.api.pipeline;
+
+import github.scarsz.discordsrv.objects.ConfigSnapshot;
+import github.scarsz.discordsrv.objects.PlayerChatContext;
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.entity.Player;
+
+/**
+ * <p>A Minecraft chat message on it's way to Discord, passed through the stages of
+ * {@link github.scarsz.discordsrv.DiscordSRV#getGameChatPipeline()}.</p>
+ * <p>{@link #getMessage()} is what the player said, {@link #getDiscordMessage()} is the formatted message
+ * that will be sent once the "format" stage has run.</p>
+ */
+public class GameChatMessage {
+
+    @Getter private final Player player;
+    @Getter private final boolean cancelled;
+    @Getter private final ConfigSnapshot config;
+
+    @Getter @Setter private String channel;
+    @Getter @Setter private String message;
+    @Getter @Setter private String discordMessage;
+    @Getter @Setter private PlayerChatContext context;
+
+    public GameChatMessage(Player player, String message, String channel, boolean cancelled, ConfigSnapshot config) {
+        this.player = player;
+        this.message = message;
+        this.channel = channel;
+        this.cancelled = cancelled;
+        this.config = config;
+    }
+
+}
@@ -0,0 +1,265 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.api.pipeline;
+
+import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.objects.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * <p>An ordered chain of named {@link PipelineStage}s a chat message passes through on it's way
+ * between Minecraft and Discord.</p>
+ * <p>Stages can be added with a condition that is checked when the chain is built; stages whose condition
+ * doesn't hold, like ones for features that are turned off, are left out of the chain entirely until the
+ * next {@link #rebuild()}. Adding or removing stages publishes a new chain, messages already being processed
+ * keep using the chain they started with.</p>
+ * <p>Every stage counts how many messages it processed and stopped and keeps a {@link LatencyHistogram}
+ * of how long it took, see {@link #getStatistics()}.</p>
+ *
+ * @param <M> the type of message this pipeline processes
+ */
+public class MessagePipeline<M> {
+
+    private final String name;
+    private final List<Stage<M>> stages = new ArrayList<>(); // guarded by this
+    private volatile Stage<M>[] chain = newArray(0);
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+
+    public MessagePipeline(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Add a stage to the end of this pipeline
+     * @param name the unique name of the stage
+     * @param stage the stage
+     * @throws IllegalArgumentException if a stage with the given name already exists
+     */
+    public void addStage(String name, PipelineStage<M> stage) {
+        addStage(name, stage, null);
+    }
+
+    /**
+     * Add a stage to the end of this pipeline that's only part of the chain while the given condition holds
+     * @param name the unique name of the stage
+     * @param stage the stage
+     * @param enabled checked whenever the chain is built, null to always include the stage
+     * @throws IllegalArgumentException if a stage with the given name already exists
+     */
+    public synchronized void addStage(String name, PipelineStage<M> stage, BooleanSupplier enabled) {
+        insert(stages.size(), name, stage, enabled);
+    }
+
+    /**
+     * Add a stage directly before the stage with the given name
+     * @param before the name of the existing stage
+     * @param name the unique name of the new stage
+     * @param stage the stage
+     * @throws IllegalArgumentException if there is no stage named before or a stage with the given name already exists
+     */
+    public synchronized void addStageBefore(String before, String name, PipelineStage<M> stage) {
+        insert(indexOf(before), name, stage, null);
+    }
+
+    /**
+     * Add a stage directly after the stage with the given name
+     * @param after the name of the existing stage
+     * @param name the unique name of the new stage
+     * @param stage the stage
+     * @throws IllegalArgumentException if there is no stage named after or a stage with the given name already exists
+     */
+    public synchronized void addStageAfter(String after, String name, PipelineStage<M> stage) {
+        insert(indexOf(after) + 1, name, stage, null);
+    }
+
+    /**
+     * Remove the stage with the given name, built-in stages included
+     * @param name the name of the stage
+     * @return whether there was a stage with the given name
+     */
+    public synchronized boolean removeStage(String name) {
+        boolean removed = stages.removeIf(stage -> stage.name.equals(name));
+        if (removed) rebuild();
+        return removed;
+    }
+
+    /**
+     * @return the names of all stages in order, including the ones currently left out of the chain
+     */
+    public synchronized List<String> getStageNames() {
+        List<String> names = new ArrayList<>(stages.size());
+        stages.forEach(stage -> names.add(stage.name));
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Check the conditions of all stages again and publish a new chain of the stages that are enabled
+     */
+    public synchronized void rebuild() {
+        List<Stage<M>> enabled = new ArrayList<>(stages.size());
+        for (Stage<M> stage : stages) {
+            boolean include;
+            try {
+                include = stage.enabled == null || stage.enabled.getAsBoolean();
+            } catch (Throwable t) {
+                DiscordSRV.error("Failed to check whether pipeline stage " + stage.name + " of " + name + " is enabled", t);
+                include = true;
+            }
+            if (include) enabled.add(stage);
+        }
+        chain = enabled.toArray(newArray(enabled.size()));
+    }
+
+    /**
+     * Pass the given message through all enabled stages in order, until one of them stops it
+     * @param message the message to process
+     * @return whether the message made it through all stages
+     */
+    public boolean process(M message) {
+        processed.incrementAndGet();
+        for (Stage<M> stage : chain) {
+            if (!stage.process(message)) return false;
+        }
+        completed.incrementAndGet();
+        return true;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return how many messages were passed to this pipeline
+     */
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    /**
+     * @return how many messages made it through all stages of this pipeline
+     */
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * @return a human readable report of the stages in this pipeline and how much time they took
+     */
+    public synchronized String getStatistics() {
+        List<Stage<M>> enabled = new ArrayList<>();
+        Collections.addAll(enabled, chain);
+
+        StringJoiner joiner = new StringJoiner("\n");
+        joiner.add(name + ": processed " + processed.get() + ", completed " + completed.get());
+        for (Stage<M> stage : stages) {
+            joiner.add("  " + stage.name + (enabled.contains(stage) ? "" : " (disabled)")
+                    + " -> processed: " + stage.processed.get() + ", stopped: " + stage.stopped.get()
+                    + ", failed: " + stage.failed.get() + ", " + stage.latency);
+        }
+        return joiner.toString();
+    }
+
+    public synchronized void resetStatistics() {
+        processed.set(0);
+        completed.set(0);
+        stages.forEach(Stage::resetStatistics);
+    }
+
+    @Override
+    public String toString() {
+        return name + "{stages=" + getStageNames() + "}";
+    }
+
+    private void insert(int index, String name, PipelineStage<M> stage, BooleanSupplier enabled) {
+        if (stages.stream().anyMatch(existing -> existing.name.equals(name))) {
+            throw new IllegalArgumentException(this.name + " already has a stage named " + name);
+        }
+        stages.add(index, new Stage<>(this.name, name, stage, enabled));
+        rebuild();
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < stages.size(); i++) {
+            if (stages.get(i).name.equals(name)) return i;
+        }
+        throw new IllegalArgumentException(this.name + " has no stage named " + name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <M> Stage<M>[] newArray(int size) {
+        return (Stage<M>[]) new Stage[size];
+    }
+
+    private static final class Stage<M> {
+
+        private final String pipeline;
+        private final String name;
+        private final PipelineStage<M> stage;
+        private final BooleanSupplier enabled;
+
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong stopped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private Stage(String pipeline, String name, PipelineStage<M> stage, BooleanSupplier enabled) {
+            this.pipeline = pipeline;
+            this.name = name;
+            this.stage = stage;
+            this.enabled = enabled;
+        }
+
+        private boolean process(M message) {
+            processed.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                if (stage.process(message)) return true;
+                stopped.incrementAndGet();
+                return false;
+            } catch (Throwable t) {
+                failed.incrementAndGet();
+                DiscordSRV.error("Pipeline stage " + name + " of " + pipeline + " threw an error, message dropped", t);
+                return false;
+            } finally {
+                latency.record(System.nanoTime() - start);
+            }
+        }
+
+        private void resetStatistics() {
+            processed.set(0);
+            stopped.set(0);
+            failed.set(0);
+            latency.reset();
+        }
+
+    }
+
+}
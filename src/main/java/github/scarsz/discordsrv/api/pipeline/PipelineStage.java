@@ -0,0 +1,40 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.api.pipeline;
+
+/**
+ * A single step of a {@link MessagePipeline}
+ *
+ * @param <M> the type of message the pipeline processes
+ */
+@FunctionalInterface
+public interface PipelineStage<M> {
+
+    /**
+     * Process the given message, modifying it as needed
+     * @param message the message passing through the pipeline
+     * @return true to pass the message on to the next stage, false to stop processing it
+     */
+    boolean process(M message);
+
+}
@@ -111,6 +111,8 @@ public class CommandLanguage {
                 }
             }
 
+            DiscordSRV.getPlugin().reloadConfig();
+
             sender.sendMessage(ChatColor.DARK_AQUA + "DiscordSRV language successfully changed to " + targetLanguageName + ".");
         }
     }
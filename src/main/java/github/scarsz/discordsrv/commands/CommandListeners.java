@@ -0,0 +1,58 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.commands;
+
+import github.scarsz.discordsrv.DiscordSRV;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+public class CommandListeners {
+
+    @Command(commandNames = { "listeners" },
+            helpMessage = "Shows how many times and how long DiscordSRV API listeners took, \"reset\" clears the statistics and \"threshold <ms>\" sets when a listener is logged as slow",
+            permission = "discordsrv.debug"
+    )
+    public static void execute(CommandSender sender, String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase("reset")) {
+            DiscordSRV.api.resetListenerStatistics();
+            sender.sendMessage(ChatColor.DARK_AQUA + "API listener statistics have been reset");
+            return;
+        }
+
+        if (args.length > 0 && args[0].equalsIgnoreCase("threshold")) {
+            if (args.length < 2 || !NumberUtils.isDigits(args[1])) {
+                sender.sendMessage(ChatColor.DARK_AQUA + "Slow listener threshold is " + ChatColor.AQUA + DiscordSRV.api.getSlowListenerThreshold() + "ms");
+                return;
+            }
+            DiscordSRV.api.setSlowListenerThreshold(Long.parseLong(args[1]));
+            sender.sendMessage(ChatColor.DARK_AQUA + "Slow listener threshold set to " + ChatColor.AQUA + DiscordSRV.api.getSlowListenerThreshold() + "ms");
+            return;
+        }
+
+        for (String line : DiscordSRV.api.getListenerStatistics().split("\n")) {
+            sender.sendMessage(line.startsWith(" ") ? ChatColor.AQUA + line : ChatColor.DARK_AQUA + line);
+        }
+    }
+
+}
@@ -40,8 +40,12 @@ public class CommandReload {
         DiscordSRV.getPlugin().reloadConfig();
         DiscordSRV.getPlugin().reloadCancellationDetector();
         DiscordSRV.getPlugin().reloadChannels();
+        DiscordSRV.getPlugin().reloadCannedResponses();
         DiscordSRV.getPlugin().reloadRegexes();
+        DiscordSRV.getPlugin().reloadChatRelay();
+        DiscordSRV.getPlugin().getPlayerChatContextManager().invalidateAll();
         DiscordSRV.getPlugin().reloadColors();
+        DiscordSRV.getPlugin().getMemberRolesManager().invalidateAll();
         if (DiscordSRV.getPlugin().getAlertListener() != null) DiscordSRV.getPlugin().getAlertListener().reloadAlerts();
 
         // Check if update checks became enabled
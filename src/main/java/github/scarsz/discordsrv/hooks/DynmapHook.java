@@ -38,8 +38,8 @@ public class DynmapHook implements PluginHook {
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onDynmapWebChat(DynmapWebChatEvent event) {
         String format = LangUtil.Message.DYNMAP_DISCORD_FORMAT.toString()
-                .replace("%message%", DiscordUtil.strip(DiscordUtil.escapeMarkdown(event.getMessage())))
-                .replace("%name%", DiscordUtil.strip(DiscordUtil.escapeMarkdown(event.getName())));
+                .replace("%message%", DiscordUtil.stripAndEscapeMarkdown(event.getMessage()))
+                .replace("%name%", DiscordUtil.stripAndEscapeMarkdown(event.getName()));
 
         if (!DiscordSRV.config().getBoolean("DiscordChatChannelTranslateMentions")) {
             format = format.replace("@", "@\u200B"); // zero-width space
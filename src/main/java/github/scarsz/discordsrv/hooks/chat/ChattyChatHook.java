@@ -22,11 +22,9 @@
 
 package github.scarsz.discordsrv.hooks.chat;
 
-import dev.vankka.mcdiscordreserializer.minecraft.MinecraftSerializer;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.util.LangUtil;
 import github.scarsz.discordsrv.util.PluginUtil;
-import net.kyori.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.ChatColor;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -64,7 +62,8 @@ public class ChattyChatHook implements ChatHook {
                 .replace("%message%", message);
 
         if (DiscordSRV.config().getBoolean("Experiment_MCDiscordReserializer_ToMinecraft")) {
-            chat.sendMessage(LegacyComponentSerializer.INSTANCE.serialize(MinecraftSerializer.INSTANCE.serialize(plainMessage)));
+            // the message was already converted from Discord markdown when it was received, don't parse it again
+            chat.sendMessage(plainMessage);
         } else {
             chat.sendMessage(ChatColor.translateAlternateColorCodes('&', plainMessage));
         }
@@ -25,13 +25,13 @@ package github.scarsz.discordsrv.hooks.chat;
 import com.palmergames.bukkit.TownyChat.Chat;
 import com.palmergames.bukkit.TownyChat.channels.Channel;
 import com.palmergames.bukkit.TownyChat.events.AsyncChatHookEvent;
-import dev.vankka.mcdiscordreserializer.minecraft.MinecraftSerializer;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.util.LangUtil;
 import github.scarsz.discordsrv.util.PlayerUtil;
 import github.scarsz.discordsrv.util.PluginUtil;
 import net.kyori.text.Component;
 import net.kyori.text.adapter.bukkit.TextAdapter;
+import net.kyori.text.serializer.legacy.LegacyComponentSerializer;
 import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -108,14 +108,15 @@ public class TownyChatHook implements ChatHook {
 
         Consumer<Player> playerConsumer;
         if (DiscordSRV.config().getBoolean("Experiment_MCDiscordReserializer_ToMinecraft")) {
-            Component component = MinecraftSerializer.INSTANCE.serialize(plainMessage);
+            // the message was already converted from Discord markdown when it was received, don't parse it again
+            Component component = LegacyComponentSerializer.INSTANCE.deserialize(plainMessage);
             playerConsumer = player -> TextAdapter.sendComponent(player, component);
         } else {
             String translatedMessage = ChatColor.translateAlternateColorCodes('&', plainMessage);
             playerConsumer = player -> player.sendMessage(translatedMessage);
         }
 
-        for (Player player : PlayerUtil.getOnlinePlayers()) {
+        for (Player player : PlayerUtil.getOnlinePlayersSnapshot(false)) {
             if (destinationChannel.isPresent(player.getName())) {
                 playerConsumer.accept(player);
             }
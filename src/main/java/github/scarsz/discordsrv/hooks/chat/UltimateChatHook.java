@@ -25,12 +25,10 @@ package github.scarsz.discordsrv.hooks.chat;
 import br.net.fabiozumbi12.UltimateChat.Bukkit.API.SendChannelMessageEvent;
 import br.net.fabiozumbi12.UltimateChat.Bukkit.UCChannel;
 import br.net.fabiozumbi12.UltimateChat.Bukkit.UChat;
-import dev.vankka.mcdiscordreserializer.minecraft.MinecraftSerializer;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.util.LangUtil;
 import github.scarsz.discordsrv.util.PlayerUtil;
 import github.scarsz.discordsrv.util.PluginUtil;
-import net.kyori.text.serializer.legacy.LegacyComponentSerializer;
 import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -114,8 +112,9 @@ public class UltimateChatHook implements ChatHook {
                 .replace("%channelnickname%", chatChannel.getAlias())
                 .replace("%message%", message);
 
+        // with the reserializer the message was already converted from Discord markdown when it was received
         String text = DiscordSRV.config().getBoolean("Experiment_MCDiscordReserializer_ToMinecraft")
-                ? LegacyComponentSerializer.INSTANCE.serialize(MinecraftSerializer.INSTANCE.serialize(plainMessage))
+                ? plainMessage
                 : ChatColor.translateAlternateColorCodes('&', plainMessage);
 
         Object ultimateFancy;
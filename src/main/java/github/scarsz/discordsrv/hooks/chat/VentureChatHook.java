@@ -24,7 +24,6 @@ package github.scarsz.discordsrv.hooks.chat;
 
 import com.comphenix.protocol.events.PacketContainer;
 import dev.vankka.mcdiscordreserializer.discord.DiscordSerializer;
-import dev.vankka.mcdiscordreserializer.minecraft.MinecraftSerializer;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.util.*;
 import mineverse.Aust1n46.chat.MineverseChat;
@@ -108,8 +107,7 @@ public class VentureChatHook implements ChatHook {
 
         boolean reserializer = DiscordSRV.config().getBoolean("Experiment_MCDiscordReserializer_ToDiscord");
 
-        String username = DiscordUtil.strip(event.getUsername());
-        if (!reserializer) username = DiscordUtil.escapeMarkdown(username);
+        String username = reserializer ? DiscordUtil.strip(event.getUsername()) : DiscordUtil.stripAndEscapeMarkdown(event.getUsername());
 
         String channel = chatChannel.getName();
 
@@ -144,9 +142,9 @@ public class VentureChatHook implements ChatHook {
 
         if (!DiscordSRV.config().getBoolean("Experiment_WebhookChatMessageDelivery")) {
             if (channel == null) {
-                DiscordUtil.sendMessage(DiscordSRV.getPlugin().getOptionalTextChannel("global"), discordMessage);
+                DiscordSRV.getPlugin().getChatMessageCoalescer().submit(DiscordSRV.getPlugin().getOptionalTextChannel("global"), discordMessage);
             } else {
-                DiscordUtil.sendMessage(DiscordSRV.getPlugin().getDestinationTextChannelForGameChannelName(channel), discordMessage);
+                DiscordSRV.getPlugin().getChatMessageCoalescer().submit(DiscordSRV.getPlugin().getDestinationTextChannelForGameChannelName(channel), discordMessage);
             }
         } else {
             if (channel == null) channel = DiscordSRV.getPlugin().getOptionalChannel("global");
@@ -195,10 +193,6 @@ public class VentureChatHook implements ChatHook {
 
         if (DiscordSRV.config().getBoolean("VentureChatBungee") && chatChannel.getBungee()) {
             if (chatChannel.isFiltered()) message = Format.FilterChat(message);
-
-            if (DiscordSRV.config().getBoolean("Experiment_MCDiscordReserializer_ToMinecraft")) {
-                message = LegacyComponentSerializer.INSTANCE.serialize(MinecraftSerializer.INSTANCE.serialize(message));
-            }
             MineverseChat.sendDiscordSRVPluginMessage(chatChannel.getName(), message);
         } else {
             List<MineverseChatPlayer> playersToNotify = MineverseChat.onlinePlayers.stream()
@@ -209,7 +203,8 @@ public class VentureChatHook implements ChatHook {
                 String playerMessage = (player.hasFilter() && chatChannel.isFiltered()) ? Format.FilterChat(message) : message;
 
                 if (DiscordSRV.config().getBoolean("Experiment_MCDiscordReserializer_ToMinecraft")) {
-                    Component component = MinecraftSerializer.INSTANCE.serialize(playerMessage);
+                    // the message was already converted from Discord markdown when it was received, don't parse it again
+                    Component component = LegacyComponentSerializer.INSTANCE.deserialize(playerMessage);
                     TextAdapter.sendComponent(player.getPlayer(), component);
                 } else {
                     // escape quotes, https://github.com/DiscordSRV/DiscordSRV/issues/754
@@ -59,6 +59,10 @@ public class LuckPermsHook implements PluginHook, net.luckperms.api.context.Cont
             return;
         }
 
+        // chat contexts include the player's primary group
+        subscriptions.add(luckPerms.getEventBus().subscribe(net.luckperms.api.event.user.UserDataRecalculateEvent.class,
+                event -> DiscordSRV.getPlugin().getPlayerChatContextManager().invalidate(event.getUser().getUniqueId())));
+
         // update events
         if (!DiscordSRV.config().getStringList("DisabledPluginHooks").contains("LuckPerms-GroupUpdates")) {
             DiscordSRV.debug("Enabling LuckPerms' instant group updates");
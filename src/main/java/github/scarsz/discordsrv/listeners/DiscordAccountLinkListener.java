@@ -42,7 +42,7 @@ public class DiscordAccountLinkListener extends ListenerAdapter {
         // don't process messages sent by the bot
         if (event.getAuthor().getId().equals(event.getJDA().getSelfUser().getId())) return;
 
-        DiscordSRV.api.callEvent(new DiscordPrivateMessageReceivedEvent(event));
+        if (DiscordSRV.api.hasSubscribers(DiscordPrivateMessageReceivedEvent.class)) DiscordSRV.api.callEvent(new DiscordPrivateMessageReceivedEvent(event));
 
         String reply = DiscordSRV.getPlugin().getAccountLinkManager().process(event.getMessage().getContentRaw(), event.getAuthor().getId());
         if (reply != null) event.getChannel().sendMessage(reply).queue();
@@ -22,16 +22,21 @@
 
 package github.scarsz.discordsrv.listeners;
 
-import com.vdurmont.emoji.EmojiParser;
 import dev.vankka.mcdiscordreserializer.minecraft.MinecraftSerializer;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.api.events.DiscordGuildMessagePostProcessEvent;
 import github.scarsz.discordsrv.api.events.DiscordGuildMessagePreProcessEvent;
 import github.scarsz.discordsrv.api.events.DiscordGuildMessageReceivedEvent;
+import github.scarsz.discordsrv.api.pipeline.DiscordChatMessage;
+import github.scarsz.discordsrv.api.pipeline.MessagePipeline;
 import github.scarsz.discordsrv.hooks.DynmapHook;
 import github.scarsz.discordsrv.hooks.VaultHook;
 import github.scarsz.discordsrv.hooks.world.MultiverseCoreHook;
+import github.scarsz.discordsrv.objects.ConfigSnapshot;
+import github.scarsz.discordsrv.objects.MemberRoles;
+import github.scarsz.discordsrv.objects.RegexFilterChain;
 import github.scarsz.discordsrv.objects.SingleCommandSender;
+import github.scarsz.discordsrv.objects.threads.OrderedTaskExecutor;
 import github.scarsz.discordsrv.util.*;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.Role;
@@ -49,48 +54,89 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.regex.Pattern;
 
 public class DiscordChatListener extends ListenerAdapter {
 
+    public DiscordChatListener() {
+        registerStages(DiscordSRV.getPlugin().getDiscordChatPipeline());
+    }
+
     @Override
     public void onGuildMessageReceived(GuildMessageReceivedEvent event) {
         // if message is from null author or self do not process
         if (event.getMember() == null || DiscordUtil.getJda() == null || event.getAuthor().equals(DiscordUtil.getJda().getSelfUser()))
             return;
 
-        // canned responses
-        for (Map.Entry<String, String> entry : DiscordSRV.getPlugin().getCannedResponses().entrySet()) {
-            if (event.getMessage().getContentRaw().toLowerCase().startsWith(entry.getKey().toLowerCase())) {
-                String discordMessage = entry.getValue();
-                discordMessage = PlaceholderUtil.replacePlaceholdersToDiscord(discordMessage);
+        OrderedTaskExecutor executor = DiscordSRV.getPlugin().getDiscordChatExecutor();
+        if (executor == null) {
+            // not connected yet
+            process(event);
+            return;
+        }
 
-                DiscordUtil.sendMessage(event.getChannel(), DiscordUtil.strip(discordMessage));
-                return; // found a canned response, return so the message doesn't get processed further
+        // everything else happens off JDA's event thread, in order per channel. console commands are never dropped
+        String key = event.getChannel().getId();
+        boolean command = isConsoleCommand(event);
+        if (!submit(executor, key, event, command)) {
+            // the executor was replaced by a config reload in the meantime
+            OrderedTaskExecutor current = DiscordSRV.getPlugin().getDiscordChatExecutor();
+            if (current != executor && submit(current, key, event, command)) return;
+
+            if (command) {
+                DiscordSRV.warning("Console command from " + event.getAuthor() + " in " + event.getChannel() + " was not run because the plugin is shutting down");
+            } else {
+                DiscordSRV.debug("Discord message from " + event.getAuthor() + " was not processed because the queue for " + event.getChannel() + " is full");
             }
         }
+    }
 
-        DiscordSRV.api.callEvent(new DiscordGuildMessageReceivedEvent(event));
+    private boolean submit(OrderedTaskExecutor executor, String key, GuildMessageReceivedEvent event, boolean required) {
+        return required
+                ? executor.submitRequired(key, () -> process(event))
+                : executor.submit(key, () -> process(event));
+    }
+
+    private boolean isConsoleCommand(GuildMessageReceivedEvent event) {
+        ConfigSnapshot config = DiscordSRV.configSnapshot();
+        return config.isConsoleCommandEnabled() && StringUtils.startsWithIgnoreCase(event.getMessage().getContentRaw(), config.getConsoleCommandPrefix());
+    }
+
+    private void process(GuildMessageReceivedEvent event) {
+        // canned responses
+        String cannedResponse = DiscordSRV.getPlugin().getCannedResponseMatcher().match(event.getMessage().getContentRaw());
+        if (cannedResponse != null) {
+            cannedResponse = PlaceholderUtil.replacePlaceholdersToDiscord(cannedResponse);
+
+            DiscordUtil.sendMessage(event.getChannel(), DiscordUtil.strip(cannedResponse));
+            return; // found a canned response, return so the message doesn't get processed further
+        }
+
+        if (DiscordSRV.api.hasSubscribers(DiscordGuildMessageReceivedEvent.class)) DiscordSRV.api.callEvent(new DiscordGuildMessageReceivedEvent(event));
+
+        ConfigSnapshot config = DiscordSRV.configSnapshot();
 
         // if message from text channel other than a linked one return
         String gameChannel = DiscordSRV.getPlugin().getDestinationGameChannelNameForTextChannel(event.getChannel());
 	if (gameChannel == null) return;
 
         // sanity & intention checks
-        String message = DiscordSRV.config().getBoolean("Experiment_MCDiscordReserializer_ToMinecraft") ? event.getMessage().getContentRaw() : event.getMessage().getContentStripped();
+        String message = config.isReserializerToMinecraft() ? event.getMessage().getContentRaw() : event.getMessage().getContentStripped();
         if (StringUtils.isBlank(message) && event.getMessage().getAttachments().size() == 0) return;
         if (processPlayerListCommand(event, message)) return;
         if (processConsoleCommand(event, event.getMessage().getContentRaw())) return;
 
-        // return if should not send discord chat
-        if (!DiscordSRV.config().getBoolean("DiscordChatChannelDiscordToMinecraft")) return;
+        DiscordSRV.getPlugin().getDiscordChatPipeline().process(new DiscordChatMessage(event, gameChannel, message, config));
+    }
 
-        // enforce required account linking
-        if (DiscordSRV.config().getBoolean("DiscordChatChannelRequireLinkedAccount")) {
+    private void registerStages(MessagePipeline<DiscordChatMessage> pipeline) {
+        pipeline.addStage("enabled", chat -> false, () -> !DiscordSRV.configSnapshot().isDiscordToMinecraft());
+        pipeline.addStage("linked-account", chat -> {
+            // enforce required account linking
+            GuildMessageReceivedEvent event = chat.getEvent();
             if (DiscordSRV.getPlugin().getAccountLinkManager() == null) {
                 event.getAuthor().openPrivateChannel().queue(privateChannel -> privateChannel.sendMessage(LangUtil.Message.FAILED_TO_CHECK_LINKED_ACCOUNT.toString()).queue());
                 DiscordUtil.deleteMessage(event.getMessage());
-                return;
+                return false;
             }
 
             boolean hasLinkedAccount = DiscordSRV.getPlugin().getAccountLinkManager().getUuid(event.getAuthor().getId()) != null;
@@ -99,180 +145,230 @@ public class DiscordChatListener extends ListenerAdapter {
                         .replace("%message%", event.getMessage().getContentRaw())
                 ).queue());
                 DiscordUtil.deleteMessage(event.getMessage());
-                return;
+                return false;
             }
-        }
-
-        // block bots
-        if (DiscordSRV.config().getBoolean("DiscordChatChannelBlockBots") && event.getAuthor().isBot()) {
-            DiscordSRV.debug("Received Discord message from bot " + event.getAuthor() + " but DiscordChatChannelBlockBots is on");
-            return;
-        }
-
-        // blocked ids
-        if (DiscordSRV.config().getStringList("DiscordChatChannelBlockedIds").contains(event.getAuthor().getId())) {
-            DiscordSRV.debug("Received Discord message from user " + event.getAuthor() + " but they are on the DiscordChatChannelBlockedIds list");
-            return;
-        }
-
-        DiscordGuildMessagePreProcessEvent preEvent = DiscordSRV.api.callEvent(new DiscordGuildMessagePreProcessEvent(event));
-        if (preEvent.isCancelled()) {
-            DiscordSRV.debug("DiscordGuildMessagePreProcessEvent was cancelled, message send aborted");
-            return;
-        }
-
-        List<Role> selectedRoles = DiscordSRV.getPlugin().getSelectedRoles(event.getMember());
-
-        // if there are attachments send them all as one message
-        if (!event.getMessage().getAttachments().isEmpty()) {
-            for (Message.Attachment attachment : event.getMessage().getAttachments().subList(0, Math.min(event.getMessage().getAttachments().size(), 3))) {
+            return true;
+        }, () -> DiscordSRV.configSnapshot().isRequireLinkedAccount());
+        pipeline.addStage("block-bots", chat -> {
+            if (!chat.getEvent().getAuthor().isBot()) return true;
+            DiscordSRV.debug("Received Discord message from bot " + chat.getEvent().getAuthor() + " but DiscordChatChannelBlockBots is on");
+            return false;
+        }, () -> DiscordSRV.configSnapshot().isBlockBots());
+        pipeline.addStage("blocked-ids", chat -> {
+            if (!chat.getConfig().getBlockedIds().contains(chat.getEvent().getAuthor().getId())) return true;
+            DiscordSRV.debug("Received Discord message from user " + chat.getEvent().getAuthor() + " but they are on the DiscordChatChannelBlockedIds list");
+            return false;
+        }, () -> !DiscordSRV.configSnapshot().getBlockedIds().isEmpty());
+        pipeline.addStage("pre-process-event", chat -> {
+            if (!DiscordSRV.api.hasSubscribers(DiscordGuildMessagePreProcessEvent.class)) return true;
+            DiscordGuildMessagePreProcessEvent preEvent = DiscordSRV.api.callEvent(new DiscordGuildMessagePreProcessEvent(chat.getEvent()));
+            if (preEvent.isCancelled()) {
+                DiscordSRV.debug("DiscordGuildMessagePreProcessEvent was cancelled, message send aborted");
+                return false;
+            }
+            return true;
+        });
+        pipeline.addStage("roles", chat -> {
+            chat.setSelectedRoles(DiscordSRV.getPlugin().getMemberRolesManager().get(chat.getEvent().getMember()).getSelectedRoles());
+            return true;
+        });
+        pipeline.addStage("attachments", this::broadcastAttachments);
+        // always included, the filters can be changed through getDiscordRegexes() without rebuilding the pipeline
+        pipeline.addStage("filter", chat -> {
+            // apply regex filters
+            RegexFilterChain filters = DiscordSRV.getPlugin().getDiscordFilters();
+            if (filters.isEmpty()) return true;
+            chat.setMessage(filters.apply(chat.getMessage(), filter ->
+                    DiscordSRV.debug("Not processing Discord message because it was cleared by a filter: " + filter.getPattern().pattern())));
+            return chat.getMessage() != null;
+        });
+        pipeline.addStage("truncate", chat -> {
+            int truncateLength = chat.getConfig().getTruncateLength();
+            if (chat.getMessage().length() > truncateLength) {
+                Message message = chat.getEvent().getMessage();
+                message.addReaction("\uD83D\uDCAC").queue(v -> message.addReaction("❗").queue());
+                chat.setMessage(chat.getMessage().substring(0, truncateLength));
+            }
+            return true;
+        });
+        pipeline.addStage("colors", chat -> {
+            // strip colors if role doesn't have permission
+            MemberRoles roles = DiscordSRV.getPlugin().getMemberRolesManager().get(chat.getEvent().getMember());
+            if (!roles.isAllowedToUseColorCodes()) chat.setMessage(DiscordUtil.strip(chat.getMessage()));
+            return true;
+        });
+        pipeline.addStage("format", chat -> {
+            // get the correct format message
+            String formatMessage = !chat.getSelectedRoles().isEmpty()
+                    ? LangUtil.Message.CHAT_TO_MINECRAFT.toString()
+                    : LangUtil.Message.CHAT_TO_MINECRAFT_NO_ROLE.toString();
+
+            String message = chat.getMessage();
+            if (chat.getConfig().isReserializerToMinecraft()) {
+                Component component = MinecraftSerializer.INSTANCE.serialize(message);
+                message = LegacyComponentSerializer.INSTANCE.serialize(component);
+            }
+            chat.setMessage(message != null ? message : "<blank message>");
+            formatMessage = replacePlaceholders(formatMessage, chat.getEvent(), chat.getSelectedRoles(), chat.getMessage());
 
-                // get the correct format message
-                String placedMessage = !selectedRoles.isEmpty()
-                        ? LangUtil.Message.CHAT_TO_MINECRAFT.toString()
-                        : LangUtil.Message.CHAT_TO_MINECRAFT_NO_ROLE.toString();
+            // translate color codes
+            chat.setFormattedMessage(ChatColor.translateAlternateColorCodes('&', formatMessage));
+            return true;
+        });
+        pipeline.addStage("emoji", chat -> {
+            // parse emojis from unicode back to :code:
+            if (chat.getConfig().isParseEmojisToNames()) {
+                chat.setFormattedMessage(EmojiConverter.parseToAliases(chat.getFormattedMessage()));
+            } else {
+                chat.setFormattedMessage(EmojiConverter.removeAllEmojis(chat.getFormattedMessage()));
+            }
+            return true;
+        });
+        pipeline.addStage("mentions", chat -> {
+            chat.setFormattedMessage(DiscordUtil.convertMentionsToNames(chat.getFormattedMessage()));
+            return true;
+        }, () -> DiscordSRV.configSnapshot().isReserializerToMinecraft());
+        pipeline.addStage("post-process-event", chat -> {
+            if (!DiscordSRV.api.hasSubscribers(DiscordGuildMessagePostProcessEvent.class)) return true;
+            DiscordGuildMessagePostProcessEvent postEvent = DiscordSRV.api.callEvent(new DiscordGuildMessagePostProcessEvent(chat.getEvent(), false, chat.getFormattedMessage()));
+            if (postEvent.isCancelled()) {
+                DiscordSRV.debug("DiscordGuildMessagePostProcessEvent was cancelled, message send aborted");
+                return false;
+            }
+            chat.setFormattedMessage(postEvent.getProcessedMessage()); // update message from event in case any listeners modified it
+            return true;
+        });
+        pipeline.addStage("dynmap", chat -> {
+            DiscordSRV.getPlugin().getPluginHooks().stream()
+                    .filter(pluginHook -> pluginHook instanceof DynmapHook)
+                    .map(pluginHook -> (DynmapHook) pluginHook)
+                    .findAny().ifPresent(dynmapHook -> broadcastToDynmap(chat, dynmapHook));
+            return true;
+        });
+        pipeline.addStage("broadcast", chat -> {
+            DiscordSRV.getPlugin().broadcastMessageToMinecraftServer(
+                    chat.getGameChannel(),
+                    chat.getFormattedMessage(),
+                    chat.getEvent().getAuthor()
+            );
+
+            if (chat.getConfig().isBroadcastDiscordMessagesToConsole()) {
+                DiscordSRV.info(chat.getGameChannel() + " " + LangUtil.InternalMessage.CHAT + ": " + DiscordUtil.strip(chat.getFormattedMessage().replace("»", ">")));
+            }
+            return true;
+        });
+    }
 
-                placedMessage = ChatColor.translateAlternateColorCodes('&',
-                        replacePlaceholders(placedMessage, event, selectedRoles, attachment.getUrl())
-                );
-                if (DiscordSRV.config().getBoolean("Experiment_MCDiscordReserializer_ToMinecraft")) placedMessage = DiscordUtil.convertMentionsToNames(placedMessage);
-                DiscordGuildMessagePostProcessEvent postEvent = DiscordSRV.api.callEvent(new DiscordGuildMessagePostProcessEvent(event, preEvent.isCancelled(), placedMessage));
+    /**
+     * Send the first three attachments of the message as separate messages
+     * @return whether there's any text left to process after the attachments
+     */
+    private boolean broadcastAttachments(DiscordChatMessage chat) {
+        GuildMessageReceivedEvent event = chat.getEvent();
+        if (event.getMessage().getAttachments().isEmpty()) return true;
+
+        ConfigSnapshot config = chat.getConfig();
+        List<Role> selectedRoles = chat.getSelectedRoles();
+        for (Message.Attachment attachment : event.getMessage().getAttachments().subList(0, Math.min(event.getMessage().getAttachments().size(), 3))) {
+
+            // get the correct format message
+            String placedMessage = !selectedRoles.isEmpty()
+                    ? LangUtil.Message.CHAT_TO_MINECRAFT.toString()
+                    : LangUtil.Message.CHAT_TO_MINECRAFT_NO_ROLE.toString();
+
+            placedMessage = ChatColor.translateAlternateColorCodes('&',
+                    replacePlaceholders(placedMessage, event, selectedRoles, attachment.getUrl())
+            );
+            if (config.isReserializerToMinecraft()) placedMessage = DiscordUtil.convertMentionsToNames(placedMessage);
+            if (DiscordSRV.api.hasSubscribers(DiscordGuildMessagePostProcessEvent.class)) {
+                DiscordGuildMessagePostProcessEvent postEvent = DiscordSRV.api.callEvent(new DiscordGuildMessagePostProcessEvent(event, false, placedMessage));
                 if (postEvent.isCancelled()) {
                     DiscordSRV.debug("DiscordGuildMessagePostProcessEvent was cancelled, attachment send aborted");
-                    return;
+                    return false;
                 }
-                DiscordSRV.getPlugin().broadcastMessageToMinecraftServer(gameChannel, placedMessage, event.getAuthor());
-                if (DiscordSRV.config().getBoolean("DiscordChatChannelBroadcastDiscordMessagesToConsole"))
-                    DiscordSRV.info(gameChannel + " " + LangUtil.InternalMessage.CHAT + ": " + DiscordUtil.strip(placedMessage.replace("»", ">")));
-            }
-
-            if (StringUtils.isBlank(event.getMessage().getContentRaw())) return;
-        }
-
-        // apply regex filters
-        for (Map.Entry<Pattern, String> entry : DiscordSRV.getPlugin().getDiscordRegexes().entrySet()) {
-            message = entry.getKey().matcher(message).replaceAll(entry.getValue());
-            if (StringUtils.isBlank(message)) {
-                DiscordSRV.debug("Not processing Discord message because it was cleared by a filter: " + entry.getKey().pattern());
-                return;
             }
+            DiscordSRV.getPlugin().broadcastMessageToMinecraftServer(chat.getGameChannel(), placedMessage, event.getAuthor());
+            if (config.isBroadcastDiscordMessagesToConsole())
+                DiscordSRV.info(chat.getGameChannel() + " " + LangUtil.InternalMessage.CHAT + ": " + DiscordUtil.strip(placedMessage.replace("»", ">")));
         }
 
-        if (message.length() > DiscordSRV.config().getInt("DiscordChatChannelTruncateLength")) {
-            event.getMessage().addReaction("\uD83D\uDCAC").queue(v -> event.getMessage().addReaction("❗").queue());
-            message = message.substring(0, DiscordSRV.config().getInt("DiscordChatChannelTruncateLength"));
-        }
+        return StringUtils.isNotBlank(event.getMessage().getContentRaw());
+    }
 
-        // strip colors if role doesn't have permission
-        List<String> rolesAllowedToColor = DiscordSRV.config().getStringList("DiscordChatChannelRolesAllowedToUseColorCodesInChat");
-        boolean shouldStripColors = !rolesAllowedToColor.contains("@everyone");
-        for (Role role : event.getMember().getRoles())
-            if (rolesAllowedToColor.contains(role.getName())) shouldStripColors = false;
-        if (shouldStripColors) message = DiscordUtil.strip(message);
-
-        // get the correct format message
-        String formatMessage = !selectedRoles.isEmpty()
-                ? LangUtil.Message.CHAT_TO_MINECRAFT.toString()
-                : LangUtil.Message.CHAT_TO_MINECRAFT_NO_ROLE.toString();
-
-        if (DiscordSRV.config().getBoolean("Experiment_MCDiscordReserializer_ToMinecraft")) {
-            Component component = MinecraftSerializer.INSTANCE.serialize(message);
-            message = LegacyComponentSerializer.INSTANCE.serialize(component);
-        }
-        String finalMessage = message != null ? message : "<blank message>";
-        formatMessage = replacePlaceholders(formatMessage, event, selectedRoles, finalMessage);
+    private void broadcastToDynmap(DiscordChatMessage chat, DynmapHook dynmapHook) {
+        ConfigSnapshot config = chat.getConfig();
+        String chatFormat = replacePlaceholders(LangUtil.Message.DYNMAP_CHAT_FORMAT.toString(), chat.getEvent(), chat.getSelectedRoles(), chat.getMessage());
+        String nameFormat = replacePlaceholders(LangUtil.Message.DYNMAP_NAME_FORMAT.toString(), chat.getEvent(), chat.getSelectedRoles(), chat.getMessage());
 
-        // translate color codes
-        formatMessage = ChatColor.translateAlternateColorCodes('&', formatMessage);
+        chatFormat = ChatColor.translateAlternateColorCodes('&', chatFormat);
+        nameFormat = ChatColor.translateAlternateColorCodes('&', nameFormat);
 
-        // parse emojis from unicode back to :code:
-        if (DiscordSRV.config().getBoolean("ParseEmojisToNames")) {
-            formatMessage = EmojiParser.parseToAliases(formatMessage);
-        } else {
-            formatMessage = EmojiParser.removeAllEmojis(formatMessage);
+        if (!config.isParseEmojisToNames()) {
+            chatFormat = EmojiConverter.removeAllEmojis(chatFormat);
+            nameFormat = EmojiConverter.removeAllEmojis(nameFormat);
         }
 
-        if (DiscordSRV.config().getBoolean("Experiment_MCDiscordReserializer_ToMinecraft")) formatMessage = DiscordUtil.convertMentionsToNames(formatMessage);
-
-        DiscordGuildMessagePostProcessEvent postEvent = DiscordSRV.api.callEvent(new DiscordGuildMessagePostProcessEvent(event, preEvent.isCancelled(), formatMessage));
-        if (postEvent.isCancelled()) {
-            DiscordSRV.debug("DiscordGuildMessagePostProcessEvent was cancelled, message send aborted");
-            return;
+        if (config.isReserializerToMinecraft()) {
+            chatFormat = DiscordUtil.convertMentionsToNames(chatFormat);
+            nameFormat = DiscordUtil.convertMentionsToNames(nameFormat);
         }
 
-        DiscordSRV.getPlugin().getPluginHooks().stream()
-                .filter(pluginHook -> pluginHook instanceof DynmapHook)
-                .map(pluginHook -> (DynmapHook) pluginHook)
-                .findAny().ifPresent(dynmapHook -> {
-                    String chatFormat = replacePlaceholders(LangUtil.Message.DYNMAP_CHAT_FORMAT.toString(), event, selectedRoles, finalMessage);
-                    String nameFormat = replacePlaceholders(LangUtil.Message.DYNMAP_NAME_FORMAT.toString(), event, selectedRoles, finalMessage);
-
-                    chatFormat = ChatColor.translateAlternateColorCodes('&', chatFormat);
-                    nameFormat = ChatColor.translateAlternateColorCodes('&', nameFormat);
-
-                    if (!DiscordSRV.config().getBoolean("ParseEmojisToNames")) {
-                        chatFormat = EmojiParser.removeAllEmojis(chatFormat);
-                        nameFormat = EmojiParser.removeAllEmojis(nameFormat);
-                    }
-
-                    if (DiscordSRV.config().getBoolean("Experiment_MCDiscordReserializer_ToMinecraft")) {
-                        chatFormat = DiscordUtil.convertMentionsToNames(chatFormat);
-                        nameFormat = DiscordUtil.convertMentionsToNames(nameFormat);
-                    }
-
-                    chatFormat = PlaceholderUtil.replacePlaceholders(chatFormat);
-                    nameFormat = PlaceholderUtil.replacePlaceholders(nameFormat);
-
-                    // apply regex filters
-                    for (Map.Entry<Pattern, String> entry : DiscordSRV.getPlugin().getDiscordRegexes().entrySet()) {
-                        chatFormat = entry.getKey().matcher(chatFormat).replaceAll(entry.getValue());
-                        nameFormat = entry.getKey().matcher(nameFormat).replaceAll(entry.getValue());
-                    }
-
-                    nameFormat = DiscordUtil.strip(nameFormat);
-                    dynmapHook.broadcastMessageToDynmap(nameFormat, chatFormat);
-        });
+        chatFormat = PlaceholderUtil.replacePlaceholders(chatFormat);
+        nameFormat = PlaceholderUtil.replacePlaceholders(nameFormat);
 
-        DiscordSRV.getPlugin().broadcastMessageToMinecraftServer(
-                gameChannel,
-                postEvent.getProcessedMessage(),
-                event.getAuthor()
-        );
+        // apply regex filters
+        RegexFilterChain discordFilters = DiscordSRV.getPlugin().getDiscordFilters();
+        chatFormat = discordFilters.apply(chatFormat);
+        nameFormat = discordFilters.apply(nameFormat);
 
-        if (DiscordSRV.config().getBoolean("DiscordChatChannelBroadcastDiscordMessagesToConsole")) {
-            DiscordSRV.info(gameChannel + " " + LangUtil.InternalMessage.CHAT + ": " + DiscordUtil.strip(postEvent.getProcessedMessage().replace("»", ">")));
-        }
+        nameFormat = DiscordUtil.strip(nameFormat);
+        dynmapHook.broadcastMessageToDynmap(nameFormat, chatFormat);
     }
 
     private String replacePlaceholders(String input, GuildMessageReceivedEvent event, List<Role> selectedRoles, String message) {
-        return input.replace("%channelname%", event.getChannel().getName())
-                .replace("%name%", DiscordUtil.strip(event.getMember().getEffectiveName()))
-                .replace("%username%", DiscordUtil.strip(event.getMember().getUser().getName()))
-                .replace("%toprole%", DiscordUtil.getRoleName(!selectedRoles.isEmpty() ? selectedRoles.get(0) : null))
-                .replace("%toproleinitial%", !selectedRoles.isEmpty() ? DiscordUtil.getRoleName(selectedRoles.get(0)).substring(0, 1) : "")
-                .replace("%toprolecolor%", DiscordUtil.convertRoleToMinecraftColor(!selectedRoles.isEmpty() ? selectedRoles.get(0) : null))
-                .replace("%allroles%", DiscordUtil.getFormattedRoles(selectedRoles))
-                .replace("\\~", "~") // get rid of escaped characters, since Minecraft doesn't use markdown
-                .replace("\\*", "") // get rid of escaped characters, since Minecraft doesn't use markdown
-                .replace("\\_", "_") // get rid of escaped characters, since Minecraft doesn't use markdown
-                .replace("%message%", message);
+        // use the cached role formatting, unless a pipeline stage changed which roles are selected
+        MemberRoles cached = DiscordSRV.getPlugin().getMemberRolesManager().get(event.getMember());
+        MemberRoles roles = cached.getSelectedRoles() == selectedRoles ? cached : null;
+        Role topRole = !selectedRoles.isEmpty() ? selectedRoles.get(0) : null;
+
+        // get rid of escaped characters in the format and the values inserted into it, since Minecraft doesn't use markdown
+        return MessageTemplate.compile(unescapeMarkdown(input)).render(placeholder -> {
+            switch (placeholder) {
+                case "channelname": return unescapeMarkdown(event.getChannel().getName());
+                case "name": return unescapeMarkdown(DiscordUtil.strip(event.getMember().getEffectiveName()));
+                case "username": return unescapeMarkdown(DiscordUtil.strip(event.getMember().getUser().getName()));
+                case "toprole": return unescapeMarkdown(roles != null ? roles.getTopRoleName() : DiscordUtil.getRoleName(topRole));
+                case "toproleinitial": return unescapeMarkdown(roles != null ? roles.getTopRoleInitial() : topRole != null ? DiscordUtil.getRoleName(topRole).substring(0, 1) : "");
+                case "toprolecolor": return roles != null ? roles.getTopRoleColor() : DiscordUtil.convertRoleToMinecraftColor(topRole);
+                case "allroles": return unescapeMarkdown(roles != null ? roles.getAllRoles() : DiscordUtil.getFormattedRoles(selectedRoles));
+                case "message": return message;
+                default: return null;
+            }
+        });
+    }
+
+    private static String unescapeMarkdown(String input) {
+        if (input.indexOf('\\') == -1) return input;
+        return input.replace("\\~", "~").replace("\\*", "").replace("\\_", "_");
     }
 
     private boolean processPlayerListCommand(GuildMessageReceivedEvent event, String message) {
-        if (!DiscordSRV.config().getBoolean("DiscordChatChannelListCommandEnabled")) return false;
-        if (!StringUtils.trimToEmpty(message).equalsIgnoreCase(DiscordSRV.config().getString("DiscordChatChannelListCommandMessage"))) return false;
+        ConfigSnapshot config = DiscordSRV.configSnapshot();
+        if (!config.isListCommandEnabled()) return false;
+        if (!StringUtils.trimToEmpty(message).equalsIgnoreCase(config.getListCommandMessage())) return false;
 
-        if (PlayerUtil.getOnlinePlayers(true).size() == 0) {
+        List<Player> onlinePlayers = PlayerUtil.getOnlinePlayersSnapshot(true);
+        if (onlinePlayers.size() == 0) {
             DiscordUtil.sendMessage(event.getChannel(), LangUtil.Message.PLAYER_LIST_COMMAND_NO_PLAYERS.toString(), DiscordSRV.config().getInt("DiscordChatChannelListCommandExpiration") * 1000, true);
         } else {
             String playerListMessage = "";
-            playerListMessage += LangUtil.Message.PLAYER_LIST_COMMAND.toString().replace("%playercount%", PlayerUtil.getOnlinePlayers(true).size() + "/" + Bukkit.getMaxPlayers());
+            playerListMessage += LangUtil.Message.PLAYER_LIST_COMMAND.toString().replace("%playercount%", onlinePlayers.size() + "/" + Bukkit.getMaxPlayers());
             playerListMessage += "\n```\n";
 
             StringJoiner players = new StringJoiner(LangUtil.Message.PLAYER_LIST_COMMAND_ALL_PLAYERS_SEPARATOR.toString());
 
             List<String> playerList = new LinkedList<>();
-            for (Player player : PlayerUtil.getOnlinePlayers(true)) {
+            for (Player player : onlinePlayers) {
 
                 String userPrimaryGroup = VaultHook.getPrimaryGroup(player);
                 boolean hasGoodGroup = StringUtils.isNotBlank(userPrimaryGroup);
@@ -304,20 +400,15 @@ public class DiscordChatListener extends ListenerAdapter {
 
         // expire message after specified time
         if (DiscordSRV.config().getInt("DiscordChatChannelListCommandExpiration") > 0 && DiscordSRV.config().getBoolean("DiscordChatChannelListCommandExpirationDeleteRequest")) {
-            new Thread(() -> {
-                try {
-                    Thread.sleep(DiscordSRV.config().getInt("DiscordChatChannelListCommandExpiration") * 1000L);
-                } catch (InterruptedException ignored) {}
-                DiscordUtil.deleteMessage(event.getMessage());
-            }).start();
+            DiscordSRV.getPlugin().getExpiringMessageService().expire(event.getMessage(), DiscordSRV.config().getInt("DiscordChatChannelListCommandExpiration") * 1000L);
         }
         return true;
     }
 
     private boolean processConsoleCommand(GuildMessageReceivedEvent event, String message) {
-        if (!DiscordSRV.config().getBoolean("DiscordChatChannelConsoleCommandEnabled")) return false;
+        if (!DiscordSRV.configSnapshot().isConsoleCommandEnabled()) return false;
 
-        String prefix = DiscordSRV.config().getString("DiscordChatChannelConsoleCommandPrefix");
+        String prefix = DiscordSRV.configSnapshot().getConsoleCommandPrefix();
         if (!StringUtils.startsWithIgnoreCase(message, prefix)) return false;
         String command = message.substring(prefix.length()).trim();
 
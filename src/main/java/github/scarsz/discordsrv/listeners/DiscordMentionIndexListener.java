@@ -0,0 +1,97 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.listeners;
+
+import github.scarsz.discordsrv.objects.MentionIndex;
+import github.scarsz.discordsrv.util.DiscordUtil;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.guild.member.update.GuildMemberUpdateNicknameEvent;
+import net.dv8tion.jda.api.events.role.RoleCreateEvent;
+import net.dv8tion.jda.api.events.role.RoleDeleteEvent;
+import net.dv8tion.jda.api.events.role.update.RoleUpdateNameEvent;
+import net.dv8tion.jda.api.events.user.update.UserUpdateNameEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Keeps the mention indexes of guilds up to date as members and roles come, go and get renamed
+ */
+public class DiscordMentionIndexListener extends ListenerAdapter {
+
+    @Override
+    public void onGuildMemberJoin(@NotNull GuildMemberJoinEvent event) {
+        MentionIndex index = DiscordUtil.getMentionIndexIfPresent(event.getGuild().getId());
+        if (index != null) index.put(event.getMember());
+    }
+
+    @Override
+    public void onGuildMemberRemove(@NotNull GuildMemberRemoveEvent event) {
+        MentionIndex index = DiscordUtil.getMentionIndexIfPresent(event.getGuild().getId());
+        if (index != null) index.remove(event.getUser().getId());
+    }
+
+    @Override
+    public void onGuildMemberUpdateNickname(@NotNull GuildMemberUpdateNicknameEvent event) {
+        MentionIndex index = DiscordUtil.getMentionIndexIfPresent(event.getGuild().getId());
+        if (index != null) index.put(event.getMember());
+    }
+
+    @Override
+    public void onUserUpdateName(@NotNull UserUpdateNameEvent event) {
+        // only matters for members without a nickname, but put ignores members whose name didn't change
+        for (Guild guild : event.getJDA().getMutualGuilds(event.getUser())) {
+            MentionIndex index = DiscordUtil.getMentionIndexIfPresent(guild.getId());
+            if (index == null) continue;
+            Member member = guild.getMember(event.getUser());
+            if (member != null) index.put(member);
+        }
+    }
+
+    @Override
+    public void onRoleCreate(@NotNull RoleCreateEvent event) {
+        MentionIndex index = DiscordUtil.getMentionIndexIfPresent(event.getGuild().getId());
+        if (index != null) index.put(event.getRole());
+    }
+
+    @Override
+    public void onRoleDelete(@NotNull RoleDeleteEvent event) {
+        MentionIndex index = DiscordUtil.getMentionIndexIfPresent(event.getGuild().getId());
+        if (index != null) index.remove(event.getRole().getId());
+    }
+
+    @Override
+    public void onRoleUpdateName(@NotNull RoleUpdateNameEvent event) {
+        MentionIndex index = DiscordUtil.getMentionIndexIfPresent(event.getGuild().getId());
+        if (index != null) index.put(event.getRole());
+    }
+
+    @Override
+    public void onGuildLeave(@NotNull GuildLeaveEvent event) {
+        DiscordUtil.removeMentionIndex(event.getGuild().getId());
+    }
+
+}
@@ -26,6 +26,7 @@ import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.api.events.AchievementMessagePostProcessEvent;
 import github.scarsz.discordsrv.api.events.AchievementMessagePreProcessEvent;
 import github.scarsz.discordsrv.objects.MessageFormat;
+import github.scarsz.discordsrv.objects.OutboundChannelScheduler;
 import github.scarsz.discordsrv.util.*;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.TextChannel;
@@ -87,15 +88,17 @@ public class PlayerAdvancementDoneListener implements Listener {
         // turn "story/advancement_name" into "Advancement Name"
         String advancementTitle = getTitle(advancement);
 
-        AchievementMessagePreProcessEvent preEvent = DiscordSRV.api.callEvent(new AchievementMessagePreProcessEvent(channelName, messageFormat, player, advancementTitle));
-        if (preEvent.isCancelled()) {
-            DiscordSRV.debug("AchievementMessagePreProcessEvent was cancelled, message send aborted");
-            return;
+        if (DiscordSRV.api.hasSubscribers(AchievementMessagePreProcessEvent.class)) {
+            AchievementMessagePreProcessEvent preEvent = DiscordSRV.api.callEvent(new AchievementMessagePreProcessEvent(channelName, messageFormat, player, advancementTitle));
+            if (preEvent.isCancelled()) {
+                DiscordSRV.debug("AchievementMessagePreProcessEvent was cancelled, message send aborted");
+                return;
+            }
+            // Update from event in case any listeners modified parameters
+            advancementTitle = preEvent.getAchievementName();
+            channelName = preEvent.getChannel();
+            messageFormat = preEvent.getMessageFormat();
         }
-        // Update from event in case any listeners modified parameters
-        advancementTitle = preEvent.getAchievementName();
-        channelName = preEvent.getChannel();
-        messageFormat = preEvent.getMessageFormat();
 
         if (messageFormat == null) return;
 
@@ -108,17 +111,21 @@ public class PlayerAdvancementDoneListener implements Listener {
         TextChannel destinationChannel = DiscordSRV.getPlugin().getDestinationTextChannelForGameChannelName(channelName);
         BiFunction<String, Boolean, String> translator = (content, needsEscape) -> {
             if (content == null) return null;
-            content = content
-                    .replaceAll("%time%|%date%", TimeUtil.timeStamp())
-                    .replace("%username%", needsEscape ? DiscordUtil.escapeMarkdown(player.getName()) : player.getName())
-                    .replace("%displayname%", needsEscape ? DiscordUtil.escapeMarkdown(displayName) : displayName)
-                    .replace("%usernamenoescapes%", player.getName())
-                    .replace("%displaynamenoescapes%", displayName)
-                    .replace("%world%", player.getWorld().getName())
-                    .replace("%achievement%", DiscordUtil.strip(needsEscape ? DiscordUtil.escapeMarkdown(finalAchievementName) : finalAchievementName))
-                    .replace("%embedavatarurl%", avatarUrl)
-                    .replace("%botavatarurl%", botAvatarUrl)
-                    .replace("%botname%", botName);
+            content = MessageTemplate.compile(content).render(placeholder -> {
+                switch (placeholder) {
+                    case "time": case "date": return TimeUtil.timeStamp();
+                    case "username": return needsEscape ? DiscordUtil.escapeMarkdown(player.getName()) : player.getName();
+                    case "displayname": return needsEscape ? DiscordUtil.escapeMarkdown(displayName) : displayName;
+                    case "usernamenoescapes": return player.getName();
+                    case "displaynamenoescapes": return displayName;
+                    case "world": return player.getWorld().getName();
+                    case "achievement": return needsEscape ? DiscordUtil.stripAndEscapeMarkdown(finalAchievementName) : DiscordUtil.strip(finalAchievementName);
+                    case "embedavatarurl": return avatarUrl;
+                    case "botavatarurl": return botAvatarUrl;
+                    case "botname": return botName;
+                    default: return null;
+                }
+            });
             if (destinationChannel != null) content = DiscordUtil.translateEmotes(content, destinationChannel.getGuild());
             content = PlaceholderUtil.replacePlaceholdersToDiscord(content, player);
             return content;
@@ -129,21 +136,27 @@ public class PlayerAdvancementDoneListener implements Listener {
         String webhookName = translator.apply(messageFormat.getWebhookName(), false);
         String webhookAvatarUrl = translator.apply(messageFormat.getWebhookAvatarUrl(), false);
 
-        AchievementMessagePostProcessEvent postEvent = DiscordSRV.api.callEvent(new AchievementMessagePostProcessEvent(channelName, discordMessage, player, advancementTitle, messageFormat.isUseWebhooks(), webhookName, webhookAvatarUrl, preEvent.isCancelled()));
-        if (postEvent.isCancelled()) {
-            DiscordSRV.debug("AchievementMessagePostProcessEvent was cancelled, message send aborted");
-            return;
+        boolean usingWebhooks = messageFormat.isUseWebhooks();
+        if (DiscordSRV.api.hasSubscribers(AchievementMessagePostProcessEvent.class)) {
+            AchievementMessagePostProcessEvent postEvent = DiscordSRV.api.callEvent(new AchievementMessagePostProcessEvent(channelName, discordMessage, player, advancementTitle, usingWebhooks, webhookName, webhookAvatarUrl, false));
+            if (postEvent.isCancelled()) {
+                DiscordSRV.debug("AchievementMessagePostProcessEvent was cancelled, message send aborted");
+                return;
+            }
+            // Update from event in case any listeners modified parameters
+            channelName = postEvent.getChannel();
+            discordMessage = postEvent.getDiscordMessage();
+            usingWebhooks = postEvent.isUsingWebhooks();
+            webhookName = postEvent.getWebhookName();
+            webhookAvatarUrl = postEvent.getWebhookAvatarUrl();
         }
-        // Update from event in case any listeners modified parameters
-        channelName = postEvent.getChannel();
-        discordMessage = postEvent.getDiscordMessage();
 
         TextChannel textChannel = DiscordSRV.getPlugin().getDestinationTextChannelForGameChannelName(channelName);
-        if (postEvent.isUsingWebhooks()) {
-            WebhookUtil.deliverMessage(textChannel, postEvent.getWebhookName(), postEvent.getWebhookAvatarUrl(),
+        if (usingWebhooks) {
+            WebhookUtil.deliverMessage(textChannel, webhookName, webhookAvatarUrl,
                     discordMessage.getContentRaw(), discordMessage.getEmbeds().stream().findFirst().orElse(null));
         } else {
-            DiscordUtil.queueMessage(textChannel, discordMessage, true);
+            DiscordUtil.queueMessage(textChannel, discordMessage, true, OutboundChannelScheduler.Priority.LIFECYCLE);
         }
     }
 
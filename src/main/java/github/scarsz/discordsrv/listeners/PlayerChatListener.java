@@ -23,6 +23,7 @@
 package github.scarsz.discordsrv.listeners;
 
 import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.objects.threads.OrderedTaskExecutor;
 import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -33,14 +34,30 @@ public class PlayerChatListener implements Listener {
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onAsyncPlayerChat(AsyncPlayerChatEvent event) {
-        Bukkit.getScheduler().runTaskAsynchronously(DiscordSRV.getPlugin(), () ->
-                DiscordSRV.getPlugin().processChatMessage(
-                        event.getPlayer(),
-                        event.getMessage(),
-                        DiscordSRV.getPlugin().getOptionalChannel("global"),
-                        event.isCancelled()
-                )
+        String channel = DiscordSRV.getPlugin().getOptionalChannel("global");
+        Runnable task = () -> DiscordSRV.getPlugin().processChatMessage(
+                event.getPlayer(),
+                event.getMessage(),
+                channel,
+                event.isCancelled()
         );
+
+        OrderedTaskExecutor executor = DiscordSRV.getPlugin().getChatRelayExecutor();
+        if (executor == null) {
+            // not connected yet
+            Bukkit.getScheduler().runTaskAsynchronously(DiscordSRV.getPlugin(), task);
+            return;
+        }
+
+        // messages are relayed in order per destination channel
+        String key = channel != null ? channel : "";
+        if (!executor.submit(key, task)) {
+            // the executor was replaced by a config reload in the meantime
+            OrderedTaskExecutor current = DiscordSRV.getPlugin().getChatRelayExecutor();
+            if (current != executor && current.submit(key, task)) return;
+
+            DiscordSRV.debug("Chat message from " + event.getPlayer().getName() + " was not relayed to Discord because the chat relay queue for " + channel + " is full");
+        }
     }
 
 }
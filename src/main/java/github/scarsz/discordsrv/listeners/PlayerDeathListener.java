@@ -26,6 +26,7 @@ import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.api.events.DeathMessagePostProcessEvent;
 import github.scarsz.discordsrv.api.events.DeathMessagePreProcessEvent;
 import github.scarsz.discordsrv.objects.MessageFormat;
+import github.scarsz.discordsrv.objects.OutboundChannelScheduler;
 import github.scarsz.discordsrv.util.*;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.TextChannel;
@@ -66,17 +67,19 @@ public class PlayerDeathListener implements Listener {
         MessageFormat messageFormat = DiscordSRV.getPlugin().getMessageFromConfiguration("MinecraftPlayerDeathMessage");
         if (messageFormat == null) return;
 
-        DeathMessagePreProcessEvent preEvent = DiscordSRV.api.callEvent(new DeathMessagePreProcessEvent(channelName, messageFormat, player, deathMessage));
-        if (preEvent.isCancelled()) {
-            DiscordSRV.debug("DeathMessagePreProcessEvent was cancelled, message send aborted");
-            return;
+        if (DiscordSRV.api.hasSubscribers(DeathMessagePreProcessEvent.class)) {
+            DeathMessagePreProcessEvent preEvent = DiscordSRV.api.callEvent(new DeathMessagePreProcessEvent(channelName, messageFormat, player, deathMessage));
+            if (preEvent.isCancelled()) {
+                DiscordSRV.debug("DeathMessagePreProcessEvent was cancelled, message send aborted");
+                return;
+            }
+
+            // Update from event in case any listeners modified parameters
+            channelName = preEvent.getChannel();
+            messageFormat = preEvent.getMessageFormat();
+            deathMessage = preEvent.getDeathMessage();
         }
 
-        // Update from event in case any listeners modified parameters
-        channelName = preEvent.getChannel();
-        messageFormat = preEvent.getMessageFormat();
-        deathMessage = preEvent.getDeathMessage();
-
         if (messageFormat == null) return;
 
         String finalDeathMessage = StringUtils.isNotBlank(deathMessage) ? deathMessage : "";
@@ -88,17 +91,21 @@ public class PlayerDeathListener implements Listener {
         TextChannel destinationChannel = DiscordSRV.getPlugin().getDestinationTextChannelForGameChannelName(channelName);
         BiFunction<String, Boolean, String> translator = (content, needsEscape) -> {
             if (content == null) return null;
-            content = content
-                    .replaceAll("%time%|%date%", TimeUtil.timeStamp())
-                    .replace("%username%", needsEscape ? DiscordUtil.escapeMarkdown(player.getName()) : player.getName())
-                    .replace("%displayname%", needsEscape ? DiscordUtil.escapeMarkdown(displayName) : displayName)
-                    .replace("%usernamenoescapes%", player.getName())
-                    .replace("%displaynamenoescapes%", displayName)
-                    .replace("%world%", player.getWorld().getName())
-                    .replace("%deathmessage%", DiscordUtil.strip(needsEscape ? DiscordUtil.escapeMarkdown(finalDeathMessage) : finalDeathMessage))
-                    .replace("%embedavatarurl%", avatarUrl)
-                    .replace("%botavatarurl%", botAvatarUrl)
-                    .replace("%botname%", botName);
+            content = MessageTemplate.compile(content).render(placeholder -> {
+                switch (placeholder) {
+                    case "time": case "date": return TimeUtil.timeStamp();
+                    case "username": return needsEscape ? DiscordUtil.escapeMarkdown(player.getName()) : player.getName();
+                    case "displayname": return needsEscape ? DiscordUtil.escapeMarkdown(displayName) : displayName;
+                    case "usernamenoescapes": return player.getName();
+                    case "displaynamenoescapes": return displayName;
+                    case "world": return player.getWorld().getName();
+                    case "deathmessage": return needsEscape ? DiscordUtil.stripAndEscapeMarkdown(finalDeathMessage) : DiscordUtil.strip(finalDeathMessage);
+                    case "embedavatarurl": return avatarUrl;
+                    case "botavatarurl": return botAvatarUrl;
+                    case "botname": return botName;
+                    default: return null;
+                }
+            });
             if (destinationChannel != null) content = DiscordUtil.translateEmotes(content, destinationChannel.getGuild());
             content = PlaceholderUtil.replacePlaceholdersToDiscord(content, player);
             return content;
@@ -114,22 +121,28 @@ public class PlayerDeathListener implements Listener {
             return;
         }
 
-        DeathMessagePostProcessEvent postEvent = DiscordSRV.api.callEvent(new DeathMessagePostProcessEvent(channelName, discordMessage, player, deathMessage, messageFormat.isUseWebhooks(), webhookName, webhookAvatarUrl, preEvent.isCancelled()));
-        if (postEvent.isCancelled()) {
-            DiscordSRV.debug("DeathMessagePostProcessEvent was cancelled, message send aborted");
-            return;
+        boolean usingWebhooks = messageFormat.isUseWebhooks();
+        if (DiscordSRV.api.hasSubscribers(DeathMessagePostProcessEvent.class)) {
+            DeathMessagePostProcessEvent postEvent = DiscordSRV.api.callEvent(new DeathMessagePostProcessEvent(channelName, discordMessage, player, deathMessage, usingWebhooks, webhookName, webhookAvatarUrl, false));
+            if (postEvent.isCancelled()) {
+                DiscordSRV.debug("DeathMessagePostProcessEvent was cancelled, message send aborted");
+                return;
+            }
+
+            // Update from event in case any listeners modified parameters
+            channelName = postEvent.getChannel();
+            discordMessage = postEvent.getDiscordMessage();
+            usingWebhooks = postEvent.isUsingWebhooks();
+            webhookName = postEvent.getWebhookName();
+            webhookAvatarUrl = postEvent.getWebhookAvatarUrl();
         }
 
-        // Update from event in case any listeners modified parameters
-        channelName = postEvent.getChannel();
-        discordMessage = postEvent.getDiscordMessage();
-
         TextChannel textChannel = DiscordSRV.getPlugin().getDestinationTextChannelForGameChannelName(channelName);
-        if (postEvent.isUsingWebhooks()) {
-            WebhookUtil.deliverMessage(textChannel, postEvent.getWebhookName(), postEvent.getWebhookAvatarUrl(),
+        if (usingWebhooks) {
+            WebhookUtil.deliverMessage(textChannel, webhookName, webhookAvatarUrl,
                     discordMessage.getContentRaw(), discordMessage.getEmbeds().stream().findFirst().orElse(null));
         } else {
-            DiscordUtil.queueMessage(textChannel, discordMessage, true);
+            DiscordUtil.queueMessage(textChannel, discordMessage, true, OutboundChannelScheduler.Priority.LIFECYCLE);
         }
     }
 
@@ -44,6 +44,19 @@ public class PlayerJoinLeaveListener implements Listener {
         Bukkit.getPluginManager().registerEvents(this, DiscordSRV.getPlugin());
     }
 
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoinEarly(PlayerJoinEvent event) {
+        // the player is already online, make sure everything after this sees them
+        PlayerUtil.invalidateOnlinePlayers();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuitLate(PlayerQuitEvent event) {
+        PlayerUtil.invalidateOnlinePlayers();
+        // the player is only removed from the online players after the event
+        Bukkit.getScheduler().runTask(DiscordSRV.getPlugin(), PlayerUtil::invalidateOnlinePlayers);
+    }
+
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerJoin(PlayerJoinEvent event) {
         final Player player = event.getPlayer();
@@ -28,6 +28,7 @@ import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.objects.ExpiringDualHashBidiMap;
 import github.scarsz.discordsrv.objects.Lag;
 import github.scarsz.discordsrv.objects.MessageFormat;
+import github.scarsz.discordsrv.objects.OutboundChannelScheduler;
 import github.scarsz.discordsrv.util.*;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.TextChannel;
@@ -481,7 +482,7 @@ public class AlertListener implements Listener, EventListener {
                             case "username":
                                 return finalPlayer != null ? finalPlayer.getName() : "";
                             case "displayname":
-                                return finalPlayer != null ? DiscordUtil.strip(needsEscape ? DiscordUtil.escapeMarkdown(finalPlayer.getDisplayName()) : finalPlayer.getDisplayName()) : "";
+                                return finalPlayer != null ? (needsEscape ? DiscordUtil.stripAndEscapeMarkdown(finalPlayer.getDisplayName()) : DiscordUtil.strip(finalPlayer.getDisplayName())) : "";
                             case "world":
                                 return finalPlayer != null ? finalPlayer.getWorld().getName() : "";
                             case "embedavatarurl":
@@ -512,7 +513,7 @@ public class AlertListener implements Listener, EventListener {
                             translator.apply(messageFormat.getWebhookAvatarUrl(), false),
                             message.getContentRaw(), message.getEmbeds().stream().findFirst().orElse(null));
                 } else {
-                    DiscordUtil.queueMessage(textChannel, message);
+                    DiscordUtil.queueMessage(textChannel, message, OutboundChannelScheduler.Priority.ALERT);
                 }
             }
         }
@@ -161,7 +161,7 @@ public class VoiceModule extends ListenerAdapter implements Listener {
             // remove networks that have no voice channel
             networks.removeIf(network -> network.getChannel() == null && network.isInitialized());
 
-            Set<Player> alivePlayers = PlayerUtil.getOnlinePlayers().stream()
+            Set<Player> alivePlayers = PlayerUtil.getOnlinePlayersSnapshot(false).stream()
                     .filter(player -> !player.isDead())
                     .collect(Collectors.toSet());
 
@@ -389,7 +389,7 @@ public class VoiceModule extends ListenerAdapter implements Listener {
         }
         boolean isLobby = channel.getId().equals(getLobbyChannel().getId());
         if (isLobby && !member.getVoiceState().isGuildMuted()) {
-            if (!DiscordSRV.config().getBoolean("Mute users who bypass speak permissions in the lobby")) return;
+            if (!DiscordSRV.configSnapshot().isVoiceMuteLobbyBypassers()) return;
             PermissionOverride override = channel.getPermissionOverride(channel.getGuild().getPublicRole());
             if (override != null && override.getDenied().contains(Permission.VOICE_SPEAK)
                     && member.hasPermission(channel, Permission.VOICE_SPEAK, Permission.VOICE_MUTE_OTHERS)
@@ -429,14 +429,14 @@ public class VoiceModule extends ListenerAdapter implements Listener {
 
     public static Category getCategory() {
         if (DiscordUtil.getJda() == null) return null;
-        String id = DiscordSRV.config().getString("Voice category");
+        String id = DiscordSRV.configSnapshot().getVoiceCategoryId();
         if (StringUtils.isBlank(id)) return null;
         return DiscordUtil.getJda().getCategoryById(id);
     }
 
     public static VoiceChannel getLobbyChannel() {
         if (DiscordUtil.getJda() == null) return null;
-        String id = DiscordSRV.config().getString("Lobby channel");
+        String id = DiscordSRV.configSnapshot().getVoiceLobbyChannelId();
         if (StringUtils.isBlank(id)) return null;
         return DiscordUtil.getJda().getVoiceChannelById(id);
     }
@@ -459,18 +459,18 @@ public class VoiceModule extends ListenerAdapter implements Listener {
     }
 
     public static double getVerticalStrength() {
-        return DiscordSRV.config().getDouble("Network.Vertical Strength");
+        return DiscordSRV.configSnapshot().getVoiceVerticalStrength();
     }
 
     public static double getHorizontalStrength() {
-        return DiscordSRV.config().getDouble("Network.Horizontal Strength");
+        return DiscordSRV.configSnapshot().getVoiceHorizontalStrength();
     }
 
     public static double getFalloff() {
-        return DiscordSRV.config().getDouble("Network.Falloff");
+        return DiscordSRV.configSnapshot().getVoiceFalloff();
     }
 
     public static boolean isVoiceActivationAllowed() {
-        return DiscordSRV.config().getBoolean("Network.Allow voice activation detection");
+        return DiscordSRV.configSnapshot().isVoiceActivationAllowed();
     }
 }
@@ -0,0 +1,128 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import java.util.*;
+
+/**
+ * <p>Matches messages against the configured canned responses with a case-insensitive prefix trie.</p>
+ * <p>A message is matched by walking the trie along the start of the message once, so the amount of configured
+ * responses doesn't affect the cost of matching. When several triggers match, the longest one wins.</p>
+ */
+public class CannedResponseMatcher {
+
+    public static final CannedResponseMatcher EMPTY = new CannedResponseMatcher(Collections.emptyMap());
+
+    private final Map<String, String> responses;
+    private final Node root;
+
+    /**
+     * @param responses the canned responses, keyed by their trigger
+     */
+    public CannedResponseMatcher(Map<String, String> responses) {
+        this.responses = Collections.unmodifiableMap(new LinkedHashMap<>(responses));
+
+        Builder root = new Builder();
+        this.responses.forEach((trigger, response) -> {
+            if (trigger.isEmpty()) return;
+            Builder node = root;
+            for (int i = 0; i < trigger.length(); i++) {
+                node = node.children.computeIfAbsent(fold(trigger.charAt(i)), c -> new Builder());
+            }
+            // the first of triggers only differing in case wins
+            if (node.response == null) node.response = response;
+        });
+        this.root = root.build();
+    }
+
+    /**
+     * @param message the message to match
+     * @return the response of the longest trigger the message starts with, ignoring case, null if there is none
+     */
+    public String match(String message) {
+        if (message == null || responses.isEmpty()) return null;
+
+        String response = null;
+        Node node = root;
+        for (int i = 0; i < message.length(); i++) {
+            node = node.child(fold(message.charAt(i)));
+            if (node == null) break;
+            if (node.response != null) response = node.response;
+        }
+        return response;
+    }
+
+    /**
+     * @return an unmodifiable view of the canned responses, keyed by their trigger
+     */
+    public Map<String, String> getResponses() {
+        return responses;
+    }
+
+    public boolean isEmpty() {
+        return responses.isEmpty();
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static final class Node {
+
+        private final char[] keys; // sorted
+        private final Node[] children;
+        private final String response;
+
+        private Node(char[] keys, Node[] children, String response) {
+            this.keys = keys;
+            this.children = children;
+            this.response = response;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+    }
+
+    private static final class Builder {
+
+        private final SortedMap<Character, Builder> children = new TreeMap<>();
+        private String response;
+
+        private Node build() {
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                i++;
+            }
+            return new Node(keys, nodes, response);
+        }
+
+    }
+
+}
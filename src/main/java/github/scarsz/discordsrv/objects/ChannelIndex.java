@@ -0,0 +1,106 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>An immutable index of the configured links between in-game channel names and Discord text channel IDs.</p>
+ * <p>Lookups in both directions are a single hash lookup. When several entries match a lookup,
+ * the first one in configuration order wins, the same way a scan over the configured channels would.</p>
+ */
+public class ChannelIndex {
+
+    public static final ChannelIndex EMPTY = new ChannelIndex(Collections.emptyMap());
+
+    private final Map<String, String> channels; // <in-game channel name, discord channel>
+    private final Map<String, String> channelsIgnoreCase; // <lowercase in-game channel name, discord channel>
+    private final Map<String, String> gameChannels; // <discord channel, in-game channel name>
+
+    public ChannelIndex(Map<String, String> channels) {
+        Map<String, String> forward = new LinkedHashMap<>(channels);
+        Map<String, String> ignoreCase = new HashMap<>();
+        Map<String, String> reverse = new HashMap<>();
+        forward.forEach((gameChannel, textChannelId) -> {
+            ignoreCase.putIfAbsent(gameChannel.toLowerCase(Locale.ROOT), textChannelId);
+            if (textChannelId != null) reverse.putIfAbsent(textChannelId, gameChannel);
+        });
+
+        this.channels = Collections.unmodifiableMap(forward);
+        this.channelsIgnoreCase = ignoreCase;
+        this.gameChannels = reverse;
+    }
+
+    /**
+     * @return an unmodifiable view of the configured channels, in configuration order
+     */
+    public Map<String, String> getChannels() {
+        return channels;
+    }
+
+    /**
+     * @param gameChannelName the in-game channel name, matched case-sensitively first and case-insensitively second
+     * @return the ID of the Discord text channel linked to the given in-game channel, null if there is none
+     */
+    public String getTextChannelId(String gameChannelName) {
+        if (gameChannelName == null) return null;
+        String textChannelId = channels.get(gameChannelName);
+        if (textChannelId != null) return textChannelId;
+        return channelsIgnoreCase.get(gameChannelName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @param textChannelId the ID of the Discord text channel
+     * @return the name of the in-game channel linked to the given text channel, null if there is none
+     */
+    public String getGameChannelName(String textChannelId) {
+        return textChannelId != null ? gameChannels.get(textChannelId) : null;
+    }
+
+    /**
+     * @return the first configured in-game channel name, null if no channels are configured
+     */
+    public String getMainChannelName() {
+        return channels.isEmpty() ? null : channels.keySet().iterator().next();
+    }
+
+    /**
+     * @return the ID of the first configured Discord text channel, null if no channels are configured
+     */
+    public String getMainTextChannelId() {
+        return channels.isEmpty() ? null : channels.values().iterator().next();
+    }
+
+    public int size() {
+        return channels.size();
+    }
+
+    public boolean isEmpty() {
+        return channels.isEmpty();
+    }
+
+}
@@ -0,0 +1,146 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import github.scarsz.configuralize.DynamicConfig;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * <p>An immutable, typed copy of the configuration options read on hot paths such as chat relaying and console logging.</p>
+ * <p>A new snapshot is built every time the configuration is (re)loaded and published as a whole,
+ * so code reading from a snapshot never sees a mix of old and new values during a reload.
+ * Options that aren't read per message or per log line should keep using {@link DynamicConfig} directly.</p>
+ */
+public class ConfigSnapshot {
+
+    // debugging
+    @Getter private final int debugLevel;
+
+    // minecraft -> discord chat
+    @Getter private final boolean respectChatPlugins;
+    @Getter private final boolean minecraftToDiscord;
+    @Getter private final String prefixRequiredToProcessMessage;
+    @Getter private final boolean reserializerToDiscord;
+    @Getter private final boolean translateMentions;
+    @Getter private final boolean webhookChatMessageDelivery;
+    @Getter private final int chatCoalescingWindowMillis;
+
+    // discord -> minecraft chat
+    @Getter private final boolean discordToMinecraft;
+    @Getter private final boolean reserializerToMinecraft;
+    @Getter private final boolean requireLinkedAccount;
+    @Getter private final boolean blockBots;
+    @Getter private final Set<String> blockedIds;
+    @Getter private final int truncateLength;
+    @Getter private final Set<String> rolesAllowedToUseColorCodes;
+    @Getter private final boolean parseEmojisToNames;
+    @Getter private final boolean broadcastDiscordMessagesToConsole;
+    @Getter private final Set<String> rolesSelection;
+    @Getter private final boolean rolesSelectionAsWhitelist;
+    @Getter private final boolean listCommandEnabled;
+    @Getter private final String listCommandMessage;
+    @Getter private final boolean consoleCommandEnabled;
+    @Getter private final String consoleCommandPrefix;
+
+    // console channel
+    @Getter private final Set<String> consoleChannelLevels;
+
+    // group synchronization
+    @Getter private final Map<String, String> groupsAndRolesToSync;
+    @Getter private final boolean groupRoleSynchronizationEnabled;
+    @Getter private final boolean groupSyncOneWay;
+    @Getter private final boolean groupSyncMinecraftIsAuthoritative;
+    @Getter private final boolean groupSyncPrimaryGroupOnly;
+    @Getter private final boolean groupSyncEnableDenyPermission;
+    @Getter private final boolean groupSyncCycleCompletely;
+    @Getter private final String linkedRoleName;
+
+    // voice
+    @Getter private final String voiceCategoryId;
+    @Getter private final String voiceLobbyChannelId;
+    @Getter private final boolean voiceMuteLobbyBypassers;
+    @Getter private final double voiceVerticalStrength;
+    @Getter private final double voiceHorizontalStrength;
+    @Getter private final double voiceFalloff;
+    @Getter private final boolean voiceActivationAllowed;
+
+    public ConfigSnapshot(DynamicConfig config) {
+        this.debugLevel = config.getInt("DebugLevel");
+
+        this.respectChatPlugins = config.getBoolean("RespectChatPlugins");
+        this.minecraftToDiscord = config.getBoolean("DiscordChatChannelMinecraftToDiscord");
+        this.prefixRequiredToProcessMessage = config.getString("DiscordChatChannelPrefixRequiredToProcessMessage");
+        this.reserializerToDiscord = config.getBoolean("Experiment_MCDiscordReserializer_ToDiscord");
+        this.translateMentions = config.getBoolean("DiscordChatChannelTranslateMentions");
+        this.webhookChatMessageDelivery = config.getBoolean("Experiment_WebhookChatMessageDelivery");
+        this.chatCoalescingWindowMillis = config.getInt("DiscordChatChannelCoalescingWindowMillis");
+
+        this.discordToMinecraft = config.getBoolean("DiscordChatChannelDiscordToMinecraft");
+        this.reserializerToMinecraft = config.getBoolean("Experiment_MCDiscordReserializer_ToMinecraft");
+        this.requireLinkedAccount = config.getBoolean("DiscordChatChannelRequireLinkedAccount");
+        this.blockBots = config.getBoolean("DiscordChatChannelBlockBots");
+        this.blockedIds = immutableSet(config.getStringList("DiscordChatChannelBlockedIds"));
+        this.truncateLength = config.getInt("DiscordChatChannelTruncateLength");
+        this.rolesAllowedToUseColorCodes = immutableSet(config.getStringList("DiscordChatChannelRolesAllowedToUseColorCodesInChat"));
+        this.parseEmojisToNames = config.getBoolean("ParseEmojisToNames");
+        this.broadcastDiscordMessagesToConsole = config.getBoolean("DiscordChatChannelBroadcastDiscordMessagesToConsole");
+        this.rolesSelection = immutableSet(config.getStringList("DiscordChatChannelRolesSelection"));
+        this.rolesSelectionAsWhitelist = config.getBoolean("DiscordChatChannelRolesSelectionAsWhitelist");
+        this.listCommandEnabled = config.getBoolean("DiscordChatChannelListCommandEnabled");
+        this.listCommandMessage = config.getString("DiscordChatChannelListCommandMessage");
+        this.consoleCommandEnabled = config.getBoolean("DiscordChatChannelConsoleCommandEnabled");
+        this.consoleCommandPrefix = config.getString("DiscordChatChannelConsoleCommandPrefix");
+
+        Set<String> consoleChannelLevels = new HashSet<>();
+        for (String level : config.getStringList("DiscordConsoleChannelLevels")) consoleChannelLevels.add(level.toUpperCase());
+        this.consoleChannelLevels = Collections.unmodifiableSet(consoleChannelLevels);
+
+        Map<String, String> groupsAndRolesToSync = new LinkedHashMap<>();
+        config.dget("GroupRoleSynchronizationGroupsAndRolesToSync").children().forEach(dynamic ->
+                groupsAndRolesToSync.put(dynamic.key().convert().intoString(), dynamic.convert().intoString()));
+        this.groupsAndRolesToSync = Collections.unmodifiableMap(groupsAndRolesToSync);
+        this.groupRoleSynchronizationEnabled = groupsAndRolesToSync.entrySet().stream().anyMatch(entry ->
+                !entry.getKey().isEmpty() && !(entry.getValue().isEmpty() || entry.getValue().equals("000000000000000000")));
+        this.groupSyncOneWay = config.getBoolean("GroupRoleSynchronizationOneWay");
+        this.groupSyncMinecraftIsAuthoritative = config.getBoolean("GroupRoleSynchronizationMinecraftIsAuthoritative");
+        this.groupSyncPrimaryGroupOnly = config.getBoolean("GroupRoleSynchronizationPrimaryGroupOnly");
+        this.groupSyncEnableDenyPermission = config.getBoolean("GroupRoleSynchronizationEnableDenyPermission");
+        this.groupSyncCycleCompletely = config.getBoolean("GroupRoleSynchronizationCycleCompletely");
+        this.linkedRoleName = config.getString("MinecraftDiscordAccountLinkedRoleNameToAddUserTo");
+
+        this.voiceCategoryId = config.getString("Voice category");
+        this.voiceLobbyChannelId = config.getString("Lobby channel");
+        this.voiceMuteLobbyBypassers = config.getBoolean("Mute users who bypass speak permissions in the lobby");
+        this.voiceVerticalStrength = config.getDouble("Network.Vertical Strength");
+        this.voiceHorizontalStrength = config.getDouble("Network.Horizontal Strength");
+        this.voiceFalloff = config.getDouble("Network.Falloff");
+        this.voiceActivationAllowed = config.getBoolean("Network.Allow voice activation detection");
+    }
+
+    private static Set<String> immutableSet(List<String> values) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(values));
+    }
+
+}
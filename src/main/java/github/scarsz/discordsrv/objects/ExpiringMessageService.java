@@ -0,0 +1,205 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.util.DiscordUtil;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.TextChannel;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>Deletes messages after they expire, like command responses, from a single timer thread
+ * instead of a sleeping thread per message.</p>
+ * <p>Deletions are grouped in slots of {@link #SLOT_MILLIS}, every slot is one scheduled task.
+ * When a slot is due, the messages in it are deleted per channel, with a single bulk delete request
+ * for every {@link #BULK_DELETE_LIMIT} messages where the bot is allowed to, or one request per message otherwise.</p>
+ */
+public class ExpiringMessageService {
+
+    public static final long SLOT_MILLIS = 1000;
+    public static final int BULK_DELETE_LIMIT = 100;
+    // Discord refuses to bulk delete messages older than two weeks, leave some room for clock differences
+    private static final long BULK_DELETE_MAX_AGE_MILLIS = TimeUnit.DAYS.toMillis(14) - TimeUnit.HOURS.toMillis(1);
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final BiConsumer<TextChannel, List<Message>> deleter;
+    private final TreeMap<Long, Map<String, Batch>> slots = new TreeMap<>(); // by due time, guarded by this
+    private boolean shutdown = false; // guarded by this
+
+    private final AtomicLong expired = new AtomicLong();
+
+    public ExpiringMessageService() {
+        this(ExpiringMessageService::delete);
+    }
+
+    ExpiringMessageService(BiConsumer<TextChannel, List<Message>> deleter) {
+        this.deleter = deleter;
+        this.scheduler = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryBuilder().setNameFormat("DiscordSRV - Expiring Messages").setDaemon(true).build());
+        this.scheduler.setKeepAliveTime(30, TimeUnit.SECONDS);
+        this.scheduler.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Delete the given message after the given amount of time
+     * @param message the message to delete
+     * @param delayMillis milliseconds until the message is deleted
+     */
+    public void expire(Message message, long delayMillis) {
+        if (message == null || message.isFromType(ChannelType.PRIVATE)) return;
+
+        TextChannel channel = message.getTextChannel();
+        synchronized (this) {
+            if (shutdown) return;
+
+            // round up to the slot, so messages are never deleted early
+            long slot = ((System.currentTimeMillis() + Math.max(0, delayMillis)) / SLOT_MILLIS + 1) * SLOT_MILLIS;
+            Map<String, Batch> batches = slots.get(slot);
+            if (batches == null) {
+                batches = new LinkedHashMap<>();
+                slots.put(slot, batches);
+                scheduler.schedule(() -> flush(slot), Math.max(0, slot - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+            batches.computeIfAbsent(channel.getId(), id -> new Batch(channel)).messages.add(message);
+        }
+    }
+
+    private void flush(long slot) {
+        Map<String, Batch> batches;
+        synchronized (this) {
+            batches = slots.remove(slot);
+        }
+        if (batches != null) delete(new ArrayList<>(batches.values()));
+    }
+
+    private void delete(List<Batch> batches) {
+        for (Batch batch : batches) {
+            expired.addAndGet(batch.messages.size());
+            try {
+                deleter.accept(batch.channel, batch.messages);
+            } catch (Throwable t) {
+                DiscordSRV.error("Failed to delete expired messages in " + batch.channel, t);
+            }
+        }
+    }
+
+    private static void delete(TextChannel channel, List<Message> messages) {
+        boolean bulk = messages.size() > 1 && DiscordUtil.checkPermission(channel, Permission.MESSAGE_MANAGE);
+        List<Message> single = new ArrayList<>();
+        List<Message> bulkable = new ArrayList<>();
+        OffsetDateTime oldestBulkable = OffsetDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(BULK_DELETE_MAX_AGE_MILLIS));
+        for (Message message : messages) {
+            (bulk && message.getTimeCreated().isAfter(oldestBulkable) ? bulkable : single).add(message);
+        }
+
+        for (int i = 0; i < bulkable.size(); i += BULK_DELETE_LIMIT) {
+            List<Message> chunk = bulkable.subList(i, Math.min(bulkable.size(), i + BULK_DELETE_LIMIT));
+            if (chunk.size() == 1) {
+                single.add(chunk.get(0));
+                continue;
+            }
+
+            List<Message> retry = new ArrayList<>(chunk);
+            try {
+                channel.deleteMessages(retry).queue(null, throwable -> {
+                    // one of them might have been deleted already, which fails the whole request
+                    DiscordSRV.debug("Bulk deleting " + retry.size() + " expired messages in " + channel + " failed, deleting them one by one: " + throwable.getMessage());
+                    retry.forEach(ExpiringMessageService::deleteSingle);
+                });
+            } catch (RuntimeException e) {
+                DiscordSRV.debug("Bulk deleting " + retry.size() + " expired messages in " + channel + " failed, deleting them one by one: " + e.getMessage());
+                single.addAll(retry);
+            }
+        }
+        single.forEach(ExpiringMessageService::deleteSingle);
+    }
+
+    private static void deleteSingle(Message message) {
+        try {
+            DiscordUtil.deleteMessage(message);
+        } catch (RuntimeException e) {
+            DiscordSRV.debug("Failed to delete expired message " + message.getId() + " in " + message.getTextChannel() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Forget about all messages that haven't expired yet and ignore messages that expire from now on,
+     * they're left in Discord
+     */
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            slots.clear();
+        }
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @return the amount of messages waiting to be deleted
+     */
+    public synchronized int getPending() {
+        int pending = 0;
+        for (Map<String, Batch> batches : slots.values()) {
+            for (Batch batch : batches.values()) pending += batch.messages.size();
+        }
+        return pending;
+    }
+
+    /**
+     * @return the amount of messages that expired
+     */
+    public long getExpired() {
+        return expired.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ExpiringMessageService{pending=" + getPending() + ", expired=" + getExpired() + "}";
+    }
+
+    private static final class Batch {
+
+        private final TextChannel channel;
+        private final List<Message> messages = new ArrayList<>();
+
+        private Batch(TextChannel channel) {
+            this.channel = channel;
+        }
+
+    }
+
+}
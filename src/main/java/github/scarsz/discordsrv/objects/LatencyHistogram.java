@@ -0,0 +1,123 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A lock-free histogram of durations with power-of-two nanosecond buckets.</p>
+ * <p>Recording is a couple of atomic increments so it is cheap enough to be used on hot paths,
+ * percentiles are reported as the upper bound of the bucket they fall in.</p>
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record a single duration
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        if (nanos > maxNanos.get()) maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getAverageNanos() {
+        long count = this.count.get();
+        return count == 0 ? 0 : totalNanos.get() / count;
+    }
+
+    /**
+     * @param percentile the percentile to get, between 0 and 1
+     * @return the upper bound of the bucket the given percentile of recorded durations falls in, in nanoseconds
+     */
+    public long getPercentileNanos(double percentile) {
+        long count = this.count.get();
+        if (count == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(count * percentile));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= target) return Math.min(upperBoundOf(i), getMaxNanos());
+        }
+        return getMaxNanos();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    private static int bucketOf(long nanos) {
+        return nanos == 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        return bucket >= 62 ? Long.MAX_VALUE : (1L << (bucket + 1)) - 1;
+    }
+
+    /**
+     * Format a duration in nanoseconds in the most readable unit
+     */
+    public static String format(long nanos) {
+        if (nanos < TimeUnit.MICROSECONDS.toNanos(10)) return nanos + "ns";
+        if (nanos < TimeUnit.MILLISECONDS.toNanos(10)) return TimeUnit.NANOSECONDS.toMicros(nanos) + "us";
+        return TimeUnit.NANOSECONDS.toMillis(nanos) + "ms";
+    }
+
+    @Override
+    public String toString() {
+        return "calls: " + getCount()
+                + ", avg: " + format(getAverageNanos())
+                + ", p50: " + format(getPercentileNanos(0.5))
+                + ", p99: " + format(getPercentileNanos(0.99))
+                + ", max: " + format(getMaxNanos())
+                + ", total: " + format(getTotalNanos());
+    }
+
+}
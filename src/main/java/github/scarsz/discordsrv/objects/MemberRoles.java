@@ -0,0 +1,88 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.util.DiscordUtil;
+import lombok.Getter;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>The roles of a member that their Discord messages are formatted with in game, resolved once instead of for every message.</p>
+ * <p>Instances are immutable snapshots; use {@link github.scarsz.discordsrv.objects.managers.MemberRolesManager}
+ * to get one that's up to date.</p>
+ */
+public class MemberRoles {
+
+    @Getter private final List<Role> selectedRoles; // unmodifiable, per DiscordChatChannelRolesSelection
+    @Getter private final String topRoleName; // of the selected roles, "" if there are none
+    @Getter private final String topRoleInitial;
+    @Getter private final String topRoleColor; // as a Minecraft color, "" if there are no selected roles
+    @Getter private final String allRoles; // the selected roles joined with the configured separator
+    @Getter private final boolean allowedToUseColorCodes; // per DiscordChatChannelRolesAllowedToUseColorCodesInChat
+
+    private MemberRoles(Member member, ConfigSnapshot config) {
+        List<Role> roles = member.getRoles();
+
+        Set<String> rolesSelection = config.getRolesSelection();
+        boolean whitelist = config.isRolesSelectionAsWhitelist();
+        List<Role> selected = new ArrayList<>();
+        for (Role role : roles) {
+            if (rolesSelection.contains(DiscordUtil.getRoleName(role)) != whitelist) continue;
+            if (StringUtils.isBlank(role.getName())) continue;
+            selected.add(role);
+        }
+        this.selectedRoles = Collections.unmodifiableList(selected);
+
+        Role topRole = !selected.isEmpty() ? selected.get(0) : null;
+        this.topRoleName = DiscordUtil.getRoleName(topRole);
+        this.topRoleInitial = topRole != null ? topRoleName.substring(0, 1) : "";
+        this.topRoleColor = topRole != null ? DiscordUtil.convertRoleToMinecraftColor(topRole) : "";
+        this.allRoles = DiscordUtil.getFormattedRoles(selected);
+
+        Set<String> rolesAllowedToColor = config.getRolesAllowedToUseColorCodes();
+        boolean allowed = rolesAllowedToColor.contains("@everyone");
+        for (Role role : roles) {
+            if (allowed) break;
+            if (rolesAllowedToColor.contains(role.getName())) allowed = true;
+        }
+        this.allowedToUseColorCodes = allowed;
+    }
+
+    /**
+     * Resolve the current roles of the given member
+     * @param member the member
+     * @return the member's roles
+     */
+    public static MemberRoles of(Member member) {
+        return new MemberRoles(member, DiscordSRV.configSnapshot());
+    }
+
+}
@@ -0,0 +1,317 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <p>Index of the "@name" of every role and member of a guild, used to turn names typed in game into mentions.</p>
+ * <p>Names are kept in a case-insensitive trie, so a message is converted in a single pass over it:
+ * at every '@' the longest known name is replaced with it's mention, and the scan continues after it.
+ * When a role and a member share a name, the role wins, otherwise the first one added does.
+ * The index is updated one role or member at a time as they change, instead of being rebuilt.</p>
+ */
+public class MentionIndex {
+
+    private final Node root = new Node();
+    private final Map<String, Target> targets = new HashMap<>(); // by id, guarded by lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int roleCount = 0; // guarded by lock
+
+    /**
+     * Build an index of all roles and cached members of the given guild
+     * @param guild the guild to index
+     * @return the index
+     */
+    public static MentionIndex of(Guild guild) {
+        MentionIndex index = new MentionIndex();
+        // roles are added first, in order of their position, so they take precedence the same way they used to
+        guild.getRoles().forEach(index::put);
+        guild.getMemberCache().forEach(index::put);
+        return index;
+    }
+
+    /**
+     * Add the given role to the index, or update it's name
+     * @param role the role to add
+     */
+    public void put(Role role) {
+        put(role.getId(), role.getName(), role.getAsMention(), true);
+    }
+
+    /**
+     * Add the given member to the index, or update it's name
+     * @param member the member to add
+     */
+    public void put(Member member) {
+        put(member.getId(), member.getEffectiveName(), member.getAsMention(), false);
+    }
+
+    void put(String id, String name, String mention, boolean role) {
+        String key = name == null || name.isEmpty() ? null : fold("@" + name);
+        lock.writeLock().lock();
+        try {
+            Target previous = targets.get(id);
+            if (previous != null && equal(previous.key, key) && previous.mention.equals(mention)) return;
+            if (previous != null) remove(previous);
+
+            Target target = new Target(id, key, mention, role);
+            targets.put(id, target);
+            if (role) roleCount++;
+            if (key == null) return;
+
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) node = node.childOrCreate(key.charAt(i));
+            if (node.targets == null) node.targets = new LinkedHashMap<>(2);
+            node.targets.put(id, target);
+            node.updatePrimary();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the role or member with the given id from the index
+     * @param id the id of the role or member
+     */
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Target target = targets.get(id);
+            if (target != null) remove(target);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Target target) {
+        targets.remove(target.id);
+        if (target.role) roleCount--;
+        if (target.key == null) return;
+
+        Node[] path = new Node[target.key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < target.key.length(); i++) {
+            path[i + 1] = path[i].child(target.key.charAt(i));
+            if (path[i + 1] == null) return;
+        }
+
+        Node node = path[path.length - 1];
+        if (node.targets == null) return;
+        node.targets.remove(target.id);
+        if (node.targets.isEmpty()) node.targets = null;
+        node.updatePrimary();
+
+        // prune the branch of nodes that don't lead to any names anymore
+        for (int i = path.length - 1; i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(target.key.charAt(i - 1));
+        }
+    }
+
+    /**
+     * Replace all "@name" occurrences of names in this index in the given message with their mentions
+     * @param message the message to convert
+     * @return the converted message, the same instance if nothing was replaced
+     */
+    public String convert(String message) {
+        int at = message.indexOf('@');
+        if (at == -1) return message;
+
+        StringBuilder builder = null;
+        int copied = 0;
+        lock.readLock().lock();
+        try {
+            while (at != -1) {
+                Node node = root;
+                Target match = null;
+                int matchEnd = -1;
+                for (int i = at; i < message.length(); i++) {
+                    node = node.child(fold(message.charAt(i)));
+                    if (node == null) break;
+                    if (node.primary != null) {
+                        match = node.primary;
+                        matchEnd = i + 1;
+                    }
+                }
+
+                if (match == null) {
+                    at = message.indexOf('@', at + 1);
+                    continue;
+                }
+
+                if (builder == null) builder = new StringBuilder(message.length() + 32);
+                builder.append(message, copied, at).append(match.mention);
+                copied = matchEnd;
+                at = message.indexOf('@', matchEnd);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (builder == null) return message;
+        return builder.append(message, copied, message.length()).toString();
+    }
+
+    /**
+     * @return the amount of roles in this index
+     */
+    public int getRoleCount() {
+        lock.readLock().lock();
+        try {
+            return roleCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the amount of members in this index
+     */
+    public int getMemberCount() {
+        lock.readLock().lock();
+        try {
+            return targets.size() - roleCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MentionIndex{roles=" + getRoleCount() + ", members=" + getMemberCount() + "}";
+    }
+
+    private static String fold(String string) {
+        char[] chars = string.toCharArray();
+        for (int i = 0; i < chars.length; i++) chars[i] = fold(chars[i]);
+        return new String(chars);
+    }
+
+    /**
+     * Case folding per character, the same way case-insensitive unicode regex matching does it
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static final class Target {
+
+        private final String id;
+        private final String key;
+        private final String mention;
+        private final boolean role;
+
+        private Target(String id, String key, String mention, boolean role) {
+            this.id = id;
+            this.key = key;
+            this.mention = mention;
+            this.role = role;
+        }
+
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS; // sorted
+        private Node[] children = NO_CHILDREN;
+        private Map<String, Target> targets; // names ending at this node by id, null if none
+        private Target primary; // the target a name ending here resolves to
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) return children[index];
+
+            index = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node child = new Node();
+            newKeys[index] = c;
+            newChildren[index] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index < 0) return;
+            if (keys.length == 1) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private void updatePrimary() {
+            primary = null;
+            if (targets == null) return;
+            for (Target target : targets.values()) {
+                if (target.role) {
+                    primary = target;
+                    return;
+                }
+                if (primary == null) primary = target;
+            }
+        }
+
+        private boolean isEmpty() {
+            return targets == null && keys.length == 0;
+        }
+
+    }
+
+}
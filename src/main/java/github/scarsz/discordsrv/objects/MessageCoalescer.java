@@ -0,0 +1,264 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import github.scarsz.discordsrv.DiscordSRV;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Collects lines headed to the same destination within a time window into a single message,
+ * so bursts of chat cost one request per window instead of one request per line.</p>
+ * <p>A batch is sent when the window after it's first line has passed or when the next line wouldn't fit
+ * in the maximum message length anymore. Lines are sent in the order they were submitted,
+ * each on their own line of the combined message. A window of 0 or less sends every line right away.</p>
+ * <p>Messages are handed to the sender outside of the coalescer's lock, one at a time, in the order they were completed.</p>
+ *
+ * @param <T> the type of destination lines are sent to, compared with {@link Object#equals(Object)}
+ */
+public class MessageCoalescer<T> {
+
+    private final String name;
+    private final BiConsumer<T, String> sender;
+    private final LongSupplier windowMillis;
+    private final int maxLength;
+    private final Scheduler scheduler;
+    private final Map<T, Batch> batches = new HashMap<>(); // guarded by this
+    private boolean shutdown = false; // guarded by this
+    private final Queue<Outgoing<T>> outgoing = new ConcurrentLinkedQueue<>(); // added to while holding this
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    private final AtomicLong lines = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+
+    /**
+     * @param name the name of the coalescer, used for naming it's flushing thread
+     * @param sender what to do with a combined message
+     * @param windowMillis supplies how long to wait for more lines after the first line of a batch, in milliseconds
+     * @param maxLength the maximum length of a combined message
+     */
+    public MessageCoalescer(String name, BiConsumer<T, String> sender, LongSupplier windowMillis, int maxLength) {
+        this(name, sender, windowMillis, maxLength, new ExecutorScheduler(name));
+    }
+
+    MessageCoalescer(String name, BiConsumer<T, String> sender, LongSupplier windowMillis, int maxLength, Scheduler scheduler) {
+        this.name = name;
+        this.sender = sender;
+        this.windowMillis = windowMillis;
+        this.maxLength = maxLength;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Send the given line to the given destination, possibly together with other lines
+     * @param destination the destination of the line
+     * @param line the line to send
+     */
+    public void submit(T destination, String line) {
+        lines.incrementAndGet();
+        long window = windowMillis.getAsLong();
+
+        synchronized (this) {
+            Batch batch = batches.get(destination);
+            if (window <= 0 || shutdown || destination == null || line == null) {
+                // lines still waiting for this destination go first
+                if (batch != null) complete(destination, batch);
+                outgoing.add(new Outgoing<>(destination, line));
+            } else {
+                if (batch != null && batch.length() + 1 + line.length() > maxLength) {
+                    complete(destination, batch);
+                    batch = null;
+                }
+
+                if (batch == null) {
+                    Batch newBatch = new Batch();
+                    batches.put(destination, newBatch);
+                    scheduler.schedule(() -> flush(destination, newBatch), window);
+                    batch = newBatch;
+                }
+                batch.add(line);
+            }
+        }
+        sendOutgoing();
+    }
+
+    private void flush(T destination, Batch batch) {
+        synchronized (this) {
+            // the batch might have been sent already because it filled up
+            if (batches.get(destination) == batch) complete(destination, batch);
+        }
+        sendOutgoing();
+    }
+
+    private void complete(T destination, Batch batch) {
+        batches.remove(destination);
+        outgoing.add(new Outgoing<>(destination, String.join("\n", batch.lines)));
+    }
+
+    /**
+     * Send the completed messages, unless another thread is already sending them
+     */
+    private void sendOutgoing() {
+        while (!outgoing.isEmpty() && sending.compareAndSet(false, true)) {
+            try {
+                Outgoing<T> message;
+                while ((message = outgoing.poll()) != null) send(message.destination, message.message);
+            } finally {
+                sending.set(false);
+            }
+            // a message added after the last poll but before releasing the flag is picked up by the next loop
+        }
+    }
+
+    private void send(T destination, String message) {
+        messages.incrementAndGet();
+        try {
+            sender.accept(destination, message);
+        } catch (Throwable t) {
+            DiscordSRV.error("Failed to send coalesced message in " + name + " to " + destination, t);
+        }
+    }
+
+    /**
+     * Send all waiting lines right away
+     */
+    public void flushAll() {
+        synchronized (this) {
+            new ArrayList<>(batches.keySet()).forEach(destination -> complete(destination, batches.get(destination)));
+        }
+        sendOutgoing();
+    }
+
+    /**
+     * Send all waiting lines and send every line submitted from now on right away
+     */
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+        }
+        flushAll();
+        scheduler.shutdown();
+    }
+
+    /**
+     * @return the amount of lines submitted
+     */
+    public long getLineCount() {
+        return lines.get();
+    }
+
+    /**
+     * @return the amount of messages sent
+     */
+    public long getMessageCount() {
+        return messages.get();
+    }
+
+    /**
+     * @return the amount of lines currently waiting to be sent
+     */
+    public synchronized int getWaitingLines() {
+        return batches.values().stream().mapToInt(batch -> batch.lines.size()).sum();
+    }
+
+    @Override
+    public String toString() {
+        return name + "{lines=" + getLineCount() + ", messages=" + getMessageCount() + ", waiting=" + getWaitingLines() + "}";
+    }
+
+    /**
+     * Runs the flushing of batches after their window has passed
+     */
+    interface Scheduler {
+
+        void schedule(Runnable task, long delayMillis);
+
+        void shutdown();
+
+    }
+
+    private static final class ExecutorScheduler implements Scheduler {
+
+        private final ScheduledThreadPoolExecutor executor;
+
+        private ExecutorScheduler(String name) {
+            this.executor = new ScheduledThreadPoolExecutor(1,
+                    new ThreadFactoryBuilder().setNameFormat("DiscordSRV - " + name).setDaemon(true).build());
+            this.executor.setKeepAliveTime(30, TimeUnit.SECONDS);
+            this.executor.allowCoreThreadTimeOut(true);
+            this.executor.setRemoveOnCancelPolicy(true);
+        }
+
+        @Override
+        public void schedule(Runnable task, long delayMillis) {
+            executor.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void shutdown() {
+            executor.shutdownNow();
+        }
+
+    }
+
+    private static final class Outgoing<T> {
+
+        private final T destination;
+        private final String message;
+
+        private Outgoing(T destination, String message) {
+            this.destination = destination;
+            this.message = message;
+        }
+
+    }
+
+    private static final class Batch {
+
+        private final List<String> lines = new ArrayList<>();
+        private int length = -1; // no separator before the first line
+
+        private void add(String line) {
+            lines.add(line);
+            length += line.length() + 1;
+        }
+
+        private int length() {
+            return Math.max(0, length);
+        }
+
+    }
+
+}
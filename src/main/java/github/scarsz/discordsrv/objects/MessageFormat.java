@@ -28,6 +28,7 @@ import net.dv8tion.jda.api.entities.MessageEmbed;
 
 import java.awt.*;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -63,4 +64,29 @@ public class MessageFormat {
                 || imageUrl != null || fields != null || footerText != null;
     }
 
+    /**
+     * @return a copy of this message format that can be modified without affecting this one
+     */
+    public MessageFormat copy() {
+        MessageFormat copy = new MessageFormat();
+        copy.content = content;
+        copy.authorName = authorName;
+        copy.authorUrl = authorUrl;
+        copy.authorImageUrl = authorImageUrl;
+        copy.thumbnailUrl = thumbnailUrl;
+        copy.title = title;
+        copy.titleUrl = titleUrl;
+        copy.description = description;
+        copy.imageUrl = imageUrl;
+        copy.footerText = footerText;
+        copy.footerIconUrl = footerIconUrl;
+        copy.timestamp = timestamp;
+        copy.color = color;
+        copy.fields = fields != null ? new ArrayList<>(fields) : null;
+        copy.useWebhooks = useWebhooks;
+        copy.webhookAvatarUrl = webhookAvatarUrl;
+        copy.webhookName = webhookName;
+        return copy;
+    }
+
 }
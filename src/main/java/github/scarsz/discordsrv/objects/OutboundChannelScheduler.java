@@ -0,0 +1,655 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.api.events.DiscordGuildMessageSentEvent;
+import github.scarsz.discordsrv.objects.threads.OrderedTaskExecutor.OverflowPolicy;
+import github.scarsz.discordsrv.util.DiscordUtil;
+import net.dv8tion.jda.api.MessageBuilder;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.exceptions.PermissionException;
+import net.dv8tion.jda.api.requests.restaction.MessageAction;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * <p>Sends messages and topic updates to Discord channels within the rate limits Discord puts on every channel,
+ * instead of handing everything to JDA right away and letting it find the limit by hitting it.</p>
+ * <p>Every channel has a bucket of {@link #MESSAGE_BUCKET_SIZE} messages per {@link #MESSAGE_BUCKET_WINDOW_MILLIS}
+ * and one of {@link #TOPIC_BUCKET_SIZE} topic updates per {@link #TOPIC_BUCKET_WINDOW_MILLIS}.
+ * While a bucket has budget left requests are sent right away. Once it's used up, requests wait in order
+ * until there's budget again, waiting plain text messages are merged into as few messages as fit
+ * and waiting topic updates are replaced by the latest one.</p>
+ * <p>Requests within their channel's rate limit also share a global budget of {@link #GLOBAL_BUDGET_SIZE} requests
+ * per {@link #GLOBAL_BUDGET_WINDOW_MILLIS}. When more is waiting than that allows, every {@link Priority}
+ * gets a share of the budget by it's weight, so bulk traffic like the console can't hold up chat.</p>
+ * <p>At most {@link #CHANNEL_CAPACITY} requests wait per channel and {@link #LANE_CAPACITY} per priority,
+ * beyond that the {@link OverflowPolicy} decides which request is dropped.</p>
+ */
+public class OutboundChannelScheduler {
+
+    public static final int MESSAGE_BUCKET_SIZE = 5;
+    public static final long MESSAGE_BUCKET_WINDOW_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    public static final int TOPIC_BUCKET_SIZE = 2;
+    public static final long TOPIC_BUCKET_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    /**
+     * Requests per {@link #GLOBAL_BUDGET_WINDOW_MILLIS} across all channels, kept below Discord's global limit of 50
+     * so JDA's own requests like reactions and role changes still have room
+     */
+    public static final int GLOBAL_BUDGET_SIZE = 40;
+    public static final long GLOBAL_BUDGET_WINDOW_MILLIS = TimeUnit.SECONDS.toMillis(1);
+    public static final int CHANNEL_CAPACITY = 1000;
+    public static final int LANE_CAPACITY = 1000;
+    private static final long DROP_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * The kinds of outbound traffic, sharing the global request budget by their weight when there's more
+     * waiting than the budget allows
+     */
+    public enum Priority {
+
+        /** Chat relayed from Minecraft and replies to Discord users */
+        CHAT(8),
+        /** Alerts configured for staff */
+        ALERT(4),
+        /** Player join, leave, death and advancement messages and server status messages */
+        LIFECYCLE(4),
+        /** The console channel */
+        CONSOLE(1),
+        /** Channel topics */
+        COSMETIC(1);
+
+        private final int weight;
+
+        Priority(int weight) {
+            this.weight = weight;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+    }
+
+    private final Scheduler scheduler;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private volatile boolean shutdown = false;
+    private final int channelCapacity;
+    private final int laneCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong lastDropWarning = new AtomicLong();
+
+    private final Bucket globalBudget; // guarded by lanes
+    private final Lane[] lanes = new Lane[Priority.values().length]; // by priority ordinal
+    private int cursor = 0; // the lane deficit round robin is at, guarded by lanes
+    private boolean dispatchScheduled = false; // guarded by lanes
+
+    public OutboundChannelScheduler() {
+        this(GLOBAL_BUDGET_SIZE, GLOBAL_BUDGET_WINDOW_MILLIS);
+    }
+
+    OutboundChannelScheduler(int globalBudgetSize, long globalBudgetWindowMillis) {
+        this(globalBudgetSize, globalBudgetWindowMillis, CHANNEL_CAPACITY, LANE_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    OutboundChannelScheduler(int globalBudgetSize, long globalBudgetWindowMillis, int channelCapacity, int laneCapacity, OverflowPolicy overflowPolicy) {
+        this(globalBudgetSize, globalBudgetWindowMillis, channelCapacity, laneCapacity, overflowPolicy, new ExecutorScheduler());
+    }
+
+    OutboundChannelScheduler(int globalBudgetSize, long globalBudgetWindowMillis, int channelCapacity, int laneCapacity, OverflowPolicy overflowPolicy, Scheduler scheduler) {
+        this.channelCapacity = channelCapacity;
+        this.laneCapacity = laneCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.scheduler = scheduler;
+        this.globalBudget = new Bucket(globalBudgetSize, globalBudgetWindowMillis);
+        for (Priority priority : Priority.values()) lanes[priority.ordinal()] = new Lane(priority);
+    }
+
+    /**
+     * Send the given chat message to the given channel as soon as it's rate limit allows
+     * @see #sendMessage(TextChannel, Message, boolean, boolean, Consumer, Priority)
+     */
+    public void sendMessage(TextChannel channel, Message message, boolean allowMassPing, boolean callEvent, Consumer<Message> consumer) {
+        sendMessage(channel, message, allowMassPing, callEvent, consumer, Priority.CHAT);
+    }
+
+    /**
+     * Send the given message to the given channel as soon as it's rate limit and the global budget allow
+     * @param channel the channel to send the message to
+     * @param message the message to send
+     * @param allowMassPing whether to allow @everyone/@here pings
+     * @param callEvent whether to call {@link DiscordGuildMessageSentEvent} once the message is sent
+     * @param consumer what to do with the sent message, null if nothing. Messages with a consumer are never merged
+     * @param priority the kind of traffic the message is
+     */
+    public void sendMessage(TextChannel channel, Message message, boolean allowMassPing, boolean callEvent, Consumer<Message> consumer, Priority priority) {
+        if (channel == null) {
+            DiscordSRV.debug("Tried sending a message to a null channel");
+            return;
+        }
+
+        submit(channel.getId(), MESSAGE_BUCKET_SIZE, MESSAGE_BUCKET_WINDOW_MILLIS, priority,
+                new OutboundMessage(channel, message, allowMassPing, callEvent, consumer));
+    }
+
+    /**
+     * Set the topic of the given channel as soon as it's rate limit allows, replacing any topic still waiting
+     * @param channel the channel to set the topic of
+     * @param topic the new topic
+     */
+    public void setTopic(TextChannel channel, String topic) {
+        if (channel == null) {
+            DiscordSRV.debug("Attempted to set status of null channel");
+            return;
+        }
+
+        submit("topic:" + channel.getId(), TOPIC_BUCKET_SIZE, TOPIC_BUCKET_WINDOW_MILLIS, Priority.COSMETIC, new OutboundTopic(channel, topic));
+    }
+
+    void submit(String key, int bucketSize, long windowMillis, Priority priority, Outbound outbound) {
+        Channel channel = channels.computeIfAbsent(key, k -> new Channel(k, bucketSize, windowMillis));
+        synchronized (channel) {
+            channel.submitted++;
+            if (shutdown || (channel.queue.isEmpty() && channel.bucket.tryAcquire(scheduler.currentTimeMillis()))) {
+                channel.latency.record(0);
+                dispatch(channel, new Pending(outbound, priority));
+                return;
+            }
+
+            channel.deferred++;
+            if (channel.queue.size() >= channelCapacity) {
+                channel.dropped++;
+                warnDropped(key, channelCapacity);
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) return;
+                channel.queue.poll();
+            }
+            channel.queue.add(new Pending(outbound, priority));
+            channel.maxDepth = Math.max(channel.maxDepth, channel.queue.size());
+            scheduleDrain(channel);
+        }
+    }
+
+    private void scheduleDrain(Channel channel) {
+        if (channel.drainScheduled || channel.queue.isEmpty() || shutdown) return;
+        channel.drainScheduled = true;
+        long delay = Math.max(1, channel.bucket.nextAvailable() - scheduler.currentTimeMillis());
+        scheduler.schedule(() -> drain(channel, false), delay);
+    }
+
+    private void drain(Channel channel, boolean force) {
+        synchronized (channel) {
+            channel.drainScheduled = false;
+            long now = scheduler.currentTimeMillis();
+            while (!channel.queue.isEmpty() && (force || channel.bucket.tryAcquire(now))) {
+                Pending pending = channel.queue.poll();
+                channel.latency.record(System.nanoTime() - pending.queuedAt);
+
+                // everything that waited behind it can go along, as long as it fits
+                Pending next;
+                while ((next = channel.queue.peek()) != null) {
+                    Outbound merged = pending.outbound.merge(next.outbound);
+                    if (merged == null) break;
+                    channel.queue.poll();
+                    channel.merged++;
+                    channel.latency.record(System.nanoTime() - next.queuedAt);
+                    Priority priority = next.priority.ordinal() < pending.priority.ordinal() ? next.priority : pending.priority;
+                    pending = new Pending(merged, priority, pending.queuedAt);
+                }
+                dispatch(channel, new Pending(pending.outbound, pending.priority));
+            }
+            scheduleDrain(channel);
+        }
+    }
+
+    /**
+     * Send a request that's within it's channel's rate limit, or have it wait in the lane of it's priority
+     * if the global budget is used up or other requests are waiting for it already
+     */
+    private void dispatch(Channel channel, Pending pending) {
+        synchronized (lanes) {
+            Lane lane = lanes[pending.priority.ordinal()];
+            lane.submitted++;
+            if (shutdown || (getWaiting() == 0 && globalBudget.tryAcquire(scheduler.currentTimeMillis()))) {
+                lane.latency.record(0);
+                send(channel, lane, pending.outbound);
+                return;
+            }
+
+            if (lane.queue.size() >= laneCapacity) {
+                lane.dropped++;
+                warnDropped(pending.priority.name(), laneCapacity);
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) return;
+                lane.queue.poll();
+            }
+            lane.queue.add(new Ready(channel, pending.outbound));
+            lane.maxDepth = Math.max(lane.maxDepth, lane.queue.size());
+            scheduleDispatch();
+        }
+    }
+
+    private void warnDropped(String queue, int capacity) {
+        long dropped = this.dropped.incrementAndGet();
+        long now = System.nanoTime();
+        long last = lastDropWarning.get();
+        if (last != 0 && now - last < DROP_WARNING_INTERVAL_NANOS) return;
+        if (!lastDropWarning.compareAndSet(last, now)) return;
+
+        DiscordSRV.warning("Outbound queue for " + queue + " is full (" + capacity + " requests), dropped the "
+                + (overflowPolicy == OverflowPolicy.DROP_OLDEST ? "oldest" : "newest") + " request. "
+                + dropped + " requests were dropped so far");
+    }
+
+    private void scheduleDispatch() {
+        if (dispatchScheduled || getWaiting() == 0 || shutdown) return;
+        dispatchScheduled = true;
+        long delay = Math.max(1, globalBudget.nextAvailable() - scheduler.currentTimeMillis());
+        scheduler.schedule(() -> drainLanes(false), delay);
+    }
+
+    private void drainLanes(boolean force) {
+        synchronized (lanes) {
+            dispatchScheduled = false;
+            long now = scheduler.currentTimeMillis();
+            while (getWaiting() > 0 && (force || globalBudget.tryAcquire(now))) {
+                Lane lane = nextLane();
+                Ready ready = lane.queue.poll();
+                lane.latency.record(System.nanoTime() - ready.queuedAt);
+                send(ready.channel, lane, ready.outbound);
+            }
+            scheduleDispatch();
+        }
+    }
+
+    /**
+     * Deficit round robin over the lanes with waiting requests: every turn a lane gets it's weight in credit,
+     * and sends one request per credit before it's the next lane's turn
+     * @return the lane to send the next request from, which has at least one waiting
+     */
+    private Lane nextLane() {
+        while (true) {
+            Lane lane = lanes[cursor];
+            if (!lane.queue.isEmpty() && lane.deficit >= 1) {
+                lane.deficit--;
+                return lane;
+            }
+            if (lane.queue.isEmpty()) lane.deficit = 0;
+
+            cursor = (cursor + 1) % lanes.length;
+            Lane next = lanes[cursor];
+            if (!next.queue.isEmpty()) next.deficit += next.priority.weight;
+        }
+    }
+
+    private int getWaiting() {
+        int waiting = 0;
+        for (Lane lane : lanes) waiting += lane.queue.size();
+        return waiting;
+    }
+
+    private void send(Channel channel, Lane lane, Outbound outbound) {
+        channel.sent.incrementAndGet();
+        lane.sent++;
+        try {
+            outbound.send();
+        } catch (Throwable t) {
+            DiscordSRV.error("Failed to send queued request for " + channel.key, t);
+        }
+    }
+
+    /**
+     * Send everything that's still waiting right away and send everything submitted from now on right away
+     */
+    public void shutdown() {
+        shutdown = true;
+        drainLanes(true);
+        channels.values().forEach(channel -> drain(channel, true));
+        scheduler.shutdown();
+    }
+
+    /**
+     * @return the amount of requests waiting for their channel's rate limit or the global budget
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Channel channel : channels.values()) {
+            synchronized (channel) {
+                depth += channel.queue.size();
+            }
+        }
+        synchronized (lanes) {
+            return depth + getWaiting();
+        }
+    }
+
+    /**
+     * @param channel the channel
+     * @return the amount of messages waiting for the given channel's rate limit
+     */
+    public int getQueueDepth(TextChannel channel) {
+        Channel state = channels.get(channel.getId());
+        if (state == null) return 0;
+        synchronized (state) {
+            return state.queue.size();
+        }
+    }
+
+    /**
+     * @param priority the priority
+     * @return the amount of requests of the given priority waiting for the global budget
+     */
+    public int getQueueDepth(Priority priority) {
+        synchronized (lanes) {
+            return lanes[priority.ordinal()].queue.size();
+        }
+    }
+
+    /**
+     * @return the amount of requests dropped because their queue was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return a human readable report of the requests and waiting times of every priority and channel
+     */
+    public String getStatistics() {
+        StringJoiner joiner = new StringJoiner("\n");
+        synchronized (lanes) {
+            for (Lane lane : lanes) joiner.add(lane.toString());
+        }
+        channels.values().forEach(channel -> joiner.add(channel.toString()));
+        return joiner.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "OutboundChannelScheduler{channels=" + channels.size() + ", waiting=" + getQueueDepth() + ", dropped=" + getDroppedCount() + "}";
+    }
+
+    /**
+     * Tells the time the rate limits are measured in and runs the draining of queues once they have budget again
+     */
+    interface Scheduler {
+
+        long currentTimeMillis();
+
+        void schedule(Runnable task, long delayMillis);
+
+        void shutdown();
+
+    }
+
+    private static final class ExecutorScheduler implements Scheduler {
+
+        private final ScheduledThreadPoolExecutor executor;
+
+        private ExecutorScheduler() {
+            this.executor = new ScheduledThreadPoolExecutor(1,
+                    new ThreadFactoryBuilder().setNameFormat("DiscordSRV - Outbound Scheduler").setDaemon(true).build());
+            this.executor.setKeepAliveTime(30, TimeUnit.SECONDS);
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public void schedule(Runnable task, long delayMillis) {
+            executor.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void shutdown() {
+            executor.shutdownNow();
+        }
+
+    }
+
+    interface Outbound {
+
+        void send();
+
+        /**
+         * @param next the request that was submitted after this one
+         * @return a single request doing what both this and the given request do, null if they can't be merged
+         */
+        Outbound merge(Outbound next);
+
+    }
+
+    private static final class Pending {
+
+        private final Outbound outbound;
+        private final Priority priority;
+        private final long queuedAt;
+
+        private Pending(Outbound outbound, Priority priority) {
+            this(outbound, priority, System.nanoTime());
+        }
+
+        private Pending(Outbound outbound, Priority priority, long queuedAt) {
+            this.outbound = outbound;
+            this.priority = priority;
+            this.queuedAt = queuedAt;
+        }
+
+    }
+
+    private static final class Ready {
+
+        private final Channel channel;
+        private final Outbound outbound;
+        private final long queuedAt = System.nanoTime();
+
+        private Ready(Channel channel, Outbound outbound) {
+            this.channel = channel;
+            this.outbound = outbound;
+        }
+
+    }
+
+    /**
+     * Sliding window of the times the last requests were sent at
+     */
+    private static final class Bucket {
+
+        private final long windowMillis;
+        private final long[] sentAt; // ring, oldest first from the index of oldest
+        private int oldest = 0;
+
+        private Bucket(int size, long windowMillis) {
+            this.windowMillis = windowMillis;
+            this.sentAt = new long[size];
+            Arrays.fill(sentAt, Long.MIN_VALUE / 2);
+        }
+
+        private boolean tryAcquire(long now) {
+            if (now - sentAt[oldest] < windowMillis) return false;
+            sentAt[oldest] = now;
+            oldest = (oldest + 1) % sentAt.length;
+            return true;
+        }
+
+        private long nextAvailable() {
+            return sentAt[oldest] + windowMillis;
+        }
+
+    }
+
+    private static final class Channel {
+
+        private final String key;
+        private final Bucket bucket; // guarded by this
+        private final Deque<Pending> queue = new ArrayDeque<>(); // guarded by this
+        private boolean drainScheduled = false; // guarded by this
+
+        private long submitted, deferred, merged, dropped; // guarded by this
+        private final AtomicLong sent = new AtomicLong();
+        private int maxDepth; // guarded by this
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private Channel(String key, int bucketSize, long windowMillis) {
+            this.key = key;
+            this.bucket = new Bucket(bucketSize, windowMillis);
+        }
+
+        @Override
+        public synchronized String toString() {
+            return key + " -> waiting: " + queue.size() + " (max " + maxDepth + "), submitted: " + submitted
+                    + ", sent: " + sent + ", deferred: " + deferred + ", merged: " + merged + ", dropped: " + dropped + ", wait " + latency;
+        }
+
+    }
+
+    /**
+     * Requests of one priority that are within their channel's rate limit but waiting for the global budget,
+     * guarded by the lanes array
+     */
+    private static final class Lane {
+
+        private final Priority priority;
+        private final Deque<Ready> queue = new ArrayDeque<>();
+        private int deficit = 0;
+
+        private long submitted, sent, dropped;
+        private int maxDepth;
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private Lane(Priority priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public String toString() {
+            return priority + " -> waiting: " + queue.size() + " (max " + maxDepth + "), submitted: " + submitted
+                    + ", sent: " + sent + ", dropped: " + dropped + ", wait " + latency;
+        }
+
+    }
+
+    private static final class OutboundMessage implements Outbound {
+
+        private final TextChannel channel;
+        private final Message message;
+        private final boolean allowMassPing;
+        private final boolean callEvent;
+        private final Consumer<Message> consumer;
+
+        private OutboundMessage(TextChannel channel, Message message, boolean allowMassPing, boolean callEvent, Consumer<Message> consumer) {
+            this.channel = channel;
+            this.message = message;
+            this.allowMassPing = allowMassPing;
+            this.callEvent = callEvent;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void send() {
+            try {
+                MessageAction action = channel.sendMessage(message);
+                if (allowMassPing) action = action.allowedMentions(EnumSet.allOf(Message.MentionType.class));
+                action.queue(sentMessage -> {
+                    if (callEvent && DiscordSRV.api.hasSubscribers(DiscordGuildMessageSentEvent.class)) DiscordSRV.api.callEvent(new DiscordGuildMessageSentEvent(DiscordUtil.getJda(), sentMessage));
+                    if (consumer != null) consumer.accept(sentMessage);
+                }, throwable -> DiscordSRV.error("Failed to send message to channel " + channel + ": " + throwable.getMessage()));
+            } catch (PermissionException e) {
+                if (e.getPermission() != Permission.UNKNOWN) {
+                    DiscordSRV.warning("Could not send message in channel " + channel + " because the bot does not have the \"" + e.getPermission().getName() + "\" permission");
+                } else {
+                    DiscordSRV.warning("Could not send message in channel " + channel + " because \"" + e.getMessage() + "\"");
+                }
+            } catch (IllegalStateException e) {
+                DiscordSRV.error("Could not send message to channel " + channel + ": " + e.getMessage());
+            }
+        }
+
+        @Override
+        public Outbound merge(Outbound next) {
+            if (!(next instanceof OutboundMessage)) return null;
+            OutboundMessage other = (OutboundMessage) next;
+            if (consumer != null || other.consumer != null || allowMassPing != other.allowMassPing) return null;
+            if (!message.getEmbeds().isEmpty() || !other.message.getEmbeds().isEmpty() || message.isTTS() || other.message.isTTS()) return null;
+
+            String content = message.getContentRaw();
+            String otherContent = other.message.getContentRaw();
+            if (content.length() + 1 + otherContent.length() > Message.MAX_CONTENT_LENGTH) return null;
+
+            Message merged = new MessageBuilder().append(content).append('\n').append(otherContent).build();
+            return new OutboundMessage(channel, merged, allowMassPing, callEvent || other.callEvent, null);
+        }
+
+    }
+
+    private static final class OutboundTopic implements Outbound {
+
+        private final TextChannel channel;
+        private final String topic;
+
+        private OutboundTopic(TextChannel channel, String topic) {
+            this.channel = channel;
+            this.topic = topic;
+        }
+
+        @Override
+        public void send() {
+            try {
+                channel.getManager().setTopic(topic).queue();
+            } catch (Exception e) {
+                if (e instanceof PermissionException) {
+                    PermissionException pe = (PermissionException) e;
+                    if (pe.getPermission() != Permission.UNKNOWN) {
+                        DiscordSRV.warning("Could not set topic of channel " + channel + " because the bot does not have the \"" + pe.getPermission().getName() + "\" permission");
+                    }
+                } else {
+                    DiscordSRV.warning("Could not set topic of channel " + channel + " because \"" + e.getMessage() + "\"");
+                }
+            }
+        }
+
+        @Override
+        public Outbound merge(Outbound next) {
+            // only the latest topic matters
+            return next instanceof OutboundTopic ? next : null;
+        }
+
+    }
+
+}
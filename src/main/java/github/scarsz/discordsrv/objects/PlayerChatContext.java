@@ -0,0 +1,77 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.hooks.VaultHook;
+import github.scarsz.discordsrv.hooks.world.MultiverseCoreHook;
+import github.scarsz.discordsrv.util.DiscordUtil;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+/**
+ * <p>The data about a player that their chat messages are formatted with, looked up once instead of for every message.</p>
+ * <p>Instances are immutable snapshots; use {@link github.scarsz.discordsrv.objects.managers.PlayerChatContextManager}
+ * to get one that's up to date.</p>
+ */
+public class PlayerChatContext {
+
+    @Getter private final UUID uuid;
+    @Getter private final String worldName;
+    @Getter private final String worldAlias; // stripped
+    @Getter private final String rawDisplayName;
+    @Getter private final String displayName; // stripped
+    @Getter private final String primaryGroup; // as returned by Vault, " " if there is none
+    @Getter private final String avatarUrl;
+    @Getter private final long createdAt = System.currentTimeMillis();
+
+    private PlayerChatContext(Player player) {
+        this.uuid = player.getUniqueId();
+        this.worldName = player.getWorld().getName();
+        this.worldAlias = DiscordUtil.strip(MultiverseCoreHook.getWorldAlias(worldName));
+        this.rawDisplayName = player.getDisplayName();
+        this.displayName = DiscordUtil.strip(rawDisplayName);
+        this.primaryGroup = VaultHook.getPrimaryGroup(player);
+        this.avatarUrl = DiscordSRV.getAvatarUrl(player);
+    }
+
+    /**
+     * Look up the current chat context of the given player
+     * @param player the player
+     * @return the player's chat context
+     */
+    public static PlayerChatContext of(Player player) {
+        return new PlayerChatContext(player);
+    }
+
+    /**
+     * @param player the player this context is for
+     * @return whether the player changed in a way that's visible without any lookups since this context was created
+     */
+    public boolean isOutdated(Player player) {
+        return !worldName.equals(player.getWorld().getName()) || !rawDisplayName.equals(player.getDisplayName());
+    }
+
+}
@@ -0,0 +1,176 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.util.DiscordUtil;
+import github.scarsz.discordsrv.util.PlayerUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.*;
+
+/**
+ * <p>Index of the "@name" and "@displayname" of every online player, lower case, used to find out which players
+ * were mentioned in a message without going through every online player for every message.</p>
+ * <p>Players are added when they join and removed when they quit. Since there's no event for display name changes,
+ * display names are updated when the player chats and every {@link #REFRESH_INTERVAL_TICKS}.</p>
+ */
+public class PlayerNameIndex implements Listener {
+
+    public static final long REFRESH_INTERVAL_TICKS = 100;
+
+    private final Map<String, Set<Player>> players = new HashMap<>(); // by key, guarded by this
+    private final Map<Player, String[]> keys = new HashMap<>(); // guarded by this
+
+    /**
+     * Index the current name and display name of the given player
+     * @param player the player
+     */
+    public void update(Player player) {
+        String[] playerKeys = keysOf(player.getName(), player.getDisplayName());
+        synchronized (this) {
+            // checked while holding the lock, so a quit handled in the meantime doesn't get undone.
+            // anything that still slips through is removed by the next refresh
+            if (!player.isOnline()) {
+                remove(player);
+                return;
+            }
+
+            String[] previous = keys.put(player, playerKeys);
+            if (previous != null) {
+                if (Arrays.equals(previous, playerKeys)) return;
+                for (String key : previous) unindex(key, player);
+            }
+            for (String key : playerKeys) players.computeIfAbsent(key, k -> new HashSet<>(2)).add(player);
+        }
+    }
+
+    /**
+     * Remove the given player from the index
+     * @param player the player
+     */
+    public synchronized void remove(Player player) {
+        String[] previous = keys.remove(player);
+        if (previous != null) {
+            for (String key : previous) unindex(key, player);
+        }
+    }
+
+    private void unindex(String key, Player player) {
+        Set<Player> indexed = players.get(key);
+        if (indexed == null) return;
+        indexed.remove(player);
+        if (indexed.isEmpty()) players.remove(key);
+    }
+
+    /**
+     * Index the current display names of all online players again, and remove the players that aren't online anymore
+     */
+    public void refresh() {
+        List<Player> online = PlayerUtil.getOnlinePlayersSnapshot(false);
+        online.forEach(this::update);
+
+        Set<Player> onlineSet = new HashSet<>(online);
+        synchronized (this) {
+            new ArrayList<>(keys.keySet()).stream()
+                    // a player that joined after the snapshot was taken is online already
+                    .filter(player -> !onlineSet.contains(player) && !player.isOnline())
+                    .forEach(this::remove);
+        }
+    }
+
+    /**
+     * Find the players mentioned in the given message by their "@name" or "@displayname", ignoring case.
+     * A mention is a run of letters, digits, underscores and at signs, like it always has been.
+     * @param message the message to search, without formatting codes
+     * @return the mentioned players, empty if none
+     */
+    public Set<Player> findMentioned(String message) {
+        Set<Player> mentioned = null;
+        int length = message.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            if (i < length && isMentionChar(message.charAt(i))) {
+                if (start == -1) start = i;
+                continue;
+            }
+            if (start != -1 && message.charAt(start) == '@') {
+                Set<Player> found;
+                synchronized (this) {
+                    found = players.get(message.substring(start, i).toLowerCase());
+                    if (found != null) {
+                        if (mentioned == null) mentioned = new HashSet<>();
+                        mentioned.addAll(found);
+                    }
+                }
+            }
+            start = -1;
+        }
+        return mentioned != null ? mentioned : Collections.emptySet();
+    }
+
+    /**
+     * @return the amount of players in the index
+     */
+    public synchronized int size() {
+        return keys.size();
+    }
+
+    static String[] keysOf(String name, String displayName) {
+        String nameKey = "@" + name.toLowerCase();
+        String displayNameKey = displayName != null ? "@" + DiscordUtil.strip(displayName.toLowerCase()) : nameKey;
+        return nameKey.equals(displayNameKey) ? new String[] {nameKey} : new String[] {nameKey, displayNameKey};
+    }
+
+    private static boolean isMentionChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '@';
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        update(player);
+        // give other plugins a second to set the player's display name
+        Bukkit.getScheduler().runTaskLaterAsynchronously(DiscordSRV.getPlugin(), () -> {
+            if (player.isOnline()) update(player);
+        }, 20);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChat(AsyncPlayerChatEvent event) {
+        update(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        remove(event.getPlayer());
+    }
+
+}
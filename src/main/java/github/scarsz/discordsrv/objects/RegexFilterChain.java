@@ -0,0 +1,226 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>An immutable, ordered chain of regex replacement filters, applied in the order they were configured.</p>
+ * <p>Filters that require a literal piece of text to match skip the regex engine entirely for input
+ * that doesn't contain it, and input a filter doesn't match is passed on without being copied.
+ * Every filter keeps counters of how often it was evaluated, skipped and matched, and how long it took.</p>
+ */
+public class RegexFilterChain {
+
+    public static final RegexFilterChain EMPTY = new RegexFilterChain(Collections.emptyMap());
+
+    private final List<Filter> filters;
+    private final Map<Pattern, String> patterns;
+
+    /**
+     * @param patterns the patterns to filter with and their replacements, in the order they should be applied
+     */
+    public RegexFilterChain(Map<Pattern, String> patterns) {
+        List<Filter> filters = new ArrayList<>(patterns.size());
+        patterns.forEach((pattern, replacement) -> filters.add(new Filter(pattern, replacement)));
+        this.filters = Collections.unmodifiableList(filters);
+        this.patterns = Collections.unmodifiableMap(new LinkedHashMap<>(patterns));
+    }
+
+    /**
+     * Run the given input through all filters
+     *
+     * @param input the input to filter
+     * @return the filtered input
+     */
+    public String apply(String input) {
+        for (Filter filter : filters) input = filter.apply(input);
+        return input;
+    }
+
+    /**
+     * Run the given input through the filters, stopping as soon as a filter leaves it blank
+     *
+     * @param input the input to filter
+     * @param clearedBy called with the filter that left the input blank, if any
+     * @return the filtered input, or null if a filter left it blank
+     */
+    public String apply(String input, Consumer<Filter> clearedBy) {
+        for (Filter filter : filters) {
+            input = filter.apply(input);
+            if (isBlank(input)) {
+                if (clearedBy != null) clearedBy.accept(filter);
+                return null;
+            }
+        }
+        return input;
+    }
+
+    public List<Filter> getFilters() {
+        return filters;
+    }
+
+    /**
+     * @return an unmodifiable view of the patterns in this chain and their replacements, in order
+     */
+    public Map<Pattern, String> getPatterns() {
+        return patterns;
+    }
+
+    public boolean isEmpty() {
+        return filters.isEmpty();
+    }
+
+    public void resetStatistics() {
+        filters.forEach(Filter::resetStatistics);
+    }
+
+    @Override
+    public String toString() {
+        if (filters.isEmpty()) return "no filters";
+        StringJoiner joiner = new StringJoiner("\n");
+        filters.forEach(filter -> joiner.add(filter.toString()));
+        return joiner.toString();
+    }
+
+    private static boolean isBlank(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (!Character.isWhitespace(input.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    public static class Filter {
+
+        private final Pattern pattern;
+        private final String replacement;
+        private final String requiredLiteral;
+
+        private final AtomicLong evaluations = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong hits = new AtomicLong();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private Filter(Pattern pattern, String replacement) {
+            this.pattern = pattern;
+            this.replacement = replacement;
+            this.requiredLiteral = requiredLiteral(pattern);
+        }
+
+        private String apply(String input) {
+            evaluations.incrementAndGet();
+            if (requiredLiteral != null && !input.contains(requiredLiteral)) {
+                skipped.incrementAndGet();
+                return input;
+            }
+
+            long start = System.nanoTime();
+            try {
+                Matcher matcher = pattern.matcher(input);
+                if (!matcher.find()) return input;
+                hits.incrementAndGet();
+                return matcher.replaceAll(replacement);
+            } finally {
+                latency.record(System.nanoTime() - start);
+            }
+        }
+
+        public Pattern getPattern() {
+            return pattern;
+        }
+
+        public String getReplacement() {
+            return replacement;
+        }
+
+        /**
+         * @return the literal text input has to contain for this filter's pattern to match, null if unknown
+         */
+        public String getRequiredLiteral() {
+            return requiredLiteral;
+        }
+
+        public long getEvaluations() {
+            return evaluations.get();
+        }
+
+        /**
+         * @return how often the regex engine was skipped because the input didn't contain the required literal
+         */
+        public long getSkipped() {
+            return skipped.get();
+        }
+
+        public long getHits() {
+            return hits.get();
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        private void resetStatistics() {
+            evaluations.set(0);
+            skipped.set(0);
+            hits.set(0);
+            latency.reset();
+        }
+
+        @Override
+        public String toString() {
+            return pattern.pattern() + " -> evaluated: " + evaluations.get() + ", skipped: " + skipped.get()
+                    + ", hits: " + hits.get() + ", regex " + latency;
+        }
+
+    }
+
+    /**
+     * Find the literal text at the start of the given pattern that every match has to contain.
+     * Only patterns that are simple enough to be sure about get one, anything else returns null.
+     */
+    static String requiredLiteral(Pattern pattern) {
+        if ((pattern.flags() & ~Pattern.DOTALL) != 0) return null;
+        String regex = pattern.pattern();
+        // alternation or inline flags could make the leading literal optional or case-insensitive
+        if (regex.indexOf('|') != -1 || regex.contains("(?")) return null;
+
+        int index = regex.startsWith("^") ? 1 : 0;
+        StringBuilder literal = new StringBuilder();
+        while (index < regex.length()) {
+            char c = regex.charAt(index);
+            if ("\\^$.|?*+()[]{}".indexOf(c) != -1) {
+                // a quantifier could make the previous character optional
+                if ((c == '?' || c == '*' || c == '{') && literal.length() > 0) literal.setLength(literal.length() - 1);
+                break;
+            }
+            literal.append(c);
+            index++;
+        }
+        return literal.length() > 0 ? literal.toString() : null;
+    }
+
+}
@@ -25,7 +25,6 @@ package github.scarsz.discordsrv.objects;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.util.DiscordUtil;
 import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
-import org.bukkit.Bukkit;
 import org.bukkit.Server;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
@@ -133,11 +132,8 @@ public class SingleCommandSender implements ConsoleCommandSender {
 
         // expire request message after specified time
         if (!alreadyQueuedDelete && DiscordSRV.config().getInt("DiscordChatChannelConsoleCommandExpiration") > 0 && DiscordSRV.config().getBoolean("DiscordChatChannelConsoleCommandExpirationDeleteRequest")) {
-            Bukkit.getScheduler().runTaskAsynchronously(DiscordSRV.getPlugin(), () -> {
-                try { Thread.sleep(DiscordSRV.config().getInt("DiscordChatChannelConsoleCommandExpiration") * 1000L); } catch (InterruptedException ignored) {}
-                event.getMessage().delete().queue();
-                alreadyQueuedDelete = true;
-            });
+            DiscordSRV.getPlugin().getExpiringMessageService().expire(event.getMessage(), DiscordSRV.config().getInt("DiscordChatChannelConsoleCommandExpiration") * 1000L);
+            alreadyQueuedDelete = true;
         }
     }
 
@@ -0,0 +1,183 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>A mutable, insertion ordered map that counts its modifications, including the ones made through
+ * its key, value and entry views, so that objects derived from its contents can be rebuilt lazily.</p>
+ * <p>Modifications and {@link #derive(Function)} rebuilds are synchronized on the map itself.</p>
+ */
+public class TrackedMap<K, V> extends AbstractMap<K, V> {
+
+    private final Map<K, V> map = new LinkedHashMap<>();
+    private final Set<Entry<K, V>> entrySet = new EntrySet();
+    private volatile long version = 0;
+
+    /**
+     * @return a number that changes every time this map is modified
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Replace the contents of this map as a single modification
+     * @param contents the new contents
+     */
+    public synchronized void replaceContents(Map<? extends K, ? extends V> contents) {
+        map.clear();
+        map.putAll(contents);
+        version++;
+    }
+
+    /**
+     * @param factory builds the derived object from a snapshot of this map's contents
+     * @return a supplier of the derived object, rebuilt on the first call after this map was modified
+     */
+    public <T> Supplier<T> derive(Function<Map<K, V>, T> factory) {
+        return new Supplier<T>() {
+            private volatile Derived<T> derived = null;
+
+            @Override
+            public T get() {
+                Derived<T> current = derived;
+                if (current != null && current.version == version) return current.value;
+                synchronized (TrackedMap.this) {
+                    current = new Derived<>(version, factory.apply(new LinkedHashMap<>(map)));
+                }
+                derived = current;
+                return current.value;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        version++;
+        return map.put(key, value);
+    }
+
+    @Override
+    public synchronized V remove(Object key) {
+        if (!map.containsKey(key)) return null;
+        version++;
+        return map.remove(key);
+    }
+
+    @Override
+    public synchronized void putAll(Map<? extends K, ? extends V> m) {
+        version++;
+        map.putAll(m);
+    }
+
+    @Override
+    public synchronized void clear() {
+        version++;
+        map.clear();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return entrySet;
+    }
+
+    private static final class Derived<T> {
+
+        private final long version;
+        private final T value;
+
+        private Derived(long version, T value) {
+            this.version = version;
+            this.value = value;
+        }
+
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            Iterator<Entry<K, V>> iterator = map.entrySet().iterator();
+            return new Iterator<Entry<K, V>>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    Entry<K, V> entry = iterator.next();
+                    return new SimpleEntry<K, V>(entry) {
+                        @Override
+                        public V setValue(V value) {
+                            synchronized (TrackedMap.this) {
+                                version++;
+                                super.setValue(value);
+                                return entry.setValue(value);
+                            }
+                        }
+                    };
+                }
+
+                @Override
+                public void remove() {
+                    synchronized (TrackedMap.this) {
+                        version++;
+                        iterator.remove();
+                    }
+                }
+            };
+        }
+
+    }
+
+}
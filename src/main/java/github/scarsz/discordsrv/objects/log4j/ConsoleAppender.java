@@ -22,7 +22,6 @@
 
 package github.scarsz.discordsrv.objects.log4j;
 
-import github.scarsz.configuralize.DynamicConfig;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.objects.ConsoleMessage;
 import github.scarsz.discordsrv.util.DiscordUtil;
@@ -37,8 +36,6 @@ import org.apache.logging.log4j.core.layout.PatternLayout;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Map;
-import java.util.regex.Pattern;
 
 @Plugin(name = "DiscordSRV-ConsoleChannel", category = "Core", elementType = "appender", printObject = true)
 public class ConsoleAppender extends AbstractAppender {
@@ -97,18 +94,10 @@ public class ConsoleAppender extends AbstractAppender {
         // return if console channel isn't available / is disabled
         if (plugin.getConsoleChannel() == null) return;
 
-        final DynamicConfig config = DiscordSRV.config();
         final String eventLevel = event.getLevel().name().toUpperCase();
 
         // return if this is not an okay level to send
-        boolean isAnOkayLevel = false;
-        for (String enabledLevel : config.getStringList("DiscordConsoleChannelLevels")) {
-            if (eventLevel.equals(enabledLevel.toUpperCase())) {
-                isAnOkayLevel = true;
-                break;
-            }
-        }
-        if (!isAnOkayLevel) return;
+        if (!DiscordSRV.configSnapshot().getConsoleChannelLevels().contains(eventLevel)) return;
 
         String line = event.getMessage().getFormattedMessage();
 
@@ -120,10 +109,8 @@ public class ConsoleAppender extends AbstractAppender {
         if (StringUtils.isBlank(line)) return;
 
         // apply regex to line
-        for (Map.Entry<Pattern, String> entry : plugin.getConsoleRegexes().entrySet()) {
-            line = entry.getKey().matcher(line).replaceAll(entry.getValue());
-            if (StringUtils.isBlank(line)) return;
-        }
+        line = plugin.getConsoleFilters().apply(line, null);
+        if (line == null) return;
 
         // escape markdown
         line = DiscordUtil.escapeMarkdown(line);
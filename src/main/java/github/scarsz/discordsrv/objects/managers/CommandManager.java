@@ -50,6 +50,7 @@ public class CommandManager {
                 CommandLanguage.class,
                 CommandLink.class,
                 CommandLinked.class,
+                CommandListeners.class,
                 CommandReload.class,
                 CommandResync.class,
                 CommandUnlink.class
@@ -23,6 +23,7 @@
 package github.scarsz.discordsrv.objects.managers;
 
 import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.objects.ConfigSnapshot;
 import github.scarsz.discordsrv.objects.ExpiringDualHashBidiMap;
 import github.scarsz.discordsrv.util.DiscordUtil;
 import github.scarsz.discordsrv.util.GamePermissionUtil;
@@ -115,7 +116,7 @@ public class GroupSynchronizationManager extends ListenerAdapter implements List
 
         Set<OfflinePlayer> players = new HashSet<>(PlayerUtil.getOnlinePlayers());
 
-        if (DiscordSRV.config().getBoolean("GroupRoleSynchronizationCycleCompletely")) {
+        if (DiscordSRV.configSnapshot().isGroupSyncCycleCompletely()) {
             // synchronize everyone in the connected discord servers
             // otherwise, only online players are synchronized
             DiscordUtil.getJda().getGuilds().stream()
@@ -188,9 +189,10 @@ public class GroupSynchronizationManager extends ListenerAdapter implements List
         Map<Guild, Map<String, Set<Role>>> roleChanges = new HashMap<>();
 
         // Check if Minecraft or Discord is strictly authoritative.
-        boolean oneWaySynchronisation = DiscordSRV.config().getBoolean("GroupRoleSynchronizationOneWay");
-        boolean minecraftIsStrictlyAuthoritative = oneWaySynchronisation && DiscordSRV.config().getBoolean("GroupRoleSynchronizationMinecraftIsAuthoritative");
-        boolean discordIsStrictlyAuthoritative = oneWaySynchronisation && !DiscordSRV.config().getBoolean("GroupRoleSynchronizationMinecraftIsAuthoritative");
+        ConfigSnapshot config = DiscordSRV.configSnapshot();
+        boolean oneWaySynchronisation = config.isGroupSyncOneWay();
+        boolean minecraftIsStrictlyAuthoritative = oneWaySynchronisation && config.isGroupSyncMinecraftIsAuthoritative();
+        boolean discordIsStrictlyAuthoritative = oneWaySynchronisation && !config.isGroupSyncMinecraftIsAuthoritative();
         if (oneWaySynchronisation) synchronizationSummary.add("Synchronisation is one way (" + (minecraftIsStrictlyAuthoritative ? "Minecraft -> Discord" : "Discord -> Minecraft") + ")");
 
         if ((minecraftIsStrictlyAuthoritative && direction == SyncDirection.TO_MINECRAFT) || (discordIsStrictlyAuthoritative && direction == SyncDirection.TO_DISCORD)) {
@@ -198,7 +200,7 @@ public class GroupSynchronizationManager extends ListenerAdapter implements List
             return;
         }
 
-        for (Map.Entry<String, String> entry : DiscordSRV.getPlugin().getGroupSynchronizables().entrySet()) {
+        for (Map.Entry<String, String> entry : config.getGroupsAndRolesToSync().entrySet()) {
             String groupName = entry.getKey();
             String roleId = entry.getValue();
 
@@ -258,14 +260,14 @@ public class GroupSynchronizationManager extends ListenerAdapter implements List
                 vaultGroupsLogged = true;
             }
 
-            boolean hasGroup = DiscordSRV.config().getBoolean("GroupRoleSynchronizationPrimaryGroupOnly")
+            boolean hasGroup = config.isGroupSyncPrimaryGroupOnly()
                     ? groupName.equalsIgnoreCase(getPermissions().getPrimaryGroup(null, player))
                     : getPermissions().playerInGroup(null, player, groupName);
             if (getPermissions().playerHas(null, player, "discordsrv.sync." + groupName)) {
                 hasGroup = true;
                 groupsGrantedByPermission.add(groupName);
             }
-            if (DiscordSRV.config().getBoolean("GroupRoleSynchronizationEnableDenyPermission") &&
+            if (config.isGroupSyncEnableDenyPermission() &&
                     getPermissions().playerHas(null, player, "discordsrv.sync.deny." + groupName)) {
                 hasGroup = false;
                 groupsDeniedByPermission.add(groupName);
@@ -282,7 +284,7 @@ public class GroupSynchronizationManager extends ListenerAdapter implements List
             boolean minecraftIsAuthoritative = minecraftIsStrictlyAuthoritative
                 || (!roleIsManaged
                     && !discordIsStrictlyAuthoritative
-                    && (direction == SyncDirection.AUTHORITATIVE ? DiscordSRV.config().getBoolean("GroupRoleSynchronizationMinecraftIsAuthoritative") : direction == SyncDirection.TO_DISCORD));
+                    && (direction == SyncDirection.AUTHORITATIVE ? config.isGroupSyncMinecraftIsAuthoritative() : direction == SyncDirection.TO_DISCORD));
 
             if (hasGroup == hasRole) {
                 // both sides agree, no changes necessary
@@ -359,7 +361,7 @@ public class GroupSynchronizationManager extends ListenerAdapter implements List
 
         if (addLinkedRole) {
             try {
-                Role role = DiscordUtil.getJda().getRolesByName(DiscordSRV.config().getString("MinecraftDiscordAccountLinkedRoleNameToAddUserTo"), true).stream().findFirst().orElse(null);
+                Role role = DiscordUtil.getJda().getRolesByName(DiscordSRV.configSnapshot().getLinkedRoleName(), true).stream().findFirst().orElse(null);
                 if (role != null) {
                     roleChanges.computeIfAbsent(role.getGuild(), guild -> new HashMap<>())
                             .computeIfAbsent("add", s -> new HashSet<>())
@@ -495,7 +497,7 @@ public class GroupSynchronizationManager extends ListenerAdapter implements List
 
             try {
                 // remove user from linked role
-                String linkRole = DiscordSRV.config().getString("MinecraftDiscordAccountLinkedRoleNameToAddUserTo");
+                String linkRole = DiscordSRV.configSnapshot().getLinkedRoleName();
                 Role role = StringUtils.isNotBlank(linkRole) ? DiscordUtil.getJda().getRolesByName(linkRole, true).stream().findFirst().orElse(null) : null;
                 if (role != null) {
                     roles.computeIfAbsent(role.getGuild(), guild -> new HashSet<>()).add(role);
@@ -0,0 +1,135 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects.managers;
+
+import github.scarsz.discordsrv.objects.MemberRoles;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.events.ReadyEvent;
+import net.dv8tion.jda.api.events.ReconnectedEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleAddEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleRemoveEvent;
+import net.dv8tion.jda.api.events.role.RoleDeleteEvent;
+import net.dv8tion.jda.api.events.role.update.RoleUpdateColorEvent;
+import net.dv8tion.jda.api.events.role.update.RoleUpdateNameEvent;
+import net.dv8tion.jda.api.events.role.update.RoleUpdatePositionEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Keeps the {@link MemberRoles} of members that sent messages, so relaying their messages to Minecraft
+ * doesn't have to go through their roles again for every message.</p>
+ * <p>A member's roles are dropped when roles are added to or removed from them, or when they leave.
+ * Changes to a role's name, color or position can affect any member, so they drop everything,
+ * the same as reloading the configuration does. So does (re)connecting, since changes made while
+ * disconnected never arrive as events.</p>
+ */
+public class MemberRolesManager extends ListenerAdapter {
+
+    private final Map<String, MemberRoles> roles = new ConcurrentHashMap<>(); // by guild id + member id
+
+    /**
+     * Get the up to date roles of the given member
+     * @param member the member
+     * @return the member's roles
+     */
+    public MemberRoles get(Member member) {
+        // resolved while holding the entry, so an invalidation during it can't be overwritten by outdated roles
+        return roles.computeIfAbsent(key(member.getGuild().getId(), member.getId()), key -> MemberRoles.of(member));
+    }
+
+    /**
+     * Drop the roles of the given member, for example because roles were added to them
+     * @param guildId the id of the member's guild
+     * @param memberId the id of the member
+     */
+    public void invalidate(String guildId, String memberId) {
+        roles.remove(key(guildId, memberId));
+    }
+
+    /**
+     * Drop the roles of all members, for example because the configuration was reloaded
+     */
+    public void invalidateAll() {
+        roles.clear();
+    }
+
+    private static String key(String guildId, String memberId) {
+        return guildId + ":" + memberId;
+    }
+
+    @Override
+    public void onReady(@NotNull ReadyEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onReconnected(@NotNull ReconnectedEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onGuildMemberRoleAdd(@NotNull GuildMemberRoleAddEvent event) {
+        invalidate(event.getGuild().getId(), event.getMember().getId());
+    }
+
+    @Override
+    public void onGuildMemberRoleRemove(@NotNull GuildMemberRoleRemoveEvent event) {
+        invalidate(event.getGuild().getId(), event.getMember().getId());
+    }
+
+    @Override
+    public void onGuildMemberRemove(@NotNull GuildMemberRemoveEvent event) {
+        invalidate(event.getGuild().getId(), event.getUser().getId());
+    }
+
+    @Override
+    public void onRoleUpdateName(@NotNull RoleUpdateNameEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onRoleUpdateColor(@NotNull RoleUpdateColorEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onRoleUpdatePosition(@NotNull RoleUpdatePositionEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onRoleDelete(@NotNull RoleDeleteEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onGuildLeave(@NotNull GuildLeaveEvent event) {
+        invalidateAll();
+    }
+
+}
@@ -0,0 +1,113 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects.managers;
+
+import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.objects.PlayerChatContext;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Keeps a {@link PlayerChatContext} for every online player, so relaying chat doesn't have to call
+ * Vault, Multiverse and NMS for every message.</p>
+ * <p>Contexts are created when a player joins and dropped when they change worlds, quit or their permissions
+ * change through a hook that reports it. Display name changes are noticed when the context is used.
+ * Since not every permission plugin reports changes, contexts are also refreshed once they're a minute old.</p>
+ */
+public class PlayerChatContextManager implements Listener {
+
+    private static final long MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Map<UUID, PlayerChatContext> contexts = new ConcurrentHashMap<>();
+
+    /**
+     * Get the up to date chat context of the given player
+     * @param player the player
+     * @return the player's chat context
+     */
+    public PlayerChatContext get(Player player) {
+        if (!player.isOnline()) {
+            // don't keep contexts of players that already left around
+            contexts.remove(player.getUniqueId());
+            return PlayerChatContext.of(player);
+        }
+
+        PlayerChatContext context = contexts.get(player.getUniqueId());
+        if (context == null || context.isOutdated(player)
+                || System.currentTimeMillis() - context.getCreatedAt() > MAX_AGE_MILLIS) {
+            context = PlayerChatContext.of(player);
+            contexts.put(player.getUniqueId(), context);
+        }
+        return context;
+    }
+
+    /**
+     * Drop the chat context of the player with the given uuid, for example because their groups changed
+     * @param uuid the uuid of the player
+     */
+    public void invalidate(UUID uuid) {
+        contexts.remove(uuid);
+    }
+
+    /**
+     * Drop all chat contexts, for example because the configuration was reloaded
+     */
+    public void invalidateAll() {
+        contexts.clear();
+    }
+
+    public int size() {
+        return contexts.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        // give other plugins a second to set the player's display name, same as the join message does
+        Bukkit.getScheduler().runTaskLaterAsynchronously(DiscordSRV.getPlugin(), () -> {
+            if (player.isOnline()) get(player);
+        }, 20);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+}
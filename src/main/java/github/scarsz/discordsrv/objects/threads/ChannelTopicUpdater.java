@@ -28,6 +28,7 @@ import github.scarsz.discordsrv.util.*;
 import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Bukkit;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -71,28 +72,36 @@ public class ChannelTopicUpdater extends Thread {
         // set PAPI placeholders
         input = PlaceholderUtil.replacePlaceholdersToDiscord(input);
 
-        final Map<String, String> mem = MemUtil.get();
-
-        input = input.replaceAll("%time%|%date%", notNull(TimeUtil.timeStamp()))
-                     .replace("%playercount%", notNull(Integer.toString(PlayerUtil.getOnlinePlayers(true).size())))
-                     .replace("%playermax%", notNull(Integer.toString(Bukkit.getMaxPlayers())))
-                     .replace("%totalplayers%", notNull(Integer.toString(DiscordSRV.getTotalPlayerCount())))
-                     .replace("%uptimemins%", notNull(Long.toString(TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - DiscordSRV.getPlugin().getStartTime()))))
-                     .replace("%uptimehours%", notNull(Long.toString(TimeUnit.MILLISECONDS.toHours(System.currentTimeMillis() - DiscordSRV.getPlugin().getStartTime()))))
-                     .replace("%uptimedays%", notNull(Long.toString(TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis() - DiscordSRV.getPlugin().getStartTime()))))
-                     .replace("%motd%", notNull(StringUtils.isNotBlank(Bukkit.getMotd()) ? DiscordUtil.strip(Bukkit.getMotd()) : ""))
-                     .replace("%serverversion%", notNull(Bukkit.getBukkitVersion()))
-                     .replace("%freememory%", notNull(mem.get("freeMB")))
-                     .replace("%usedmemory%", notNull(mem.get("usedMB")))
-                     .replace("%totalmemory%", notNull(mem.get("totalMB")))
-                     .replace("%maxmemory%", notNull(mem.get("maxMB")))
-                     .replace("%freememorygb%", notNull(mem.get("freeGB")))
-                     .replace("%usedmemorygb%", notNull(mem.get("usedGB")))
-                     .replace("%totalmemorygb%", notNull(mem.get("totalGB")))
-                     .replace("%maxmemorygb%", notNull(mem.get("maxGB")))
-                     .replace("%tps%", notNull(Lag.getTPSString()));
+        // memory usage is only looked up if the topic contains a memory placeholder
+        Map<String, String> mem = new HashMap<>();
+        return MessageTemplate.expand(input, placeholder -> {
+            switch (placeholder) {
+                case "time": case "date": return notNull(TimeUtil.timeStamp());
+                case "playercount": return notNull(Integer.toString(PlayerUtil.getOnlinePlayersSnapshot(true).size()));
+                case "playermax": return notNull(Integer.toString(Bukkit.getMaxPlayers()));
+                case "totalplayers": return notNull(Integer.toString(DiscordSRV.getTotalPlayerCount()));
+                case "uptimemins": return notNull(Long.toString(TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - DiscordSRV.getPlugin().getStartTime())));
+                case "uptimehours": return notNull(Long.toString(TimeUnit.MILLISECONDS.toHours(System.currentTimeMillis() - DiscordSRV.getPlugin().getStartTime())));
+                case "uptimedays": return notNull(Long.toString(TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis() - DiscordSRV.getPlugin().getStartTime())));
+                case "motd": return notNull(StringUtils.isNotBlank(Bukkit.getMotd()) ? DiscordUtil.strip(Bukkit.getMotd()) : "");
+                case "serverversion": return notNull(Bukkit.getBukkitVersion());
+                case "freememory": return notNull(memory(mem).get("freeMB"));
+                case "usedmemory": return notNull(memory(mem).get("usedMB"));
+                case "totalmemory": return notNull(memory(mem).get("totalMB"));
+                case "maxmemory": return notNull(memory(mem).get("maxMB"));
+                case "freememorygb": return notNull(memory(mem).get("freeGB"));
+                case "usedmemorygb": return notNull(memory(mem).get("usedGB"));
+                case "totalmemorygb": return notNull(memory(mem).get("totalGB"));
+                case "maxmemorygb": return notNull(memory(mem).get("maxGB"));
+                case "tps": return notNull(Lag.getTPSString());
+                default: return null;
+            }
+        });
+    }
 
-        return input;
+    private static Map<String, String> memory(Map<String, String> mem) {
+        if (mem.isEmpty()) mem.putAll(MemUtil.get());
+        return mem;
     }
 
     private static String notNull(Object object) {
@@ -24,9 +24,11 @@ package github.scarsz.discordsrv.objects.threads;
 
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.objects.ConsoleMessage;
+import github.scarsz.discordsrv.objects.OutboundChannelScheduler;
 import github.scarsz.discordsrv.util.DiscordUtil;
 import github.scarsz.discordsrv.util.LangUtil;
 import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.MessageBuilder;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.TextChannel;
 import org.apache.commons.lang3.StringUtils;
@@ -84,7 +86,10 @@ public class ConsoleMessageQueueWorker extends Thread {
                 final String m = message.toString();
                 if (StringUtils.isNotBlank(m)) {
                     TextChannel textChannel = DiscordSRV.getPlugin().getConsoleChannel();
-                    if (textChannel != null) textChannel.sendMessage(prefix + m + suffix).queue();
+                    if (textChannel != null) {
+                        DiscordSRV.getPlugin().getOutboundChannelScheduler().sendMessage(textChannel,
+                                new MessageBuilder().append(prefix).append(m).append(suffix).build(), false, false, null, OutboundChannelScheduler.Priority.CONSOLE);
+                    }
                 }
 
                 // make sure rate isn't less than every MIN_SLEEP_TIME_MILLIS because of rate limitations
@@ -67,7 +67,7 @@ public class NicknameUpdater extends Thread {
                 }
 
                 Guild guild = DiscordSRV.getPlugin().getMainGuild();
-                for (Player onlinePlayer : PlayerUtil.getOnlinePlayers()) {
+                for (Player onlinePlayer : PlayerUtil.getOnlinePlayersSnapshot(false)) {
                     // skip vanished players
                     if (PlayerUtil.isVanished(onlinePlayer)) continue;
 
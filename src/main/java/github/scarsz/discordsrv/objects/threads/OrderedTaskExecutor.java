@@ -0,0 +1,334 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects.threads;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import github.scarsz.discordsrv.DiscordSRV;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Runs tasks on a small pool of worker threads while keeping tasks submitted under the same key in order.</p>
+ * <p>Every key has its own bounded queue, only one task per key runs at a time and tasks for different keys
+ * run in parallel. When a key's queue is full the {@link OverflowPolicy} decides which task is dropped,
+ * tasks submitted with {@link #submitRequired(Object, Runnable)} are never dropped.</p>
+ * <p>Worker threads are daemon threads that time out when idle, so an unused executor holds no threads.</p>
+ */
+public class OrderedTaskExecutor {
+
+    /**
+     * The maximum amount of tasks a worker runs for a single key before giving other keys a turn
+     */
+    private static final int DRAIN_BATCH_SIZE = 64;
+    private static final long DROP_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    public enum OverflowPolicy {
+        /**
+         * Drop the task that is being submitted
+         */
+        DROP_NEWEST,
+        /**
+         * Drop the oldest task still waiting in the key's queue to make room for the submitted one
+         */
+        DROP_OLDEST
+    }
+
+    private final String name;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final ThreadPoolExecutor workers;
+    private final ConcurrentMap<Object, Lane> lanes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong lastDropWarning = new AtomicLong();
+
+    /**
+     * @param name the name of the executor, used for naming it's worker threads
+     * @param threads the maximum amount of worker threads
+     * @param capacity the maximum amount of waiting tasks per key
+     * @param overflowPolicy what to do when a task is submitted to a full key
+     */
+    public OrderedTaskExecutor(String name, int threads, int capacity, OverflowPolicy overflowPolicy) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be at least 1");
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+
+        this.name = name;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.workers = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("DiscordSRV - " + name + " #%d").setDaemon(true).build());
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Submit a task to run after all tasks previously submitted under the same key
+     * @param key the key to order the task by, compared with {@link Object#equals(Object)}
+     * @param task the task to run
+     * @return false if the task was dropped or the executor was shut down, true otherwise
+     */
+    public boolean submit(Object key, Runnable task) {
+        if (workers.isShutdown()) return false;
+
+        return submit(key, new Task(task, System.nanoTime(), false));
+    }
+
+    /**
+     * Submit a task that's never dropped: it's queued even when the key's queue is full,
+     * and {@link OverflowPolicy#DROP_OLDEST} skips it when making room for other tasks
+     * @param key the key to order the task by, compared with {@link Object#equals(Object)}
+     * @param task the task to run
+     * @return false if the executor was shut down, true otherwise
+     */
+    public boolean submitRequired(Object key, Runnable task) {
+        if (workers.isShutdown()) return false;
+
+        return submit(key, new Task(task, System.nanoTime(), true));
+    }
+
+    private boolean submit(Object key, Task queued) {
+        while (true) {
+            Lane lane = lanes.computeIfAbsent(key, Lane::new);
+            synchronized (lane) {
+                // the lane was emptied and removed between lookup and lock, get a fresh one
+                if (lane.retired) continue;
+
+                submitted.incrementAndGet();
+                boolean full = lane.tasks.size() >= capacity && !queued.required;
+                if (full) {
+                    dropped.incrementAndGet();
+                    if (overflowPolicy == OverflowPolicy.DROP_NEWEST || !removeOldestOptional(lane)) {
+                        warnDropped(key, true);
+                        return false;
+                    }
+                    depth.decrementAndGet();
+                }
+
+                lane.tasks.add(queued);
+                depth.incrementAndGet();
+                if (!lane.scheduled) {
+                    lane.scheduled = true;
+                    schedule(lane);
+                }
+                if (full) warnDropped(key, false);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return whether or not a task that isn't required was found in the given lane and removed
+     */
+    private boolean removeOldestOptional(Lane lane) {
+        for (Iterator<Task> iterator = lane.tasks.iterator(); iterator.hasNext(); ) {
+            if (!iterator.next().required) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void warnDropped(Object key, boolean newest) {
+        long now = System.nanoTime();
+        long last = lastDropWarning.get();
+        if (last != 0 && now - last < DROP_WARNING_INTERVAL_NANOS) return;
+        if (!lastDropWarning.compareAndSet(last, now)) return;
+
+        DiscordSRV.warning(name + " queue for " + key + " is full (" + capacity + " tasks), dropped the "
+                + (newest ? "newest" : "oldest") + " task. "
+                + getDroppedCount() + " tasks were dropped so far");
+    }
+
+    private void schedule(Lane lane) {
+        try {
+            workers.execute(() -> drain(lane));
+        } catch (RejectedExecutionException e) {
+            // shut down while tasks were still being submitted, they won't run
+            synchronized (lane) {
+                depth.addAndGet(-lane.tasks.size());
+                dropped.addAndGet(lane.tasks.size());
+                lane.tasks.clear();
+                lane.scheduled = false;
+            }
+        }
+    }
+
+    private void drain(Lane lane) {
+        int ran = 0;
+        while (true) {
+            // give other keys a turn, this lane goes to the back of the line. once shut down no new
+            // turns can be scheduled so the lane is finished on this thread instead
+            if (ran++ >= DRAIN_BATCH_SIZE && !workers.isShutdown()) {
+                try {
+                    workers.execute(() -> drain(lane));
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // shut down since the check above, keep going on this thread
+                }
+            }
+
+            Task task;
+            synchronized (lane) {
+                task = lane.tasks.poll();
+                if (task == null) {
+                    lane.scheduled = false;
+                    lane.retired = true;
+                    lanes.remove(lane.key, lane);
+                    return;
+                }
+                depth.decrementAndGet();
+            }
+
+            long waited = System.nanoTime() - task.submittedAt;
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+            try {
+                task.runnable.run();
+            } catch (Throwable t) {
+                DiscordSRV.error("Uncaught exception in " + name + " task for " + lane.key, t);
+            } finally {
+                completed.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Stop accepting new tasks, tasks already submitted still run
+     */
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Stop accepting new tasks and wait up to the given time for submitted tasks to finish
+     * @return whether or not all submitted tasks finished in time
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        workers.shutdown();
+        return workers.awaitTermination(timeout, unit);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getThreads() {
+        return workers.getMaximumPoolSize();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * @return the amount of tasks currently waiting to run, across all keys
+     */
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    /**
+     * @return the amount of keys that currently have tasks waiting or running
+     */
+    public int getActiveKeys() {
+        return lanes.size();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the average time tasks waited in their queue before running, in nanoseconds
+     */
+    public long getAverageWaitNanos() {
+        long completed = this.completed.get();
+        return completed == 0 ? 0 : totalWaitNanos.get() / completed;
+    }
+
+    /**
+     * @return the longest time a task waited in it's queue before running, in nanoseconds
+     */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return name + "{depth=" + getQueueDepth() + ", keys=" + getActiveKeys() + ", submitted=" + getSubmittedCount()
+                + ", completed=" + getCompletedCount() + ", dropped=" + getDroppedCount()
+                + ", avgWait=" + TimeUnit.NANOSECONDS.toMicros(getAverageWaitNanos()) + "us"
+                + ", maxWait=" + TimeUnit.NANOSECONDS.toMicros(getMaxWaitNanos()) + "us}";
+    }
+
+    private static final class Lane {
+
+        private final Object key;
+        private final Deque<Task> tasks = new ArrayDeque<>();
+        private boolean scheduled = false;
+        private boolean retired = false;
+
+        private Lane(Object key) {
+            this.key = key;
+        }
+
+    }
+
+    private static final class Task {
+
+        private final Runnable runnable;
+        private final long submittedAt;
+        private final boolean required; // never dropped
+
+        private Task(Runnable runnable, long submittedAt, boolean required) {
+            this.runnable = runnable;
+            this.submittedAt = submittedAt;
+            this.required = required;
+        }
+
+    }
+
+}
@@ -25,6 +25,7 @@ package github.scarsz.discordsrv.objects.threads;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.api.events.WatchdogMessagePostProcessEvent;
 import github.scarsz.discordsrv.api.events.WatchdogMessagePreProcessEvent;
+import github.scarsz.discordsrv.objects.OutboundChannelScheduler;
 import github.scarsz.discordsrv.util.DiscordUtil;
 import github.scarsz.discordsrv.util.LangUtil;
 import github.scarsz.discordsrv.util.PlaceholderUtil;
@@ -74,34 +75,38 @@ public class ServerWatchdog extends Thread {
                     String message = PlaceholderUtil.replacePlaceholdersToDiscord(LangUtil.Message.SERVER_WATCHDOG.toString());
                     int count = DiscordSRV.config().getInt("ServerWatchdogMessageCount");
 
-                    WatchdogMessagePreProcessEvent preEvent = DiscordSRV.api.callEvent(new WatchdogMessagePreProcessEvent(channelName, message, count, false));
-                    if (preEvent.isCancelled()) {
-                        DiscordSRV.debug("WatchdogMessagePreProcessEvent was cancelled, message send aborted");
-                        continue;
+                    if (DiscordSRV.api.hasSubscribers(WatchdogMessagePreProcessEvent.class)) {
+                        WatchdogMessagePreProcessEvent preEvent = DiscordSRV.api.callEvent(new WatchdogMessagePreProcessEvent(channelName, message, count, false));
+                        if (preEvent.isCancelled()) {
+                            DiscordSRV.debug("WatchdogMessagePreProcessEvent was cancelled, message send aborted");
+                            continue;
+                        }
+                        // Update from event in case any listeners modified parameters
+                        count = preEvent.getCount();
+                        channelName = preEvent.getChannel();
+                        message = preEvent.getMessage();
                     }
-                    // Update from event in case any listeners modified parameters
-                    count = preEvent.getCount();
-                    channelName = preEvent.getChannel();
-                    message = preEvent.getMessage();
 
                     String discordMessage = message
                             .replaceAll("%time%|%date%", TimeUtil.timeStamp())
                             .replace("%guildowner%", DiscordSRV.getPlugin().getMainGuild().getOwner().getAsMention());
 
-                    WatchdogMessagePostProcessEvent postEvent = DiscordSRV.api.callEvent(new WatchdogMessagePostProcessEvent(channelName, discordMessage, count, false));
-                    if (postEvent.isCancelled()) {
-                        DiscordSRV.debug("WatchdogMessagePostProcessEvent was cancelled, message send aborted");
-                        continue;
+                    if (DiscordSRV.api.hasSubscribers(WatchdogMessagePostProcessEvent.class)) {
+                        WatchdogMessagePostProcessEvent postEvent = DiscordSRV.api.callEvent(new WatchdogMessagePostProcessEvent(channelName, discordMessage, count, false));
+                        if (postEvent.isCancelled()) {
+                            DiscordSRV.debug("WatchdogMessagePostProcessEvent was cancelled, message send aborted");
+                            continue;
+                        }
+                        // Update from event in case any listeners modified parameters
+                        count = postEvent.getCount();
+                        channelName = postEvent.getChannel();
+                        discordMessage = postEvent.getProcessedMessage();
                     }
-                    // Update from event in case any listeners modified parameters
-                    count = postEvent.getCount();
-                    channelName = postEvent.getChannel();
-                    discordMessage = postEvent.getProcessedMessage();
 
                     TextChannel channel = DiscordSRV.getPlugin().getDestinationTextChannelForGameChannelName(channelName);
 
                     for (int i = 0; i < count; i++) {
-                        DiscordUtil.queueMessage(channel, discordMessage, true);
+                        DiscordUtil.queueMessage(channel, discordMessage, true, OutboundChannelScheduler.Priority.LIFECYCLE);
                     }
                 }
             } catch (InterruptedException e) {
@@ -102,6 +102,13 @@ public class DebugUtil {
                     "    channel topic updater -> alive: " + (DiscordSRV.getPlugin().getChannelTopicUpdater() != null && DiscordSRV.getPlugin().getChannelTopicUpdater().isAlive()),
                     "    console message queue worker -> alive: " + (DiscordSRV.getPlugin().getConsoleMessageQueueWorker() != null && DiscordSRV.getPlugin().getConsoleMessageQueueWorker().isAlive()),
                     "    server watchdog -> alive: " + (DiscordSRV.getPlugin().getServerWatchdog() != null && DiscordSRV.getPlugin().getServerWatchdog().isAlive()),
+                    "    api event dispatch -> queued: " + DiscordSRV.api.getAsyncQueueDepth() + ", dropped: " + DiscordSRV.api.getAsyncDroppedCount(),
+                    "    chat relay -> " + DiscordSRV.getPlugin().getChatRelayExecutor(),
+                    "    discord chat -> " + DiscordSRV.getPlugin().getDiscordChatExecutor(),
+                    "    chat coalescer -> " + DiscordSRV.getPlugin().getChatMessageCoalescer(),
+                    "    expiring messages -> " + DiscordSRV.getPlugin().getExpiringMessageService(),
+                    "    outbound scheduler -> " + DiscordSRV.getPlugin().getOutboundChannelScheduler(),
+                    "        " + DiscordSRV.getPlugin().getOutboundChannelScheduler().getStatistics().replace("\n", "\n        "),
                     "hooked plugins: " + DiscordSRV.getPlugin().getPluginHooks().stream().map(PluginHook::getPlugin).filter(Objects::nonNull).map(Object::toString).collect(Collectors.joining(", ")),
                     "skripts: " + String.join(", ", SkriptHook.getSkripts())
             })));
@@ -127,6 +134,8 @@ public class DebugUtil {
             files.add(fileMap("alerts.yml", "raw plugins/DiscordSRV/alerts.yml", FileUtils.readFileToString(DiscordSRV.getPlugin().getAlertsFile(), StandardCharsets.UTF_8)));
             files.add(fileMap("server-info.txt", null, getServerInfo()));
             files.add(fileMap("registered-listeners.txt", "list of registered listeners for Bukkit events DiscordSRV uses", getRegisteredListeners()));
+            files.add(fileMap("api-listeners.txt", "call counts and timings of DiscordSRV API listeners", DiscordSRV.api.getListenerStatistics()));
+            files.add(fileMap("regex-filters.txt", "hit counts and timings of the configured regex filters", getRegexFilterStatistics()));
             files.add(fileMap("permissions.txt", null, getPermissions()));
             files.add(fileMap("threads.txt", "Threads with DiscordSRV in the name or that have trace elements with DiscordSRV's classes", getThreads()));
             files.add(fileMap("system-info.txt", null, getSystemInfo()));
@@ -188,7 +197,7 @@ public class DebugUtil {
 
         List<String> plugins = Arrays.stream(Bukkit.getPluginManager().getPlugins()).map(Object::toString).sorted().collect(Collectors.toList());
 
-        output.add("server players: " + PlayerUtil.getOnlinePlayers().size() + "/" + Bukkit.getMaxPlayers());
+        output.add("server players: " + PlayerUtil.getOnlinePlayersSnapshot(false).size() + "/" + Bukkit.getMaxPlayers());
         output.add("server plugins: " + plugins);
         output.add("");
         output.add("Minecraft version: " + Bukkit.getVersion());
@@ -356,6 +365,12 @@ public class DebugUtil {
         return String.join("\n", output);
     }
 
+    private static String getRegexFilterStatistics() {
+        return "console:\n" + DiscordSRV.getPlugin().getConsoleFilters()
+                + "\n\ngame chat:\n" + DiscordSRV.getPlugin().getGameFilters()
+                + "\n\ndiscord chat:\n" + DiscordSRV.getPlugin().getDiscordFilters();
+    }
+
     private static String getPermissions() {
         List<String> output = new LinkedList<>();
 
@@ -26,16 +26,14 @@ import com.google.common.collect.ImmutableMap;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.api.events.DiscordGuildMessageSentEvent;
 import github.scarsz.discordsrv.api.events.DiscordPrivateMessageSentEvent;
+import github.scarsz.discordsrv.listeners.DiscordMentionIndexListener;
+import github.scarsz.discordsrv.objects.MentionIndex;
+import github.scarsz.discordsrv.objects.OutboundChannelScheduler;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.MessageBuilder;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.*;
-import net.dv8tion.jda.api.events.guild.member.update.GuildMemberUpdateNicknameEvent;
-import net.dv8tion.jda.api.events.role.update.RoleUpdateNameEvent;
-import net.dv8tion.jda.api.events.user.update.UserUpdateNameEvent;
 import net.dv8tion.jda.api.exceptions.PermissionException;
-import net.dv8tion.jda.api.hooks.ListenerAdapter;
-import net.dv8tion.jda.api.requests.restaction.MessageAction;
 import org.apache.commons.lang3.StringUtils;
 import org.bukkit.ChatColor;
 import org.jetbrains.annotations.ApiStatus;
@@ -43,6 +41,7 @@ import org.jetbrains.annotations.ApiStatus;
 import java.awt.Color;
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -137,74 +136,61 @@ public class DiscordUtil {
      */
     public static String convertMentionsFromNames(String message, Guild guild) {
         if (!message.contains("@")) return message;
+        return getMentionIndex(guild).convert(message);
+    }
 
-        for (Role role : guild.getRoles()) {
-            Pattern pattern = mentionPatternCache.computeIfAbsent(
-                    role.getId(),
-                    mentionable -> Pattern.compile(
-                            Pattern.quote("@" + role.getName()),
-                            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE
-                    )
-            );
-            message = pattern.matcher(message).replaceAll(role.getAsMention());
-        }
-
-        for (Member member : guild.getMembers()) {
-            Pattern pattern = mentionPatternCache.computeIfAbsent(
-                    member.getId(),
-                    mentionable -> Pattern.compile(
-                            Pattern.quote("@" + member.getEffectiveName()),
-                            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE
-                    )
-            );
-            message = pattern.matcher(message).replaceAll(member.getAsMention());
-        }
+    private static final Map<String, MentionIndex> mentionIndexes = new ConcurrentHashMap<>();
 
-        return message;
-    }
-    private static Map<String, Pattern> mentionPatternCache = new HashMap<>();
-    static {
-        // event listener to clear the cache of invalid patterns because of name changes
-        if (DiscordUtil.getJda() != null) {
-            DiscordUtil.getJda().addEventListener(new ListenerAdapter() {
-                @Override
-                public void onUserUpdateName(UserUpdateNameEvent event) {
-                    mentionPatternCache.remove(event.getUser().getId());
-                }
-                @Override
-                public void onGuildMemberUpdateNickname(GuildMemberUpdateNicknameEvent event) {
-                    mentionPatternCache.remove(event.getMember().getId());
-                }
-                @Override
-                public void onRoleUpdateName(RoleUpdateNameEvent event) {
-                    mentionPatternCache.remove(event.getRole().getId());
-                }
-            });
+    /**
+     * Get the index of role and member names of the given guild used for converting mentions, building it if needed.
+     * The index is kept up to date by {@link DiscordMentionIndexListener}; if it's counts drifted away from
+     * JDA's cache anyway, for example after a reconnect, it's rebuilt.
+     * @param guild Guild to get the index of
+     * @return The mention index of the guild
+     */
+    public static MentionIndex getMentionIndex(Guild guild) {
+        MentionIndex index = mentionIndexes.get(guild.getId());
+        if (index == null
+                || index.getMemberCount() != guild.getMemberCache().size()
+                || index.getRoleCount() != guild.getRoleCache().size()) {
+            if (index != null) DiscordSRV.debug("Rebuilding mention index for " + guild + ", " + index + " drifted from the member cache");
+            index = MentionIndex.of(guild);
+            mentionIndexes.put(guild.getId(), index);
         }
+        return index;
     }
 
     /**
-     * Return the given String with Markdown escaped. Useful for sending things to Discord.
-     * @param text String to escape markdown in
-     * @return String with markdown escaped
+     * Get the mention index of the guild with the given id if it has been built already
+     * @param guildId The id of the guild
+     * @return The mention index of the guild, null if it hasn't been built
      */
-    public static String escapeMarkdown(String text) {
-        return text == null ? "" : text.replace("_", "\\_").replace("*", "\\*").replace("~", "\\~");
+    @ApiStatus.Internal
+    public static MentionIndex getMentionIndexIfPresent(String guildId) {
+        return mentionIndexes.get(guildId);
     }
 
     /**
-     * regex-powered stripping pattern, see https://regex101.com/r/IzirAR/2 for explanation
+     * Forget the mention index of the guild with the given id
+     * @param guildId The id of the guild
      */
-    private static final Pattern stripPattern = Pattern.compile("(?<!@)[&§](?i)[0-9a-fklmnorx]");
-    private static final Pattern stripSectionOnlyPattern = Pattern.compile("(?<!@)§(?i)[0-9a-fklmnorx]");
+    @ApiStatus.Internal
+    public static void removeMentionIndex(String guildId) {
+        mentionIndexes.remove(guildId);
+    }
 
     /**
-     * regex-powered aggressive stripping pattern, see https://regex101.com/r/pQNGzA for explanation
+     * Return the given String with Markdown escaped. Useful for sending things to Discord.
+     * @param text String to escape markdown in
+     * @return String with markdown escaped
      */
-    private static final Pattern aggressiveStripPattern = Pattern.compile("\u001B(?:\\[0?m|\\[38;2(?:;\\d{1,3}){3}m|\\[([0-9]{1,2}[;m]?){3})");
+    public static String escapeMarkdown(String text) {
+        return text == null ? "" : FormattingStripper.escapeMarkdown(text);
+    }
 
     /**
      * Strip the given String of Minecraft coloring. Useful for sending things to Discord.
+     * Color codes directly after an @ are kept, so they don't break up mentions.
      * @param text the given String to strip colors from
      * @return the given String with coloring stripped
      */
@@ -241,11 +227,26 @@ public class DiscordUtil {
 //
 //        return newString.toString();
 
-        return stripPattern.matcher(text).replaceAll("");
+        return FormattingStripper.strip(text, false, false);
+    }
+
+    /**
+     * Strip the given String of Minecraft coloring and escape it's Markdown in one go,
+     * the same as {@link #escapeMarkdown(String)} on the result of {@link #strip(String)}.
+     * @param text the given String to strip colors from and escape
+     * @return the given String with coloring stripped and markdown escaped
+     */
+    public static String stripAndEscapeMarkdown(String text) {
+        if (StringUtils.isBlank(text)) {
+            DiscordSRV.debug("Tried stripping blank message");
+            return "";
+        }
+
+        return FormattingStripper.strip(text, false, true);
     }
 
     public static String stripSectionOnly(String text) {
-        return stripSectionOnlyPattern.matcher(text).replaceAll("");
+        return FormattingStripper.strip(text, true, false);
     }
 
     public static String aggressiveStrip(String text) {
@@ -254,7 +255,7 @@ public class DiscordUtil {
             return null;
         }
 
-        return aggressiveStripPattern.matcher(text).replaceAll("");
+        return FormattingStripper.aggressiveStrip(text);
     }
 
     @Deprecated
@@ -306,12 +307,10 @@ public class DiscordUtil {
             message = message.substring(0, maxLength);
         }
 
-        queueMessage(channel, message, m -> {
-            if (expiration > 0) {
-                try { Thread.sleep(expiration); } catch (InterruptedException ignored) {}
-                deleteMessage(m);
-            }
-        });
+        // only messages that expire need a callback, the others can be merged with other queued messages
+        queueMessage(channel, message, expiration > 0
+                ? m -> DiscordSRV.getPlugin().getExpiringMessageService().expire(m, expiration)
+                : null);
         if (overflow != null) sendMessage(channel, overflow, expiration);
     }
 
@@ -407,7 +406,7 @@ public class DiscordUtil {
             }
             return null;
         }
-        DiscordSRV.api.callEvent(new DiscordGuildMessageSentEvent(getJda(), sentMessage));
+        if (DiscordSRV.api.hasSubscribers(DiscordGuildMessageSentEvent.class)) DiscordSRV.api.callEvent(new DiscordGuildMessageSentEvent(getJda(), sentMessage));
 
         return sentMessage;
     }
@@ -495,27 +494,48 @@ public class DiscordUtil {
      * @param consumer The consumer to handle the message
      */
     public static void queueMessage(TextChannel channel, Message message, Consumer<Message> consumer, boolean allowMassPing) {
+        queueMessage(channel, message, consumer, allowMassPing, OutboundChannelScheduler.Priority.CHAT);
+    }
+    /**
+     * Send the given message to the given channel as the given kind of traffic
+     * @param channel The channel to send the message to
+     * @param message The message to send to the channel
+     * @param priority The kind of traffic the message is, deciding it's share of the request budget when it's used up
+     */
+    public static void queueMessage(TextChannel channel, String message, OutboundChannelScheduler.Priority priority) {
         if (channel == null) {
             DiscordSRV.debug("Tried sending a message to a null channel");
             return;
         }
 
-        try {
-            MessageAction action = channel.sendMessage(message);
-            if (allowMassPing) action = action.allowedMentions(EnumSet.allOf(Message.MentionType.class));
-            action.queue(sentMessage -> {
-                DiscordSRV.api.callEvent(new DiscordGuildMessageSentEvent(getJda(), sentMessage));
-                if (consumer != null) consumer.accept(sentMessage);
-            }, throwable -> DiscordSRV.error("Failed to send message to channel " + channel + ": " + throwable.getMessage()));
-        } catch (PermissionException e) {
-            if (e.getPermission() != Permission.UNKNOWN) {
-                DiscordSRV.warning("Could not send message in channel " + channel + " because the bot does not have the \"" + e.getPermission().getName() + "\" permission");
-            } else {
-                DiscordSRV.warning("Could not send message in channel " + channel + " because \"" + e.getMessage() + "\"");
-            }
-        } catch (IllegalStateException e) {
-            DiscordSRV.error("Could not send message to channel " + channel + ": " + e.getMessage());
+        message = translateEmotes(message, channel.getGuild());
+        queueMessage(channel, new MessageBuilder().append(message).build(), null, false, priority);
+    }
+    /**
+     * Send the given message to the given channel as the given kind of traffic
+     * @param channel The channel to send the message to
+     * @param message The message to send to the channel
+     * @param allowMassPing Whether or not to deny @everyone/@here pings
+     * @param priority The kind of traffic the message is, deciding it's share of the request budget when it's used up
+     */
+    public static void queueMessage(TextChannel channel, Message message, boolean allowMassPing, OutboundChannelScheduler.Priority priority) {
+        queueMessage(channel, message, null, allowMassPing, priority);
+    }
+    /**
+     * Send the given message to the given channel as the given kind of traffic, optionally doing something with the message via the given consumer
+     * @param channel The channel to send the message to
+     * @param message The message to send to the channel
+     * @param consumer The consumer to handle the message
+     * @param allowMassPing Whether or not to deny @everyone/@here pings
+     * @param priority The kind of traffic the message is, deciding it's share of the request budget when it's used up
+     */
+    public static void queueMessage(TextChannel channel, Message message, Consumer<Message> consumer, boolean allowMassPing, OutboundChannelScheduler.Priority priority) {
+        if (channel == null) {
+            DiscordSRV.debug("Tried sending a message to a null channel");
+            return;
         }
+
+        DiscordSRV.getPlugin().getOutboundChannelScheduler().sendMessage(channel, message, allowMassPing, true, consumer, priority);
     }
 
     /**
@@ -529,18 +549,7 @@ public class DiscordUtil {
             return;
         }
 
-        try {
-            channel.getManager().setTopic(topic).queue();
-        } catch (Exception e) {
-            if (e instanceof PermissionException) {
-                PermissionException pe = (PermissionException) e;
-                if (pe.getPermission() != Permission.UNKNOWN) {
-                    DiscordSRV.warning("Could not set topic of channel " + channel + " because the bot does not have the \"" + pe.getPermission().getName() + "\" permission");
-                }
-            } else {
-                DiscordSRV.warning("Could not set topic of channel " + channel + " because \"" + e.getMessage() + "\"");
-            }
-        }
+        DiscordSRV.getPlugin().getOutboundChannelScheduler().setTopic(channel, topic);
     }
 
     /**
@@ -588,9 +597,9 @@ public class DiscordUtil {
      */
     public static void privateMessage(User user, String message) {
         user.openPrivateChannel().queue(privateChannel ->
-                privateChannel.sendMessage(message).queue(sentMessage ->
-                        DiscordSRV.api.callEvent(new DiscordPrivateMessageSentEvent(getJda(), sentMessage))
-                )
+                privateChannel.sendMessage(message).queue(sentMessage -> {
+                    if (DiscordSRV.api.hasSubscribers(DiscordPrivateMessageSentEvent.class)) DiscordSRV.api.callEvent(new DiscordPrivateMessageSentEvent(getJda(), sentMessage));
+                })
         );
     }
 
@@ -0,0 +1,197 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.util;
+
+import com.vdurmont.emoji.Emoji;
+import com.vdurmont.emoji.EmojiManager;
+import com.vdurmont.emoji.Fitzpatrick;
+
+import java.util.Arrays;
+
+/**
+ * <p>Drop-in replacements for {@link com.vdurmont.emoji.EmojiParser#parseToAliases(String)} and
+ * {@link com.vdurmont.emoji.EmojiParser#removeAllEmojis(String)}, giving the same results.</p>
+ * <p>The emoji table is turned into a trie once, which is walked a character at a time without copying the text,
+ * instead of copying every prefix at every position to look it up like the library does.
+ * Text without any of the characters emojis are made of, like most chat, is returned as is after a single check.</p>
+ */
+public final class EmojiConverter {
+
+    private static final Node ROOT = new Node();
+    private static final boolean[] EMOJI_CHARS = new boolean[Character.MAX_VALUE + 1]; // non-ascii chars used in emojis
+    private static final boolean[] FIRST_CHARS = new boolean[Character.MAX_VALUE + 1]; // chars emojis start with
+    private static final Fitzpatrick[] FITZPATRICKS = Fitzpatrick.values();
+    private static final String[] FITZPATRICK_TYPES = new String[FITZPATRICKS.length];
+    private static final boolean PRECHECK;
+
+    static {
+        boolean precheck = true;
+        for (Emoji emoji : EmojiManager.getAll()) {
+            String unicode = emoji.getUnicode();
+            if (unicode.isEmpty()) continue;
+
+            boolean nonAscii = false;
+            Node node = ROOT;
+            for (int i = 0; i < unicode.length(); i++) {
+                char c = unicode.charAt(i);
+                if (c >= 0x80) {
+                    EMOJI_CHARS[c] = true;
+                    nonAscii = true;
+                }
+                node = node.childOrCreate(c);
+            }
+            FIRST_CHARS[unicode.charAt(0)] = true;
+            node.alias = emoji.getAliases().get(0);
+
+            // an emoji made of ascii only would make skipping ascii text wrong
+            if (!nonAscii) precheck = false;
+        }
+        PRECHECK = precheck;
+
+        for (int i = 0; i < FITZPATRICKS.length; i++) FITZPATRICK_TYPES[i] = FITZPATRICKS[i].name().toLowerCase();
+    }
+
+    private EmojiConverter() {}
+
+    /**
+     * Replace all emojis with their first alias, like ":smile:", or ":thumbsup|type_3:" with a skin tone
+     * @param text the text to convert
+     * @return the converted text, the same instance if it contained no emojis
+     */
+    public static String parseToAliases(String text) {
+        return convert(text, true);
+    }
+
+    /**
+     * Remove all emojis, including their skin tones
+     * @param text the text to remove emojis from
+     * @return the text without emojis, the same instance if it contained no emojis
+     */
+    public static String removeAllEmojis(String text) {
+        return convert(text, false);
+    }
+
+    /**
+     * @param text the text to check
+     * @return false if the text definitely contains no emojis, true if it might
+     */
+    public static boolean mayContainEmojis(String text) {
+        if (!PRECHECK) return true;
+        for (int i = 0; i < text.length(); i++) {
+            if (EMOJI_CHARS[text.charAt(i)]) return true;
+        }
+        return false;
+    }
+
+    private static String convert(String text, boolean aliases) {
+        if (!mayContainEmojis(text)) return text;
+
+        StringBuilder builder = null;
+        int copied = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!FIRST_CHARS[text.charAt(i)]) {
+                i++;
+                continue;
+            }
+
+            // find the longest emoji starting here
+            Node node = ROOT;
+            String alias = null;
+            int end = -1;
+            for (int j = i; j < length; j++) {
+                node = node.child(text.charAt(j));
+                if (node == null) break;
+                if (node.alias != null) {
+                    alias = node.alias;
+                    end = j + 1;
+                }
+            }
+            if (alias == null) {
+                i++;
+                continue;
+            }
+
+            int fitzpatrick = fitzpatrickAt(text, end);
+            if (builder == null) builder = new StringBuilder(length + 16);
+            builder.append(text, copied, i);
+            if (aliases) {
+                builder.append(':').append(alias);
+                if (fitzpatrick != -1) builder.append('|').append(FITZPATRICK_TYPES[fitzpatrick]);
+                builder.append(':');
+            }
+            i = fitzpatrick != -1 ? end + FITZPATRICKS[fitzpatrick].unicode.length() : end;
+            copied = i;
+        }
+
+        if (builder == null) return text;
+        return builder.append(text, copied, length).toString();
+    }
+
+    /**
+     * @return the index of the skin tone modifier at the given index of the text, or -1 if there isn't one
+     */
+    private static int fitzpatrickAt(String text, int index) {
+        for (int i = 0; i < FITZPATRICKS.length; i++) {
+            if (text.startsWith(FITZPATRICKS[i].unicode, index)) return i;
+        }
+        return -1;
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS; // sorted
+        private Node[] children = NO_CHILDREN;
+        private String alias; // the alias of the emoji ending at this node, null if none
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) return children[index];
+
+            index = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node child = new Node();
+            newKeys[index] = c;
+            newChildren[index] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+    }
+
+}
@@ -0,0 +1,180 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.util;
+
+/**
+ * <p>Single pass replacements for the color code stripping and markdown escaping regexes in {@link DiscordUtil}.</p>
+ * <p>Every method returns the given String itself when there is nothing to strip or escape,
+ * and otherwise builds the result in one copy of the input.</p>
+ */
+public final class FormattingStripper {
+
+    private static final char SECTION = '\u00a7';
+    private static final char ESCAPE = '\u001B';
+
+    private FormattingStripper() {}
+
+    /**
+     * Strip legacy color and formatting codes, including the pairs that make up hex colors
+     * @param text the text to strip
+     * @param sectionOnly only strip codes starting with the section sign, not the ones starting with an ampersand
+     * @param escapeMarkdown whether to also escape markdown characters, like {@link DiscordUtil#escapeMarkdown(String)}
+     * @return the stripped text
+     */
+    public static String strip(String text, boolean sectionOnly, boolean escapeMarkdown) {
+        StringBuilder builder = null;
+        int copied = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if ((c == SECTION || (c == '&' && !sectionOnly)) && i + 1 < length && isCode(text.charAt(i + 1))
+                    && (i == 0 || text.charAt(i - 1) != '@')) {
+                if (builder == null) builder = new StringBuilder(length);
+                builder.append(text, copied, i);
+                copied = i + 2;
+                i++;
+            } else if (escapeMarkdown && (c == '_' || c == '*' || c == '~')) {
+                if (builder == null) builder = new StringBuilder(length + 16);
+                builder.append(text, copied, i).append('\\').append(c);
+                copied = i + 1;
+            }
+        }
+
+        if (builder == null) return text;
+        return builder.append(text, copied, length).toString();
+    }
+
+    /**
+     * Escape markdown characters, the same way {@link DiscordUtil#escapeMarkdown(String)} does
+     * @param text the text to escape
+     * @return the escaped text
+     */
+    public static String escapeMarkdown(String text) {
+        StringBuilder builder = null;
+        int copied = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c != '_' && c != '*' && c != '~') continue;
+            if (builder == null) builder = new StringBuilder(length + 16);
+            builder.append(text, copied, i).append('\\').append(c);
+            copied = i + 1;
+        }
+
+        if (builder == null) return text;
+        return builder.append(text, copied, length).toString();
+    }
+
+    /**
+     * Strip the ANSI color sequences console lines are colored with
+     * @param text the text to strip
+     * @return the stripped text
+     */
+    public static String aggressiveStrip(String text) {
+        int escape = text.indexOf(ESCAPE);
+        if (escape == -1) return text;
+
+        StringBuilder builder = null;
+        int copied = 0;
+        while (escape != -1) {
+            int end = matchAnsi(text, escape + 1);
+            if (end == -1) {
+                escape = text.indexOf(ESCAPE, escape + 1);
+                continue;
+            }
+
+            if (builder == null) builder = new StringBuilder(text.length());
+            builder.append(text, copied, escape);
+            copied = end;
+            escape = text.indexOf(ESCAPE, end);
+        }
+
+        if (builder == null) return text;
+        return builder.append(text, copied, text.length()).toString();
+    }
+
+    private static boolean isCode(char c) {
+        return (c >= '0' && c <= '9')
+                || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')
+                || (c >= 'k' && c <= 'o') || (c >= 'K' && c <= 'O')
+                || c == 'r' || c == 'R' || c == 'x' || c == 'X';
+    }
+
+    private static boolean isDigit(String text, int index) {
+        return index < text.length() && text.charAt(index) >= '0' && text.charAt(index) <= '9';
+    }
+
+    private static boolean is(String text, int index, char c) {
+        return index < text.length() && text.charAt(index) == c;
+    }
+
+    /**
+     * Match what follows an escape character the same way
+     * {@code \[0?m|\[38;2(?:;\d{1,3}){3}m|\[([0-9]{1,2}[;m]?){3}} does, trying the alternatives in order
+     * @return the end of the sequence, or -1 if it isn't one
+     */
+    private static int matchAnsi(String text, int start) {
+        if (!is(text, start, '[')) return -1;
+        int index = start + 1;
+
+        // reset: [m or [0m
+        if (is(text, index, 'm')) return index + 1;
+        if (is(text, index, '0') && is(text, index + 1, 'm')) return index + 2;
+
+        // rgb: [38;2;r;g;bm
+        if (text.startsWith("38;2", index)) {
+            int end = index + 4;
+            for (int component = 0; component < 3; component++) {
+                if (!is(text, end, ';') || !isDigit(text, end + 1)) {
+                    end = -1;
+                    break;
+                }
+                end += 2;
+                // a fourth digit can't be followed by the next separator either way
+                for (int digits = 1; digits < 3 && isDigit(text, end); digits++) end++;
+            }
+            if (end != -1 && is(text, end, 'm')) return end + 1;
+        }
+
+        // three groups of one or two digits, each optionally followed by ; or m
+        return matchGroups(text, index, 0);
+    }
+
+    private static int matchGroups(String text, int index, int group) {
+        if (group == 3) return index;
+        if (!isDigit(text, index)) return -1;
+
+        // longest alternatives first, like the greedy quantifiers in the regex
+        for (int digits = isDigit(text, index + 1) ? 2 : 1; digits >= 1; digits--) {
+            int end = index + digits;
+            if (is(text, end, ';') || is(text, end, 'm')) {
+                int result = matchGroups(text, end + 1, group + 1);
+                if (result != -1) return result;
+            }
+            int result = matchGroups(text, end, group + 1);
+            if (result != -1) return result;
+        }
+        return -1;
+    }
+
+}
@@ -288,6 +288,8 @@ public class LangUtil {
             put(Language.RU, "DiscordSRV API Listener {listenername} метод {methodname} был недоступен, несмотря на все наши усилия сделать его доступным");
             put(Language.ET, "DiscordSRV API Listener {listenername} meetod {methodname} polnud ligipääsetav, kuigi prooviti ligipääsetavaks teha");
             put(Language.ZH, "DiscordSRV API Listener {listenername} 方案 {methodname} 無法存取");
+        }}), API_LISTENER_SLOW(new HashMap<Language, String>() {{
+            put(Language.EN, "DiscordSRV API Listener {listenername} took {time} to handle {eventname} ({slowcount} slow calls so far), this delays DiscordSRV");
         }}), HTTP_FAILED_TO_FETCH_URL(new HashMap<Language, String>() {{
             put(Language.EN, "Failed to fetch URL");
             put(Language.FR, "Impossible de récuperer l'URL");
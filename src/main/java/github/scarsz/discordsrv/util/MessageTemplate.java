@@ -0,0 +1,232 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <p>A message format with <code>%placeholder%</code>s, split into literal text and placeholder segments once
+ * so rendering it is a single pass over the segments instead of a <code>String#replace</code> per placeholder.</p>
+ * <p>Placeholder values are only requested from the resolver for placeholders the template actually contains,
+ * placeholders the resolver returns null for (such as PlaceholderAPI placeholders) are left as they were.
+ * The closing <code>%</code> of such a placeholder can still open the next one, so <code>50%off%username%</code>
+ * renders the same as it would with a <code>String#replace</code> per placeholder.
+ * Values are inserted as-is and are never scanned for placeholders themselves.</p>
+ *
+ * <p>Example:
+ * <pre>MessageTemplate.compile("%username% joined %world%").render(key -> key.equals("world") ? "nether" : null) = "%username% joined nether"</pre>
+ * </p>
+ */
+public class MessageTemplate {
+
+    /**
+     * Templates are compiled from configured formats so the cache stays small,
+     * the limit only guards against compiling ever-changing strings
+     */
+    private static final int MAX_CACHED_TEMPLATES = 512;
+    private static final Map<String, MessageTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private final String source;
+    // segments[i] is a placeholder name if placeholder[i] is true, literal text otherwise
+    private final String[] segments;
+    private final boolean[] placeholder;
+    private final int[] offsets; // index of the segment in source
+    private final int literalLength;
+
+    private MessageTemplate(String source) {
+        this.source = source;
+
+        List<String> segments = new ArrayList<>();
+        List<Boolean> placeholder = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        int literalLength = 0;
+        int literalStart = 0;
+        int index = 0;
+        while ((index = source.indexOf('%', index)) != -1) {
+            int end = findPlaceholderEnd(source, index);
+            if (end == -1) {
+                index++;
+                continue;
+            }
+
+            if (index > literalStart) {
+                segments.add(source.substring(literalStart, index));
+                placeholder.add(false);
+                offsets.add(literalStart);
+                literalLength += index - literalStart;
+            }
+            segments.add(source.substring(index + 1, end));
+            placeholder.add(true);
+            offsets.add(index);
+            literalStart = index = end + 1;
+        }
+        if (literalStart < source.length()) {
+            segments.add(source.substring(literalStart));
+            placeholder.add(false);
+            offsets.add(literalStart);
+            literalLength += source.length() - literalStart;
+        }
+
+        this.segments = segments.toArray(new String[0]);
+        this.placeholder = new boolean[segments.size()];
+        for (int i = 0; i < this.placeholder.length; i++) this.placeholder[i] = placeholder.get(i);
+        this.offsets = offsets.stream().mapToInt(Integer::intValue).toArray();
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * Get the compiled template for the given format, compiling it if it hasn't been compiled before
+     *
+     * @param format the format to compile
+     * @return the compiled template
+     */
+    public static MessageTemplate compile(String format) {
+        MessageTemplate template = CACHE.get(format);
+        if (template != null) return template;
+
+        template = new MessageTemplate(format);
+        if (CACHE.size() < MAX_CACHED_TEMPLATES) CACHE.putIfAbsent(format, template);
+        return template;
+    }
+
+    /**
+     * Replace placeholders in a format that isn't worth caching, like one that already had other values inserted
+     *
+     * @param input the input to process
+     * @param resolver the function that should map placeholder names to their values, or null to leave them
+     * @return the processed input
+     */
+    public static String expand(String input, Function<String, Object> resolver) {
+        if (input == null) return null;
+        MessageTemplate template = CACHE.get(input);
+        return (template != null ? template : new MessageTemplate(input)).render(resolver);
+    }
+
+    /**
+     * Forget all compiled templates, for when the configured formats change
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * Render this template with the given values
+     *
+     * @param resolver the function that should map placeholder names (without the surrounding <code>%</code>s)
+     *                 to their values, or null to leave the placeholder in the result untouched
+     * @return the rendered String
+     */
+    public String render(Function<String, Object> resolver) {
+        if (segments.length == 1 && !placeholder[0]) return source;
+
+        StringBuilder builder = new StringBuilder(literalLength + 16 * segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            if (!placeholder[i]) {
+                builder.append(segments[i]);
+                continue;
+            }
+
+            Object value = resolver.apply(segments[i]);
+            if (value == null) {
+                // the closing % might open the next placeholder, the rest can't be rendered from the segments
+                builder.append('%').append(segments[i]);
+                scan(source, offsets[i] + segments[i].length() + 1, builder, resolver);
+                return builder.toString();
+            }
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Render the given source from the given index without compiling it,
+     * leaving placeholders the resolver returns null for with their closing <code>%</code> free to open the next one
+     */
+    private static void scan(String source, int from, StringBuilder builder, Function<String, Object> resolver) {
+        int literalStart = from;
+        int index = from;
+        while ((index = source.indexOf('%', index)) != -1) {
+            int end = findPlaceholderEnd(source, index);
+            if (end == -1) {
+                index++;
+                continue;
+            }
+
+            Object value = resolver.apply(source.substring(index + 1, end));
+            if (value == null) {
+                index = end;
+                continue;
+            }
+            builder.append(source, literalStart, index).append(value);
+            literalStart = index = end + 1;
+        }
+        builder.append(source, literalStart, source.length());
+    }
+
+    /**
+     * @param name the name of the placeholder, without the surrounding <code>%</code>s
+     * @return whether or not this template contains the given placeholder, including ones that are only
+     *         a placeholder when the one before them isn't resolved
+     */
+    public boolean references(String name) {
+        int index = 0;
+        while ((index = source.indexOf('%', index)) != -1) {
+            int end = findPlaceholderEnd(source, index);
+            if (end != -1 && end - index - 1 == name.length() && source.startsWith(name, index + 1)) return true;
+            index++;
+        }
+        return false;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * @return the index of the <code>%</code> closing the placeholder opened at the given index, -1 if there is none
+     */
+    private static int findPlaceholderEnd(String source, int start) {
+        int index = start + 1;
+        while (index < source.length()) {
+            char c = source.charAt(index);
+            if (c == '%') return index > start + 1 ? index : -1;
+            if (!isPlaceholderCharacter(c)) return -1;
+            index++;
+        }
+        return -1;
+    }
+
+    private static boolean isPlaceholderCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-' || c == '.';
+    }
+
+}
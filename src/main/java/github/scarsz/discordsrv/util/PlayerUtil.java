@@ -25,7 +25,8 @@ package github.scarsz.discordsrv.util;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.hooks.PluginHook;
 import github.scarsz.discordsrv.hooks.vanish.VanishHook;
-import net.dv8tion.jda.api.entities.User;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
 import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.Server;
@@ -34,13 +35,43 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class PlayerUtil {
 
+    // resolved once, Bukkit changed the return type from Player[] to Collection<? extends Player> around 1.8
+    private static final MethodHandle ONLINE_PLAYERS_METHOD;
+    private static final boolean ONLINE_PLAYERS_ARRAY;
+    static {
+        MethodHandle method = null;
+        boolean array = false;
+        try {
+            Class<?> returnType = Server.class.getMethod("getOnlinePlayers").getReturnType();
+            array = returnType.isArray();
+            method = MethodHandles.publicLookup().findVirtual(Server.class, "getOnlinePlayers", MethodType.methodType(returnType));
+        } catch (Exception e) {
+            DiscordSRV.error(e);
+        }
+        ONLINE_PLAYERS_METHOD = method;
+        ONLINE_PLAYERS_ARRAY = array;
+    }
+
+    /**
+     * How long the snapshot of online players without vanished players is reused,
+     * since vanish plugins don't let us know when someone (un)vanishes
+     */
+    public static final long VISIBLE_PLAYERS_TTL_MILLIS = 1000;
+
+    private static final AtomicLong onlinePlayersGeneration = new AtomicLong();
+    private static volatile Snapshot onlinePlayers = null;
+    private static volatile Snapshot visiblePlayers = null;
+
     public static List<Player> getOnlinePlayers() {
         return getOnlinePlayers(false);
     }
@@ -51,28 +82,73 @@ public class PlayerUtil {
      * @return {@code ArrayList} containing online players
      */
     public static List<Player> getOnlinePlayers(boolean filterVanishedPlayers) {
-        List<Player> onlinePlayers = new ArrayList<>();
+        return new ArrayList<>(getOnlinePlayersSnapshot(filterVanishedPlayers));
+    }
 
+    /**
+     * Unmodifiable snapshot of the online players, shared between callers and only rebuilt after a player joined or quit.
+     * When vanished players are filtered out, the snapshot is also rebuilt after {@link #VISIBLE_PLAYERS_TTL_MILLIS}.
+     * Use {@link #getOnlinePlayers(boolean)} for a copy that can be modified.
+     * @param filterVanishedPlayers whether or not to filter out vanished players
+     * @return unmodifiable {@code List} containing online players
+     */
+    public static List<Player> getOnlinePlayersSnapshot(boolean filterVanishedPlayers) {
+        long generation = onlinePlayersGeneration.get();
+        Snapshot online = onlinePlayers;
+        if (online == null || online.generation != generation) {
+            online = new Snapshot(generation, Long.MAX_VALUE, fetchOnlinePlayers());
+            onlinePlayers = online;
+        }
+        if (!filterVanishedPlayers) return online.players;
+
+        Snapshot visible = visiblePlayers;
+        if (visible == null || visible.generation != generation || visible.expiry < System.currentTimeMillis()) {
+            List<Player> players = new ArrayList<>(online.players.size());
+            for (Player player : online.players) {
+                if (!isVanished(player)) players.add(player);
+            }
+            visible = new Snapshot(generation, System.currentTimeMillis() + VISIBLE_PLAYERS_TTL_MILLIS, Collections.unmodifiableList(players));
+            visiblePlayers = visible;
+        }
+        return visible.players;
+    }
+
+    /**
+     * Discard the snapshots of online players, called when a player joins or quits
+     */
+    public static void invalidateOnlinePlayers() {
+        onlinePlayersGeneration.incrementAndGet();
+    }
+
+    private static List<Player> fetchOnlinePlayers() {
+        if (ONLINE_PLAYERS_METHOD == null) return Collections.emptyList();
+
+        List<Player> players = new ArrayList<>();
         try {
-            Method onlinePlayerMethod = Server.class.getMethod("getOnlinePlayers");
-            if (onlinePlayerMethod.getReturnType().equals(Collection.class)) {
-                for (Object o : ((Collection<?>) onlinePlayerMethod.invoke(Bukkit.getServer()))) {
-                    onlinePlayers.add((Player) o);
-                }
+            Object result = ONLINE_PLAYERS_METHOD.invoke(Bukkit.getServer());
+            if (ONLINE_PLAYERS_ARRAY) {
+                Collections.addAll(players, (Player[]) result);
             } else {
-                Collections.addAll(onlinePlayers, ((Player[]) onlinePlayerMethod.invoke(Bukkit.getServer())));
+                for (Object o : (Collection<?>) result) players.add((Player) o);
             }
-        } catch (Exception e) {
-            DiscordSRV.error(e);
+        } catch (Throwable t) {
+            DiscordSRV.error(t);
         }
+        return Collections.unmodifiableList(players);
+    }
 
-        if (!filterVanishedPlayers) {
-            return onlinePlayers;
-        } else {
-            return onlinePlayers.stream()
-                    .filter(player -> !isVanished(player))
-                    .collect(Collectors.toList());
+    private static final class Snapshot {
+
+        private final long generation;
+        private final long expiry;
+        private final List<Player> players;
+
+        private Snapshot(long generation, long expiry, List<Player> players) {
+            this.generation = generation;
+            this.expiry = expiry;
+            this.players = players;
         }
+
     }
 
     private static Sound notificationSound = null;
@@ -99,30 +175,49 @@ public class PlayerUtil {
             return;
         }
 
-        List<String> splitMessage =
-                Arrays.stream(DiscordUtil.strip(message).replaceAll("[^a-zA-Z0-9_@]", " ").split(" ")) // split message by groups of alphanumeric characters & underscores
-                        .filter(StringUtils::isNotBlank) // not actually needed but it cleans up the stream a lot
-                        .map(String::toLowerCase) // map everything to be lower case because we don't care about case when finding player names
-                        .map(s -> {
-                            String possibleId = s.replace("<@", "").replace(">", "");
-                            if (StringUtils.isNotBlank(possibleId) && StringUtils.isNumeric(possibleId) && s.startsWith("<@") && s.endsWith(">")) {
-                                User possibleUser = DiscordUtil.getUserById(possibleId);
-                                if (possibleUser == null) return s;
-                                return "@" + DiscordSRV.getPlugin().getMainGuild().getMember(possibleUser).getEffectiveName();
-                            } else {
-                                return s;
-                            }
-                        })
-                        .collect(Collectors.toList());
-
-        getOnlinePlayers().stream()
+        // look the mentions up by name instead of checking every online player against the message
+        DiscordSRV.getPlugin().getPlayerNameIndex().findMentioned(DiscordUtil.strip(message)).stream()
                 .filter(predicate) // apply predicate to filter out players that didn't get this message sent to them
-                .filter(player -> // filter out players who's name nor display name is in the split message
-                        splitMessage.contains("@" + player.getName().toLowerCase()) || splitMessage.contains("@" + DiscordUtil.strip(player.getDisplayName().toLowerCase()))
-                )
                 .forEach(player -> player.playSound(player.getLocation(), notificationSound, 1, 1));
     }
 
+    private static volatile boolean componentsSupported = true;
+
+    /**
+     * Send the given message to all of the given players, converting it to chat components only once
+     * instead of once for every player. Links are made clickable, like {@link Player#sendMessage(String)} does
+     * on CraftBukkit. Messages spanning multiple lines are sent with {@link Player#sendMessage(String)}
+     * so they're split into lines the same way.
+     * @param players the players to send the message to
+     * @param message the message, with legacy formatting codes
+     */
+    public static void sendMessage(Collection<? extends Player> players, String message) {
+        if (players.isEmpty()) return;
+
+        BaseComponent[] components = null;
+        if (componentsSupported && message.indexOf('\n') == -1) {
+            try {
+                components = TextComponent.fromLegacyText(message);
+            } catch (NoClassDefFoundError e) {
+                componentsSupported = false;
+            }
+        }
+
+        for (Player player : players) {
+            if (components != null) {
+                try {
+                    player.spigot().sendMessage(components);
+                    continue;
+                } catch (UnsupportedOperationException | NoSuchMethodError e) {
+                    // not running Spigot
+                    componentsSupported = false;
+                    components = null;
+                }
+            }
+            player.sendMessage(message);
+        }
+    }
+
     /**
      * Check if the given Player is vanished by a supported and hooked vanish plugin
      * @param player Player to check
@@ -24,6 +24,7 @@ package github.scarsz.discordsrv.util;
 
 import com.github.kevinsawicki.http.HttpRequest;
 import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.objects.PlayerChatContext;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.*;
 import net.dv8tion.jda.api.requests.restaction.MessageAction;
@@ -68,9 +69,10 @@ public class WebhookUtil {
 
     public static void deliverMessage(TextChannel channel, Player player, String message, MessageEmbed embed) {
         Bukkit.getScheduler().runTaskAsynchronously(DiscordSRV.getPlugin(), () -> {
-            String avatarUrl = DiscordSRV.getAvatarUrl(player);
+            PlayerChatContext context = DiscordSRV.getPlugin().getPlayerChatContextManager().get(player);
+            String avatarUrl = context.getAvatarUrl();
             String username = DiscordSRV.config().getString("Experiment_WebhookChatMessageUsernameFormat")
-                    .replace("%displayname%", DiscordUtil.strip(player.getDisplayName()))
+                    .replace("%displayname%", context.getDisplayName())
                     .replace("%username%", player.getName());
             username = PlaceholderUtil.replacePlaceholders(username, player);
             username = DiscordUtil.strip(username);
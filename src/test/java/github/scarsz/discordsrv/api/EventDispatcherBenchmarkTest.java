@@ -0,0 +1,164 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.api;
+
+import github.scarsz.discordsrv.api.events.Event;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares {@link EventDispatcher} against the reflective scan {@link ApiManager#callEvent(Event)} used to do.
+ * The benchmark itself is ignored during builds, run it explicitly to see the timings.
+ */
+public class EventDispatcherBenchmarkTest {
+
+    private static final Logger LOGGER = Logger.getLogger(EventDispatcherBenchmarkTest.class.getName());
+
+    private static final int LISTENERS = 8;
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 50_000;
+
+    @Test
+    public void dispatchMatchesReflectiveScan() {
+        List<Object> listeners = createListeners();
+        EventDispatcher dispatcher = new EventDispatcher();
+        listeners.forEach(dispatcher::register);
+
+        OrderRecordingListener.order.clear();
+        dispatcher.dispatch(new ChildEvent());
+        List<ListenerPriority> dispatched = new ArrayList<>(OrderRecordingListener.order);
+
+        OrderRecordingListener.order.clear();
+        reflectiveCallEvent(listeners, new ChildEvent());
+        List<ListenerPriority> reflective = new ArrayList<>(OrderRecordingListener.order);
+
+        assertEquals(reflective, dispatched);
+        OrderRecordingListener.order.clear();
+    }
+
+    @Test
+    @Ignore("benchmark")
+    public void benchmark() {
+        List<Object> listeners = createListeners();
+        EventDispatcher dispatcher = new EventDispatcher();
+        listeners.forEach(dispatcher::register);
+        OrderRecordingListener.recording = false;
+
+        for (int i = 0; i < WARMUP; i++) reflectiveCallEvent(listeners, new ChildEvent());
+        long reflectiveStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) reflectiveCallEvent(listeners, new ChildEvent());
+        long reflectiveNanos = System.nanoTime() - reflectiveStart;
+
+        for (int i = 0; i < WARMUP; i++) dispatcher.dispatch(new ChildEvent());
+        long dispatchStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) dispatcher.dispatch(new ChildEvent());
+        long dispatchNanos = System.nanoTime() - dispatchStart;
+
+        OrderRecordingListener.recording = true;
+        String report = LISTENERS + " listeners, " + ITERATIONS + " events: "
+                + "reflective scan " + (reflectiveNanos / ITERATIONS) + " ns/event, "
+                + "dispatch table " + (dispatchNanos / ITERATIONS) + " ns/event";
+        LOGGER.info(report);
+        assertTrue(report, dispatchNanos < reflectiveNanos);
+    }
+
+    private static List<Object> createListeners() {
+        List<Object> listeners = new ArrayList<>();
+        for (int i = 0; i < LISTENERS; i++) {
+            listeners.add(i % 2 == 0 ? new OrderRecordingListener() : new UnrelatedListener());
+        }
+        return listeners;
+    }
+
+    /**
+     * The event calling implementation prior to {@link EventDispatcher}
+     */
+    private static void reflectiveCallEvent(List<Object> listeners, Event event) {
+        for (ListenerPriority listenerPriority : ListenerPriority.values()) {
+            for (Object apiListener : listeners) {
+                for (Method method : apiListener.getClass().getMethods()) {
+                    if (method.getParameters().length != 1) continue;
+                    if (!method.getParameters()[0].getType().isAssignableFrom(event.getClass())) continue;
+                    if (!method.isAnnotationPresent(Subscribe.class)) continue;
+
+                    Subscribe subscribeAnnotation = method.getAnnotation(Subscribe.class);
+                    if (subscribeAnnotation.priority() != listenerPriority) continue;
+                    if (!method.isAccessible()) method.setAccessible(true);
+
+                    try {
+                        method.invoke(apiListener, event);
+                    } catch (ReflectiveOperationException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }
+        }
+    }
+
+    public static class ParentEvent extends Event {}
+    public static class ChildEvent extends ParentEvent {}
+    public static class OtherEvent extends Event {}
+
+    public static class OrderRecordingListener {
+
+        static final List<ListenerPriority> order = new ArrayList<>();
+        static boolean recording = true;
+
+        @Subscribe(priority = ListenerPriority.MONITOR)
+        public void onMonitor(ChildEvent event) {
+            if (recording) order.add(ListenerPriority.MONITOR);
+        }
+
+        @Subscribe(priority = ListenerPriority.LOWEST)
+        public void onLowest(ParentEvent event) {
+            if (recording) order.add(ListenerPriority.LOWEST);
+        }
+
+        @Subscribe
+        public void onNormal(Event event) {
+            if (recording) order.add(ListenerPriority.NORMAL);
+        }
+
+        @Subscribe(priority = ListenerPriority.HIGH)
+        public void onOther(OtherEvent event) {
+            if (recording) order.add(ListenerPriority.HIGH);
+        }
+
+    }
+
+    public static class UnrelatedListener {
+
+        @Subscribe
+        public void onOther(OtherEvent event) {}
+
+    }
+
+}
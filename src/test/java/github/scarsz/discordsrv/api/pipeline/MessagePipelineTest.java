@@ -0,0 +1,95 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.api.pipeline;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MessagePipelineTest {
+
+    @Test
+    public void runsStagesInOrder() {
+        MessagePipeline<List<String>> pipeline = new MessagePipeline<>("Test");
+        pipeline.addStage("a", message -> message.add("a"));
+        pipeline.addStage("c", message -> message.add("c"));
+        pipeline.addStageBefore("c", "b", message -> message.add("b"));
+        pipeline.addStageAfter("c", "d", message -> message.add("d"));
+
+        List<String> message = new ArrayList<>();
+        assertTrue(pipeline.process(message));
+        assertEquals(Arrays.asList("a", "b", "c", "d"), message);
+        assertEquals(Arrays.asList("a", "b", "c", "d"), pipeline.getStageNames());
+    }
+
+    @Test
+    public void leavesOutDisabledStagesUntilRebuilt() {
+        MessagePipeline<List<String>> pipeline = new MessagePipeline<>("Test");
+        boolean[] enabled = {false};
+        pipeline.addStage("a", message -> message.add("a"));
+        pipeline.addStage("b", message -> message.add("b"), () -> enabled[0]);
+
+        List<String> message = new ArrayList<>();
+        pipeline.process(message);
+        assertEquals(Arrays.asList("a"), message);
+
+        enabled[0] = true;
+        message.clear();
+        pipeline.process(message);
+        assertEquals(Arrays.asList("a"), message);
+
+        pipeline.rebuild();
+        message.clear();
+        pipeline.process(message);
+        assertEquals(Arrays.asList("a", "b"), message);
+    }
+
+    @Test
+    public void stopsAtRejectingStage() {
+        MessagePipeline<List<String>> pipeline = new MessagePipeline<>("Test");
+        pipeline.addStage("a", message -> false);
+        pipeline.addStage("b", message -> message.add("b"));
+
+        List<String> message = new ArrayList<>();
+        assertFalse(pipeline.process(message));
+        assertTrue(message.isEmpty());
+        assertEquals(1, pipeline.getProcessed());
+        assertEquals(0, pipeline.getCompleted());
+
+        assertTrue(pipeline.removeStage("a"));
+        assertTrue(pipeline.process(message));
+        assertEquals(1, pipeline.getCompleted());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsDuplicateNames() {
+        MessagePipeline<Object> pipeline = new MessagePipeline<>("Test");
+        pipeline.addStage("a", message -> true);
+        pipeline.addStage("a", message -> true);
+    }
+
+}
@@ -0,0 +1,57 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CannedResponseMatcherTest {
+
+    @Test
+    public void matchesLongestTriggerIgnoringCase() {
+        Map<String, String> responses = new LinkedHashMap<>();
+        responses.put("!ip", "play.example.com");
+        responses.put("!ip bedrock", "bedrock.example.com");
+        responses.put("!Rules", "be nice");
+        CannedResponseMatcher matcher = new CannedResponseMatcher(responses);
+
+        assertEquals("play.example.com", matcher.match("!ip"));
+        assertEquals("play.example.com", matcher.match("!IP please"));
+        assertEquals("bedrock.example.com", matcher.match("!ip Bedrock?"));
+        assertEquals("be nice", matcher.match("!rules"));
+        assertNull(matcher.match("!i"));
+        assertNull(matcher.match("what is the !ip"));
+        assertNull(matcher.match(""));
+    }
+
+    @Test
+    public void emptyMatcher() {
+        assertNull(CannedResponseMatcher.EMPTY.match("!ip"));
+    }
+
+}
@@ -0,0 +1,65 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ChannelIndexTest {
+
+    @Test
+    public void lookupsMatchConfigurationOrder() {
+        Map<String, String> channels = new LinkedHashMap<>();
+        channels.put("global", "100");
+        channels.put("Staff", "200");
+        channels.put("staff", "300");
+        channels.put("trade", "100");
+        ChannelIndex index = new ChannelIndex(channels);
+
+        assertEquals("global", index.getMainChannelName());
+        assertEquals("100", index.getMainTextChannelId());
+
+        assertEquals("200", index.getTextChannelId("Staff"));
+        assertEquals("300", index.getTextChannelId("staff"));
+        assertEquals("200", index.getTextChannelId("STAFF"));
+        assertNull(index.getTextChannelId("unknown"));
+        assertNull(index.getTextChannelId(null));
+
+        assertEquals("global", index.getGameChannelName("100"));
+        assertEquals("staff", index.getGameChannelName("300"));
+        assertNull(index.getGameChannelName("400"));
+    }
+
+    @Test
+    public void emptyIndex() {
+        assertNull(ChannelIndex.EMPTY.getMainChannelName());
+        assertNull(ChannelIndex.EMPTY.getMainTextChannelId());
+        assertNull(ChannelIndex.EMPTY.getGameChannelName("100"));
+    }
+
+}
@@ -0,0 +1,91 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.TextChannel;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExpiringMessageServiceTest {
+
+    @Test
+    public void deletesMessagesExpiringTogetherInOneBatch() throws InterruptedException {
+        List<String> batches = Collections.synchronizedList(new ArrayList<>());
+        ExpiringMessageService service = new ExpiringMessageService((channel, messages) -> batches.add(channel.getId() + ":" + messages.size()));
+
+        TextChannel a = channel("a");
+        TextChannel b = channel("b");
+        service.expire(message(a), 0);
+        service.expire(message(a), 0);
+        service.expire(message(b), 0);
+        assertEquals(3, service.getPending());
+
+        Thread.sleep(ExpiringMessageService.SLOT_MILLIS * 2 + 200);
+        synchronized (batches) {
+            Collections.sort(batches);
+            assertEquals(Arrays.asList("a:2", "b:1"), batches);
+        }
+        assertEquals(0, service.getPending());
+        assertEquals(3, service.getExpired());
+        service.shutdown();
+    }
+
+    @Test
+    public void shutdownDropsPendingMessages() {
+        List<String> batches = new ArrayList<>();
+        ExpiringMessageService service = new ExpiringMessageService((channel, messages) -> batches.add(channel.getId() + ":" + messages.size()));
+
+        service.expire(message(channel("a")), 60_000);
+        service.shutdown();
+        assertEquals(0, service.getPending());
+
+        service.expire(message(channel("b")), 0);
+        assertEquals(0, service.getPending());
+        assertEquals(Collections.emptyList(), batches);
+    }
+
+    private static TextChannel channel(String id) {
+        return (TextChannel) Proxy.newProxyInstance(TextChannel.class.getClassLoader(), new Class[] {TextChannel.class},
+                (proxy, method, args) -> method.getName().equals("getId") ? id : null);
+    }
+
+    private static Message message(TextChannel channel) {
+        return (Message) Proxy.newProxyInstance(Message.class.getClassLoader(), new Class[] {Message.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getTextChannel": return channel;
+                        case "isFromType": return false;
+                        default: return null;
+                    }
+                });
+    }
+
+}
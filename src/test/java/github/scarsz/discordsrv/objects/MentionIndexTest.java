@@ -0,0 +1,77 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MentionIndexTest {
+
+    @Test
+    public void convertsLongestNameIgnoringCase() {
+        MentionIndex index = new MentionIndex();
+        index.put("1", "Steve", "<@1>", false);
+        index.put("2", "Steve Jobs", "<@2>", false);
+        index.put("3", "Admins", "<@&3>", true);
+
+        assertEquals("hi <@1>!", index.convert("hi @steve!"));
+        assertEquals("<@2> and <@1>", index.convert("@STEVE JOBS and @Steve"));
+        assertEquals("<@&3>, look", index.convert("@admins, look"));
+        assertEquals("user@ example @nobody", index.convert("user@ example @nobody"));
+
+        String unchanged = "no mentions here";
+        assertSame(unchanged, index.convert(unchanged));
+    }
+
+    @Test
+    public void rolesWinFromMembers() {
+        MentionIndex index = new MentionIndex();
+        index.put("1", "Staff", "<@1>", false);
+        index.put("2", "Staff", "<@&2>", true);
+        assertEquals("<@&2>", index.convert("@staff"));
+
+        index.remove("2");
+        assertEquals("<@1>", index.convert("@staff"));
+    }
+
+    @Test
+    public void updatesIncrementally() {
+        MentionIndex index = new MentionIndex();
+        index.put("1", "Alex", "<@1>", false);
+        index.put("2", "Role", "<@&2>", true);
+        assertEquals(1, index.getMemberCount());
+        assertEquals(1, index.getRoleCount());
+
+        index.put("1", "Alexander", "<@1>", false);
+        assertEquals("@alex <@1>", index.convert("@alex @alexander"));
+        assertEquals(1, index.getMemberCount());
+
+        index.remove("1");
+        assertEquals("@alexander", index.convert("@alexander"));
+        assertEquals(0, index.getMemberCount());
+        assertEquals(1, index.getRoleCount());
+    }
+
+}
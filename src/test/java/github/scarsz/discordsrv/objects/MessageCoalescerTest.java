@@ -0,0 +1,135 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+
+public class MessageCoalescerTest {
+
+    @Test
+    public void coalescesLinesPerDestination() {
+        List<String> sent = new ArrayList<>();
+        ManualScheduler scheduler = new ManualScheduler();
+        MessageCoalescer<String> coalescer = new MessageCoalescer<>("Test", (destination, message) -> sent.add(destination + ":" + message), () -> 100, 2000, scheduler);
+
+        coalescer.submit("a", "one");
+        coalescer.submit("b", "two");
+        coalescer.submit("a", "three");
+        assertEquals(0, sent.size());
+        assertEquals(Arrays.asList(100L, 100L), scheduler.delays);
+
+        scheduler.runAll();
+        assertEquals(Arrays.asList("a:one\nthree", "b:two"), sent);
+        assertEquals(3, coalescer.getLineCount());
+        assertEquals(2, coalescer.getMessageCount());
+        coalescer.shutdown();
+    }
+
+    @Test
+    public void flushingSentBatchDoesNothing() {
+        List<String> sent = new ArrayList<>();
+        ManualScheduler scheduler = new ManualScheduler();
+        MessageCoalescer<String> coalescer = new MessageCoalescer<>("Test", (destination, message) -> sent.add(message), () -> 100, 2000, scheduler);
+
+        coalescer.submit("a", "one");
+        coalescer.flushAll();
+        coalescer.submit("a", "two");
+        scheduler.runAll();
+        assertEquals(Arrays.asList("one", "two"), sent);
+        coalescer.shutdown();
+        assertEquals(Arrays.asList("one", "two"), sent);
+    }
+
+    @Test
+    public void senderRunsWithoutHoldingTheLock() {
+        List<Boolean> heldLock = new ArrayList<>();
+        AtomicReference<MessageCoalescer<String>> coalescer = new AtomicReference<>();
+        coalescer.set(new MessageCoalescer<>("Test", (destination, message) -> heldLock.add(Thread.holdsLock(coalescer.get())),
+                () -> 100, 2000, new ManualScheduler()));
+
+        coalescer.get().submit("a", "one");
+        coalescer.get().flushAll();
+        assertEquals(Collections.singletonList(false), heldLock);
+        coalescer.get().shutdown();
+    }
+
+    @Test
+    public void sendsFullBatchesEarly() {
+        List<String> sent = new ArrayList<>();
+        MessageCoalescer<String> coalescer = new MessageCoalescer<>("Test", (destination, message) -> sent.add(message), () -> 60_000, 10, new ManualScheduler());
+
+        coalescer.submit("a", "1234");
+        coalescer.submit("a", "5678");
+        coalescer.submit("a", "90");
+        assertEquals(Collections.singletonList("1234\n5678"), sent);
+
+        coalescer.shutdown();
+        assertEquals(Arrays.asList("1234\n5678", "90"), sent);
+    }
+
+    @Test
+    public void disabledWindowKeepsOrder() {
+        List<String> sent = new ArrayList<>();
+        long[] window = {60_000};
+        MessageCoalescer<String> coalescer = new MessageCoalescer<>("Test", (destination, message) -> sent.add(message), () -> window[0], 2000, new ManualScheduler());
+
+        coalescer.submit("a", "first");
+        window[0] = 0;
+        coalescer.submit("a", "second");
+        assertEquals(Arrays.asList("first", "second"), sent);
+        coalescer.shutdown();
+    }
+
+    private static final class ManualScheduler implements MessageCoalescer.Scheduler {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+        private final List<Long> delays = new ArrayList<>();
+
+        @Override
+        public void schedule(Runnable task, long delayMillis) {
+            tasks.add(task);
+            delays.add(delayMillis);
+        }
+
+        @Override
+        public void shutdown() {
+            tasks.clear();
+        }
+
+        private void runAll() {
+            List<Runnable> due = new ArrayList<>(tasks);
+            tasks.clear();
+            due.forEach(Runnable::run);
+        }
+
+    }
+
+}
@@ -0,0 +1,197 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import github.scarsz.discordsrv.objects.threads.OrderedTaskExecutor.OverflowPolicy;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class OutboundChannelSchedulerTest {
+
+    @Test
+    public void sendsEagerlyWhileBudgetRemains() {
+        List<String> sent = new ArrayList<>();
+        OutboundChannelScheduler scheduler = new OutboundChannelScheduler();
+
+        for (int i = 0; i < 3; i++) scheduler.submit("a", 3, 60_000, OutboundChannelScheduler.Priority.CHAT, new Line(sent, "a" + i));
+        scheduler.submit("b", 3, 60_000, OutboundChannelScheduler.Priority.CHAT, new Line(sent, "b"));
+        assertEquals(Arrays.asList("a0", "a1", "a2", "b"), sent);
+        assertEquals(0, scheduler.getQueueDepth());
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void mergesWhatWaitsForTheBucket() {
+        List<String> sent = new ArrayList<>();
+        ManualScheduler clock = new ManualScheduler();
+        OutboundChannelScheduler scheduler = new OutboundChannelScheduler(40, 1000, 1000, 1000, OverflowPolicy.DROP_OLDEST, clock);
+
+        for (int i = 0; i < 5; i++) scheduler.submit("a", 2, 300, OutboundChannelScheduler.Priority.CHAT, new Line(sent, "line" + i));
+        assertEquals(Arrays.asList("line0", "line1"), sent);
+        assertEquals(3, scheduler.getQueueDepth());
+
+        clock.advance(299);
+        assertEquals(3, scheduler.getQueueDepth());
+        clock.advance(1);
+        assertEquals(Arrays.asList("line0", "line1", "line2\nline3\nline4"), sent);
+        assertEquals(0, scheduler.getQueueDepth());
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void shutdownSendsWhatsWaiting() {
+        List<String> sent = new ArrayList<>();
+        OutboundChannelScheduler scheduler = new OutboundChannelScheduler();
+
+        scheduler.submit("a", 1, 60_000, OutboundChannelScheduler.Priority.CHAT, new Line(sent, "first"));
+        scheduler.submit("a", 1, 60_000, OutboundChannelScheduler.Priority.CHAT, new Line(sent, "second"));
+        scheduler.shutdown();
+        scheduler.submit("a", 1, 60_000, OutboundChannelScheduler.Priority.CHAT, new Line(sent, "third"));
+        assertEquals(Arrays.asList("first", "second", "third"), sent);
+    }
+
+    @Test
+    public void chatIsNotStarvedByConsole() {
+        List<String> sent = new ArrayList<>();
+        ManualScheduler clock = new ManualScheduler();
+        OutboundChannelScheduler scheduler = new OutboundChannelScheduler(2, 100, 1000, 1000, OverflowPolicy.DROP_OLDEST, clock);
+
+        // separate channels, so only the global budget holds them back
+        for (int i = 0; i < 10; i++) scheduler.submit("console" + i, 5, 60_000, OutboundChannelScheduler.Priority.CONSOLE, new Line(sent, "console" + i));
+        scheduler.submit("chat0", 5, 60_000, OutboundChannelScheduler.Priority.CHAT, new Line(sent, "chat0"));
+        scheduler.submit("chat1", 5, 60_000, OutboundChannelScheduler.Priority.CHAT, new Line(sent, "chat1"));
+        assertEquals(Arrays.asList("console0", "console1"), sent);
+        assertEquals(8, scheduler.getQueueDepth(OutboundChannelScheduler.Priority.CONSOLE));
+        assertEquals(2, scheduler.getQueueDepth(OutboundChannelScheduler.Priority.CHAT));
+
+        // the console lane had it's turn, chat gets it's weight in credit for the rest
+        clock.advance(100);
+        assertEquals(Arrays.asList("console0", "console1", "console2", "chat0"), sent);
+        clock.advance(100);
+        assertEquals(Arrays.asList("console0", "console1", "console2", "chat0", "chat1", "console3"), sent);
+
+        scheduler.shutdown();
+        assertEquals(12, sent.size());
+    }
+
+    @Test
+    public void fullQueuesDropRequests() {
+        List<String> sent = new ArrayList<>();
+        OutboundChannelScheduler oldest = new OutboundChannelScheduler(40, 60_000, 2, 2, OverflowPolicy.DROP_OLDEST);
+
+        for (int i = 0; i < 5; i++) oldest.submit("a", 1, 60_000, OutboundChannelScheduler.Priority.CHAT, new Line(sent, "line" + i));
+        assertEquals(2, oldest.getQueueDepth());
+        assertEquals(2, oldest.getDroppedCount());
+        oldest.shutdown();
+        assertEquals(Arrays.asList("line0", "line3\nline4"), sent);
+
+        sent.clear();
+        OutboundChannelScheduler newest = new OutboundChannelScheduler(1, 60_000, 2, 2, OverflowPolicy.DROP_NEWEST);
+
+        // separate channels, so they wait in the lane for the global budget
+        for (int i = 0; i < 5; i++) newest.submit("console" + i, 5, 60_000, OutboundChannelScheduler.Priority.CONSOLE, new Line(sent, "console" + i));
+        assertEquals(2, newest.getQueueDepth(OutboundChannelScheduler.Priority.CONSOLE));
+        assertEquals(2, newest.getDroppedCount());
+        newest.shutdown();
+        assertEquals(Arrays.asList("console0", "console1", "console2"), sent);
+    }
+
+    private static final class ManualScheduler implements OutboundChannelScheduler.Scheduler {
+
+        private final List<Task> tasks = new ArrayList<>();
+        private long now = 0;
+
+        @Override
+        public long currentTimeMillis() {
+            return now;
+        }
+
+        @Override
+        public void schedule(Runnable task, long delayMillis) {
+            tasks.add(new Task(task, now + delayMillis));
+        }
+
+        @Override
+        public void shutdown() {
+            tasks.clear();
+        }
+
+        private void advance(long millis) {
+            now += millis;
+            while (true) {
+                Task due = null;
+                for (Iterator<Task> iterator = tasks.iterator(); iterator.hasNext(); ) {
+                    Task task = iterator.next();
+                    if (task.dueAt > now) continue;
+                    due = task;
+                    iterator.remove();
+                    break;
+                }
+                if (due == null) return;
+                due.task.run();
+            }
+        }
+
+        private static final class Task {
+
+            private final Runnable task;
+            private final long dueAt;
+
+            private Task(Runnable task, long dueAt) {
+                this.task = task;
+                this.dueAt = dueAt;
+            }
+
+        }
+
+    }
+
+    private static final class Line implements OutboundChannelScheduler.Outbound {
+
+        private final List<String> sent;
+        private final String text;
+
+        private Line(List<String> sent, String text) {
+            this.sent = sent;
+            this.text = text;
+        }
+
+        @Override
+        public void send() {
+            sent.add(text);
+        }
+
+        @Override
+        public OutboundChannelScheduler.Outbound merge(OutboundChannelScheduler.Outbound next) {
+            return new Line(sent, text + "\n" + ((Line) next).text);
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import org.bukkit.entity.Player;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PlayerNameIndexTest {
+
+    @Test
+    public void keysAreLowerCaseAndStripped() {
+        assertArrayEquals(new String[] {"@steve"}, PlayerNameIndex.keysOf("Steve", "Steve"));
+        assertArrayEquals(new String[] {"@steve"}, PlayerNameIndex.keysOf("Steve", null));
+        assertArrayEquals(new String[] {"@steve", "@captain"}, PlayerNameIndex.keysOf("Steve", "\u00a7cCaptain"));
+    }
+
+    @Test
+    public void findsMentionsByNameAndDisplayName() {
+        PlayerNameIndex index = new PlayerNameIndex();
+        Player steve = player("Steve", "\u00a7cCaptain");
+        Player alex = player("Alex", "Alex");
+        index.update(steve);
+        index.update(alex);
+
+        assertEquals(Collections.singleton(steve), index.findMentioned("hey @CAPTAIN!"));
+        assertEquals(new HashSet<>(Arrays.asList(steve, alex)), index.findMentioned("@steve and @alex"));
+        assertTrue(index.findMentioned("steve@alex.com @nobody").isEmpty());
+
+        index.remove(alex);
+        assertTrue(index.findMentioned("@alex").isEmpty());
+        assertEquals(Collections.singleton(steve), index.findMentioned("@steve"));
+    }
+
+    @Test
+    public void offlinePlayersAreNotIndexed() {
+        PlayerNameIndex index = new PlayerNameIndex();
+        boolean[] online = {true};
+        Player steve = player("Steve", "Steve", online);
+        index.update(steve);
+        assertEquals(1, index.size());
+
+        // a late update after the player quit removes them instead of indexing them again
+        online[0] = false;
+        index.update(steve);
+        assertEquals(0, index.size());
+        assertTrue(index.findMentioned("@steve").isEmpty());
+    }
+
+    private static Player player(String name, String displayName) {
+        return player(name, displayName, new boolean[] {true});
+    }
+
+    private static Player player(String name, String displayName, boolean[] online) {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class[] {Player.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getName": return name;
+                        case "getDisplayName": return displayName;
+                        case "isOnline": return online[0];
+                        case "equals": return proxy == args[0];
+                        case "hashCode": return System.identityHashCode(proxy);
+                        default: return null;
+                    }
+                });
+    }
+
+}
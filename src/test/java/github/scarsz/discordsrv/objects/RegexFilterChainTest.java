@@ -0,0 +1,86 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class RegexFilterChainTest {
+
+    @Test
+    public void appliesFiltersInOrder() {
+        Map<Pattern, String> patterns = new LinkedHashMap<>();
+        patterns.put(Pattern.compile("cat", Pattern.DOTALL), "dog");
+        patterns.put(Pattern.compile("dog", Pattern.DOTALL), "bird");
+        RegexFilterChain chain = new RegexFilterChain(patterns);
+
+        assertEquals("bird bird", chain.apply("cat dog"));
+        assertEquals(1, chain.getFilters().get(0).getHits());
+        assertEquals(1, chain.getFilters().get(1).getHits());
+    }
+
+    @Test
+    public void skipsRegexWithoutRequiredLiteral() {
+        Map<Pattern, String> patterns = new LinkedHashMap<>();
+        patterns.put(Pattern.compile("^\\[Server\\] .*", Pattern.DOTALL), "");
+        patterns.put(Pattern.compile("password=\\S+", Pattern.DOTALL), "password=***");
+        RegexFilterChain chain = new RegexFilterChain(patterns);
+
+        String input = "nothing to see here";
+        assertSame(input, chain.apply(input));
+        assertEquals(1, chain.getFilters().get(1).getSkipped());
+        assertEquals("login password=***", chain.apply("login password=hunter2"));
+    }
+
+    @Test
+    public void stopsWhenCleared() {
+        Map<Pattern, String> patterns = new LinkedHashMap<>();
+        patterns.put(Pattern.compile("^\\[Server\\] .*", Pattern.DOTALL), "");
+        patterns.put(Pattern.compile("x", Pattern.DOTALL), "y");
+        RegexFilterChain chain = new RegexFilterChain(patterns);
+
+        RegexFilterChain.Filter[] clearedBy = new RegexFilterChain.Filter[1];
+        assertNull(chain.apply("[Server] hello", filter -> clearedBy[0] = filter));
+        assertSame(chain.getFilters().get(0), clearedBy[0]);
+        assertEquals(0, chain.getFilters().get(1).getEvaluations());
+    }
+
+    @Test
+    public void requiredLiteral() {
+        assertEquals("abc", RegexFilterChain.requiredLiteral(Pattern.compile("abc")));
+        assertEquals("ab", RegexFilterChain.requiredLiteral(Pattern.compile("^abc?d")));
+        assertEquals("ab", RegexFilterChain.requiredLiteral(Pattern.compile("abc*")));
+        assertEquals("abc", RegexFilterChain.requiredLiteral(Pattern.compile("abc+")));
+        assertNull(RegexFilterChain.requiredLiteral(Pattern.compile("a?")));
+        assertNull(RegexFilterChain.requiredLiteral(Pattern.compile("abc|def")));
+        assertNull(RegexFilterChain.requiredLiteral(Pattern.compile("(?i)abc")));
+        assertNull(RegexFilterChain.requiredLiteral(Pattern.compile("abc", Pattern.CASE_INSENSITIVE)));
+        assertNull(RegexFilterChain.requiredLiteral(Pattern.compile("[a-z]+")));
+    }
+
+}
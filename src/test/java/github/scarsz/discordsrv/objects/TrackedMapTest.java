@@ -0,0 +1,74 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TrackedMapTest {
+
+    @Test
+    public void derivedObjectIsRebuiltAfterModifications() {
+        TrackedMap<String, String> channels = new TrackedMap<>();
+        channels.replaceContents(Collections.singletonMap("global", "100"));
+        Supplier<ChannelIndex> index = channels.derive(ChannelIndex::new);
+
+        ChannelIndex first = index.get();
+        assertEquals("100", first.getTextChannelId("global"));
+        assertSame(first, index.get());
+
+        channels.put("staff", "200");
+        assertEquals("200", index.get().getTextChannelId("staff"));
+
+        channels.keySet().remove("global");
+        assertNull(index.get().getTextChannelId("global"));
+
+        channels.entrySet().iterator().next().setValue("300");
+        assertEquals("300", channels.get("staff"));
+        assertEquals("300", index.get().getTextChannelId("staff"));
+
+        channels.values().removeIf("300"::equals);
+        assertNull(index.get().getMainChannelName());
+    }
+
+    @Test
+    public void readsDontCountAsModifications() {
+        TrackedMap<String, String> map = new TrackedMap<>();
+        map.put("a", "1");
+        long version = map.getVersion();
+
+        map.get("a");
+        map.remove("b");
+        for (Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator(); iterator.hasNext(); ) iterator.next();
+        assertEquals(version, map.getVersion());
+    }
+
+}
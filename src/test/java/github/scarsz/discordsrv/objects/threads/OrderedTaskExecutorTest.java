@@ -0,0 +1,130 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.objects.threads;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class OrderedTaskExecutorTest {
+
+    @Test
+    public void tasksForTheSameKeyRunInOrder() throws InterruptedException {
+        OrderedTaskExecutor executor = new OrderedTaskExecutor("Test", 4, 10_000, OrderedTaskExecutor.OverflowPolicy.DROP_NEWEST);
+        List<Integer> first = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> second = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            expected.add(value);
+            assertTrue(executor.submit("first", () -> first.add(value)));
+            assertTrue(executor.submit("second", () -> second.add(value)));
+        }
+        assertTrue(executor.shutdown(10, TimeUnit.SECONDS));
+
+        assertEquals(expected, first);
+        assertEquals(expected, second);
+        assertEquals(2000, executor.getCompletedCount());
+        assertEquals(0, executor.getDroppedCount());
+        assertEquals(0, executor.getQueueDepth());
+    }
+
+    @Test
+    public void dropNewestKeepsQueuedTasks() throws InterruptedException {
+        OrderedTaskExecutor executor = new OrderedTaskExecutor("Test", 1, 2, OrderedTaskExecutor.OverflowPolicy.DROP_NEWEST);
+        List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = blockKey(executor, "key");
+
+        assertTrue(executor.submit("key", () -> ran.add(1)));
+        assertTrue(executor.submit("key", () -> ran.add(2)));
+        assertFalse(executor.submit("key", () -> ran.add(3)));
+        release.countDown();
+        assertTrue(executor.shutdown(10, TimeUnit.SECONDS));
+
+        assertEquals(Arrays.asList(1, 2), ran);
+        assertEquals(1, executor.getDroppedCount());
+    }
+
+    @Test
+    public void dropOldestKeepsNewestTasks() throws InterruptedException {
+        OrderedTaskExecutor executor = new OrderedTaskExecutor("Test", 1, 2, OrderedTaskExecutor.OverflowPolicy.DROP_OLDEST);
+        List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = blockKey(executor, "key");
+
+        assertTrue(executor.submit("key", () -> ran.add(1)));
+        assertTrue(executor.submit("key", () -> ran.add(2)));
+        assertTrue(executor.submit("key", () -> ran.add(3)));
+        release.countDown();
+        assertTrue(executor.shutdown(10, TimeUnit.SECONDS));
+
+        assertEquals(Arrays.asList(2, 3), ran);
+        assertEquals(1, executor.getDroppedCount());
+    }
+
+    @Test
+    public void requiredTasksAreNeverDropped() throws InterruptedException {
+        OrderedTaskExecutor executor = new OrderedTaskExecutor("Test", 1, 2, OrderedTaskExecutor.OverflowPolicy.DROP_OLDEST);
+        List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> other = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = blockKey(executor, "key");
+
+        assertTrue(executor.submitRequired("key", () -> ran.add(1)));
+        assertTrue(executor.submit("key", () -> ran.add(2)));
+        assertTrue(executor.submit("key", () -> ran.add(3)));
+        assertTrue(executor.submitRequired("key", () -> ran.add(4)));
+        // only required tasks are waiting for this one, so there's nothing to make room with
+        assertTrue(executor.submitRequired("other", () -> other.add(1)));
+        assertTrue(executor.submitRequired("other", () -> other.add(2)));
+        assertFalse(executor.submit("other", () -> other.add(3)));
+        release.countDown();
+        assertTrue(executor.shutdown(10, TimeUnit.SECONDS));
+
+        assertEquals(Arrays.asList(1, 3, 4), ran);
+        assertEquals(Arrays.asList(1, 2), other);
+        assertEquals(2, executor.getDroppedCount());
+    }
+
+    /**
+     * Occupy the given key with a task that doesn't finish until the returned latch is released
+     */
+    private static CountDownLatch blockKey(OrderedTaskExecutor executor, Object key) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(key, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {}
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        return release;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.util;
+
+import com.vdurmont.emoji.EmojiParser;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares {@link EmojiConverter} against the {@link EmojiParser} calls DiscordChatListener used to make
+ */
+public class EmojiConverterBenchmarkTest {
+
+    private static final Logger LOGGER = Logger.getLogger(EmojiConverterBenchmarkTest.class.getName());
+
+    private static final String[] ASCII_MESSAGES = {
+            "hey, anyone want to go to the nether?",
+            "<Steve> check out my_new_base at spawn *soon*",
+            "@Alex can you come online? we need 3 more for the raid",
+    };
+    private static final String[] EMOJI_MESSAGES = {
+            "gg \uD83D\uDE04\uD83D\uDE04\uD83D\uDE04 \uD83D\uDC4D\uD83C\uDFFD",
+            "\u2764\ufe0f\uD83D\uDD25\uD83D\uDD25 new record \uD83C\uDF89\uD83C\uDF89",
+            "caf\u00e9 opens at 8 \u2615 \uD83D\uDC68\u200d\uD83D\uDC69\u200d\uD83D\uDC67 welcome",
+    };
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    @Ignore("benchmark, run explicitly to see the timings")
+    public void benchmark() {
+        for (int i = 0; i < WARMUP; i++) {
+            EmojiParser.parseToAliases(ASCII_MESSAGES[i % ASCII_MESSAGES.length]);
+            EmojiParser.parseToAliases(EMOJI_MESSAGES[i % EMOJI_MESSAGES.length]);
+            EmojiConverter.parseToAliases(ASCII_MESSAGES[i % ASCII_MESSAGES.length]);
+            EmojiConverter.parseToAliases(EMOJI_MESSAGES[i % EMOJI_MESSAGES.length]);
+        }
+
+        long libraryAscii = time(ASCII_MESSAGES, true);
+        long converterAscii = time(ASCII_MESSAGES, false);
+        long libraryEmoji = time(EMOJI_MESSAGES, true);
+        long converterEmoji = time(EMOJI_MESSAGES, false);
+
+        LOGGER.info(ITERATIONS + " messages each: "
+                + "ascii emoji-java " + libraryAscii + " ns/message, converter " + converterAscii + " ns/message; "
+                + "emoji emoji-java " + libraryEmoji + " ns/message, converter " + converterEmoji + " ns/message");
+        assertTrue("converting ascii messages is slower than emoji-java", converterAscii < libraryAscii);
+        assertTrue("converting emoji messages is slower than emoji-java", converterEmoji < libraryEmoji);
+    }
+
+    /**
+     * @return the average time per message in nanoseconds
+     */
+    private static long time(String[] messages, boolean library) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            String message = messages[i % messages.length];
+            if (library) {
+                EmojiParser.parseToAliases(message);
+            } else {
+                EmojiConverter.parseToAliases(message);
+            }
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+}
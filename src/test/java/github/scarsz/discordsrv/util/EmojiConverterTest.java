@@ -0,0 +1,89 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.util;
+
+import com.vdurmont.emoji.Emoji;
+import com.vdurmont.emoji.EmojiManager;
+import com.vdurmont.emoji.EmojiParser;
+import com.vdurmont.emoji.Fitzpatrick;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class EmojiConverterTest {
+
+    @Test
+    public void asciiIsReturnedAsIs() {
+        String message = "hey, anyone want to go to the nether? #1 :)";
+        assertFalse(EmojiConverter.mayContainEmojis(message));
+        assertSame(message, EmojiConverter.parseToAliases(message));
+        assertSame(message, EmojiConverter.removeAllEmojis(message));
+    }
+
+    @Test
+    public void convertsLikeEmojiParser() {
+        String[] messages = {
+                "\uD83D\uDE04 hello \uD83D\uDC4D\uD83C\uDFFD",
+                "caf\u00e9 \u00a9 2021 \u2764\ufe0f",
+                "keycap 1\u20e3 and #\u20e3",
+                "\uD83D\uDC68\u200d\uD83D\uDC69\u200d\uD83D\uDC67 family",
+                "trailing surrogate \uD83D",
+        };
+        for (String message : messages) assertConvertsLikeEmojiParser(message);
+    }
+
+    @Test
+    public void convertsRandomTextLikeEmojiParser() {
+        List<String> pieces = new ArrayList<>();
+        for (Emoji emoji : EmojiManager.getAll()) pieces.add(emoji.getUnicode());
+        for (Fitzpatrick fitzpatrick : Fitzpatrick.values()) pieces.add(fitzpatrick.unicode);
+        pieces.add(" ");
+        pieces.add("a");
+        pieces.add("1");
+        pieces.add("#");
+        pieces.add("\u200d");
+        pieces.add("\ufe0f");
+        pieces.add("\u20e3");
+        pieces.add("\u00e9");
+
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder message = new StringBuilder();
+            int count = random.nextInt(8);
+            for (int j = 0; j < count; j++) message.append(pieces.get(random.nextInt(pieces.size())));
+            assertConvertsLikeEmojiParser(message.toString());
+        }
+    }
+
+    private static void assertConvertsLikeEmojiParser(String message) {
+        assertEquals(message, EmojiParser.parseToAliases(message), EmojiConverter.parseToAliases(message));
+        assertEquals(message, EmojiParser.removeAllEmojis(message), EmojiConverter.removeAllEmojis(message));
+    }
+
+}
@@ -0,0 +1,116 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.util;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares {@link FormattingStripper} against the regex replacements {@link DiscordUtil} used to do.
+ * The regex replacements are also the reference {@link FormattingStripperTest} checks the results against.
+ */
+public class FormattingStripperBenchmarkTest {
+
+    private static final Logger LOGGER = Logger.getLogger(FormattingStripperBenchmarkTest.class.getName());
+
+    private static final Pattern STRIP_PATTERN = Pattern.compile("(?<!@)[&\u00a7](?i)[0-9a-fklmnorx]");
+    private static final Pattern STRIP_SECTION_ONLY_PATTERN = Pattern.compile("(?<!@)\u00a7(?i)[0-9a-fklmnorx]");
+    private static final Pattern AGGRESSIVE_STRIP_PATTERN = Pattern.compile("\u001B(?:\\[0?m|\\[38;2(?:;\\d{1,3}){3}m|\\[([0-9]{1,2}[;m]?){3})");
+
+    private static final String[] CHAT_LINES = {
+            "hey, anyone want to go to the nether?",
+            "\u00a77[\u00a7aMember\u00a77] \u00a7fSteve\u00a77: \u00a7fcheck out my_new_base at spawn *soon*",
+            "&6&lSALE&r &eat the market, everything 50% off!",
+            "\u00a7x\u00a7f\u00a7f\u00a75\u00a75\u00a75\u00a75gradient \u00a7x\u00a75\u00a75\u00a7f\u00a7f\u00a75\u00a75text",
+    };
+    private static final String[] LOG_LINES = {
+            "[12:00:00 INFO]: Steve joined the game",
+            "\u001B[0;32;1m[12:00:01 INFO]: \u001B[38;2;255;85;85mSteve lost connection: Disconnected\u001B[m",
+            "[12:00:02 WARN]: Can't keep up! Is the server overloaded? Running 2034ms or 40 ticks behind",
+    };
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    @Ignore("benchmark, run explicitly to see the timings")
+    public void benchmark() {
+        for (int i = 0; i < WARMUP; i++) {
+            regexChat(CHAT_LINES[i % CHAT_LINES.length]);
+            scannerChat(CHAT_LINES[i % CHAT_LINES.length]);
+            regexAggressiveStrip(LOG_LINES[i % LOG_LINES.length]);
+            FormattingStripper.aggressiveStrip(LOG_LINES[i % LOG_LINES.length]);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) regexChat(CHAT_LINES[i % CHAT_LINES.length]);
+        long regexChatNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) scannerChat(CHAT_LINES[i % CHAT_LINES.length]);
+        long scannerChatNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) regexAggressiveStrip(regexStrip(LOG_LINES[i % LOG_LINES.length]));
+        long regexLogNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) FormattingStripper.aggressiveStrip(FormattingStripper.strip(LOG_LINES[i % LOG_LINES.length], false, false));
+        long scannerLogNanos = System.nanoTime() - start;
+
+        LOGGER.info(ITERATIONS + " lines each: "
+                + "chat regex strip + escape " + (regexChatNanos / ITERATIONS) + " ns/line, single pass " + (scannerChatNanos / ITERATIONS) + " ns/line; "
+                + "log regex strips " + (regexLogNanos / ITERATIONS) + " ns/line, single pass " + (scannerLogNanos / ITERATIONS) + " ns/line");
+        assertTrue("single pass chat stripping is slower than the regexes", scannerChatNanos < regexChatNanos);
+        assertTrue("single pass log stripping is slower than the regexes", scannerLogNanos < regexLogNanos);
+    }
+
+    private static String regexChat(String line) {
+        return regexEscapeMarkdown(regexStrip(line));
+    }
+
+    private static String scannerChat(String line) {
+        return FormattingStripper.strip(line, false, true);
+    }
+
+    static String regexStrip(String text) {
+        return STRIP_PATTERN.matcher(text).replaceAll("");
+    }
+
+    static String regexStripSectionOnly(String text) {
+        return STRIP_SECTION_ONLY_PATTERN.matcher(text).replaceAll("");
+    }
+
+    static String regexAggressiveStrip(String text) {
+        return AGGRESSIVE_STRIP_PATTERN.matcher(text).replaceAll("");
+    }
+
+    static String regexEscapeMarkdown(String text) {
+        return text.replace("_", "\\_").replace("*", "\\*").replace("~", "\\~");
+    }
+
+}
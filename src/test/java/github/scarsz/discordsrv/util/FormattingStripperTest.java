@@ -0,0 +1,71 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class FormattingStripperTest {
+
+    @Test
+    public void stripsColorCodes() {
+        assertEquals("Hello world", FormattingStripper.strip("\u00a7aHello &lworld&R", false, false));
+        assertEquals("Hello &lworld", FormattingStripper.strip("\u00a7aHello &lworld", true, false));
+        assertEquals("hex", FormattingStripper.strip("\u00a7x\u00a7f\u00a7f\u00a70\u00a70\u00a7A\u00a7Ahex", false, false));
+        assertEquals("@&aname &", FormattingStripper.strip("@&aname &&b", false, false));
+        assertEquals("\\_under\\_ \\*bold\\* \\~", FormattingStripper.strip("&e_under_ *bold* ~", false, true));
+
+        String plain = "nothing to strip here";
+        assertSame(plain, FormattingStripper.strip(plain, false, true));
+        assertSame(plain, FormattingStripper.escapeMarkdown(plain));
+        assertSame(plain, FormattingStripper.aggressiveStrip(plain));
+    }
+
+    @Test
+    public void stripsAnsiSequences() {
+        assertEquals("[12:00:00 INFO]: Done", FormattingStripper.aggressiveStrip("\u001B[0;32;1m[12:00:00 INFO]: \u001B[38;2;255;85;85mDone\u001B[m"));
+        assertEquals("a\u001B[xb", FormattingStripper.aggressiveStrip("a\u001B[xb\u001B[0m"));
+    }
+
+    @Test
+    public void matchesRegexImplementation() {
+        Random random = new Random(42);
+        String alphabet = "\u00a7&@_*~\u001B[;m0123456789abfkorxAKRXz 38;2";
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(24);
+            for (int j = 0; j < length; j++) builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            String input = builder.toString();
+
+            assertEquals(input, FormattingStripperBenchmarkTest.regexStrip(input), FormattingStripper.strip(input, false, false));
+            assertEquals(input, FormattingStripperBenchmarkTest.regexStripSectionOnly(input), FormattingStripper.strip(input, true, false));
+            assertEquals(input, FormattingStripperBenchmarkTest.regexEscapeMarkdown(FormattingStripperBenchmarkTest.regexStrip(input)), FormattingStripper.strip(input, false, true));
+            assertEquals(input, FormattingStripperBenchmarkTest.regexAggressiveStrip(input), FormattingStripper.aggressiveStrip(input));
+        }
+    }
+
+}
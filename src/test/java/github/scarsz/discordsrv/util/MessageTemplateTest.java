@@ -0,0 +1,94 @@
+/*-
+ * LICENSE
+ * DiscordSRV
+ * -------------
+ * Copyright (C) 2016 - 2021 Austin "Scarsz" Shapiro
+ * -------------
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * END
+ */
+
+package github.scarsz.discordsrv.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class MessageTemplateTest {
+
+    @Test
+    public void rendersPlaceholders() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("username", "Scarsz");
+        values.put("world", "world_nether");
+        assertEquals("Scarsz died in world_nether!", MessageTemplate.compile("%username% died in %world%!").render(values::get));
+    }
+
+    @Test
+    public void leavesUnknownPlaceholdersAndStrayPercents() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("message", "hi");
+        assertEquals("100% %player_name%: hi %", MessageTemplate.compile("100% %player_name%: %message% %").render(values::get));
+        assertEquals("%% 50 % off %hi", MessageTemplate.compile("%% 50 % off %%message%").render(values::get));
+    }
+
+    @Test
+    public void unknownPlaceholdersDoNotConsumeTheNextOne() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("username", "Scarsz");
+        values.put("world", "nether");
+        MessageTemplate template = MessageTemplate.compile("50%off%username% in %world%");
+        assertEquals("50%offScarsz in nether", template.render(values::get));
+        assertTrue(template.references("username"));
+        assertEquals("50%off%username% in nether", template.render(placeholder -> placeholder.equals("world") ? "nether" : null));
+    }
+
+    @Test
+    public void doesNotRescanValues() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("displayname", "%message%");
+        values.put("message", "hello");
+        assertEquals("%message%: hello", MessageTemplate.compile("%displayname%: %message%").render(values::get));
+    }
+
+    @Test
+    public void onlyResolvesReferencedPlaceholders() {
+        List<String> requested = new ArrayList<>();
+        MessageTemplate template = MessageTemplate.compile("[%time%] %username%");
+        template.render(placeholder -> {
+            requested.add(placeholder);
+            return "";
+        });
+
+        assertEquals(2, requested.size());
+        assertTrue(template.references("time"));
+        assertFalse(template.references("date"));
+    }
+
+    @Test
+    public void returnsLiteralTemplatesAsIs() {
+        String format = "no placeholders here";
+        assertSame(format, MessageTemplate.compile(format).render(placeholder -> {
+            throw new AssertionError("nothing should be resolved");
+        }));
+        assertEquals("", MessageTemplate.expand("", placeholder -> null));
+    }
+
+}